@@ -5,28 +5,44 @@ import org.example.model.Product;
 import org.example.model.User;
 import org.example.model.User.UserRole;
 import org.example.service.EmailUtil;
+import org.example.service.GroupAggregate;
+import org.example.service.InventoryAggregator;
+import org.example.service.InventoryAggregator.Dimension;
 import org.example.service.InventoryManager;
+import org.example.service.InventorySnapshot;
 import org.example.service.OTPService;
+import org.example.service.PurchaseOrder;
+import org.example.service.ReorderLine;
+import org.example.service.ReorderPlan;
+import org.example.service.ReorderPlanner;
 import org.example.service.StockAlertService;
+import org.example.service.StockHistory;
+import java.time.Duration;
 import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
 import java.util.Scanner;
 import java.util.UUID;
+import java.util.function.Function;
 
 public class Main {
 
     private static final EmailUtil emailUtil = new EmailUtil();
     private static final OTPService otpService = new OTPService(emailUtil);
     private static final StockAlertService stockAlertService = new StockAlertService(emailUtil);
-    private static final InventoryManager manager = new InventoryManager(stockAlertService);
+    private static final StockHistory stockHistory = new StockHistory();
+    private static final InventoryManager manager = new InventoryManager(stockAlertService, stockHistory);
+    // Demand from the last 30 days; 7 days lead time, 3 of safety stock, order 30 days of cover.
+    private static final ReorderPlanner reorderPlanner = new ReorderPlanner(
+            stockHistory.demandEstimator(Duration.ofDays(30)), 7, 3, 30, stockAlertService.getThresholdLimit());
 
     private static final userDAOImpl userAuthDAO = new userDAOImpl();
     private static final Scanner sc = new Scanner(System.in);
+    private static final int NAME_SEARCH_LIMIT = 10;
 
     private enum MenuOption {
         ADD_PRODUCT(1), VIEW_ALL_PRODUCTS(2), SEARCH_PRODUCT(3),
-        UPDATE_PRODUCT(4), REMOVE_PRODUCT(5), VIEW_REPORT(7), SEND_REPORT(8), EXIT(6), INVALID(-1);
+        UPDATE_PRODUCT(4), REMOVE_PRODUCT(5), VIEW_REPORT(7), SEND_REPORT(8), REORDER_PLAN(9), EXIT(6), INVALID(-1);
 
         private final int value;
         MenuOption(int value) { this.value = value; }
@@ -201,6 +217,7 @@ public class Main {
     private static void exit() {
         System.out.println("\n👋 Thank you for using the system. Goodbye!");
         userAuthDAO.logout();
+        manager.shutdown();
         sc.close();
     }
     private static void managerMenu() {
@@ -240,6 +257,9 @@ public class Main {
                     case SEND_REPORT:
                         sendInventoryReport();
                         break;
+                    case REORDER_PLAN:
+                        handleReorderPlan();
+                        break;
                     case EXIT:
                         System.out.println("\n👋 Logging out. Have a productive day!");
                         userAuthDAO.logout();
@@ -268,6 +288,7 @@ public class Main {
         System.out.println(" ");
         System.out.println("  [7] 📈 View Inventory Report Summary");
         System.out.println("  [8] 📧 Send Inventory Report (Email)");
+        System.out.println("  [9] 🚚 Plan Reorders by Supplier");
         System.out.println(" ");
         System.out.println("  [6] 🚪 Logout and Exit");
         System.out.println("═════════════════════════════════════════════════");
@@ -304,8 +325,7 @@ public class Main {
 
     private static void handleViewAllProducts() {
         System.out.println("\n📋 --- Current Stock Listing --- 📦");
-        List<Product> products = manager.getAllProducts();
-        if (products.isEmpty()) {
+        if (manager.getTotalProducts() == 0) {
             System.out.println("The inventory is currently empty. Start adding products!");
             return;
         }
@@ -314,15 +334,14 @@ public class Main {
                 "ID", "Name", "Category", "QTY", "Price");
         System.out.println("----------------------------------------------------------------------");
 
-        for (Product p : products) {
+        manager.streamProducts().forEach(p ->
             System.out.printf(" %-9s | %-25s | %-15s | %-10d | $%.2f%n",
-                    p.getId(), p.getName(), p.getCategory(), p.getQuantity(), p.getPrice());
-        }
+                    p.getId(), p.getName(), p.getCategory(), p.getQuantity(), p.getPrice()));
     }
 
     private static void handleSearchProduct() {
-        System.out.println("\n🔍 --- Search Product by ID ---");
-        System.out.print("🆔 Enter Product ID: ");
+        System.out.println("\n🔍 --- Search Product by ID or Name ---");
+        System.out.print("🆔 Enter Product ID or part of its name: ");
         String id = sc.nextLine();
 
         Optional<Product> productOpt = manager.searchProduct(id);
@@ -335,8 +354,15 @@ public class Main {
             System.out.println("  📦 Quantity: " + p.getQuantity());
             System.out.println("  🏭 Supplier: " + p.getSupplier());
             System.out.println("  📅 Last Updated: " + p.getLastUpdated());
+            return;
+        }
+
+        List<Product> matches = manager.searchByName(id, NAME_SEARCH_LIMIT);
+        if (matches.isEmpty()) {
+            System.err.println("❌ No product with ID or name matching '" + id + "' found in inventory.");
         } else {
-            System.err.println("❌ Product with ID " + id + " not found in inventory.");
+            System.out.println("\n✅ Best name matches:");
+            TableFormatter.printProductTable(matches);
         }
     }
 
@@ -394,10 +420,44 @@ public class Main {
     }
 
     private static void handleViewReport() {
+        // One snapshot keeps the three totals consistent with each other while terminals keep writing.
+        InventorySnapshot snapshot = manager.snapshot();
         System.out.println("\n📈 --- Inventory Report Summary --- 📋");
-        System.out.println("  📦 Total Unique Products: " + manager.getTotalProducts());
-        System.out.println("  🔢 Total Items in Stock: " + manager.getTotalQuantity());
-        System.out.printf("  💰 Total Inventory Value: $%.2f%n", manager.getTotalValue());
+        System.out.println("  📦 Total Unique Products: " + snapshot.size());
+        System.out.println("  🔢 Total Items in Stock: " + snapshot.getTotalQuantity());
+        System.out.printf("  💰 Total Inventory Value: $%.2f%n", snapshot.getTotalValue());
+        System.out.println("  ⚠️ Low Stock Items (<= " + stockAlertService.getThresholdLimit() + "): "
+                + manager.findLowStock(stockAlertService.getThresholdLimit()).size());
+
+        printBreakdown("🏷️ By Category", InventoryAggregator.aggregate(snapshot.stream(), Dimension.CATEGORY), GroupAggregate::getCategory);
+        printBreakdown("🏭 By Supplier", InventoryAggregator.aggregate(snapshot.stream(), Dimension.SUPPLIER), GroupAggregate::getSupplier);
+        printBreakdown("📅 By Manufacturing Month", InventoryAggregator.aggregate(snapshot.stream(), Dimension.MONTH), GroupAggregate::getMonth);
+    }
+
+    private static void printBreakdown(String title, List<GroupAggregate> groups, Function<GroupAggregate, Object> label) {
+        if (groups.isEmpty()) return;
+        System.out.println("\n  " + title + ":");
+        for (GroupAggregate g : groups) {
+            System.out.printf("     %-22s %4d products, %8d items (min %d, max %d), $%,.2f%n",
+                    label.apply(g), g.getCount(), g.getTotalQuantity(), g.getMinQuantity(), g.getMaxQuantity(), g.getTotalValue());
+        }
+    }
+
+    private static void handleReorderPlan() {
+        System.out.println("\n🚚 --- Reorder Plan --- 📦");
+        ReorderPlan plan = reorderPlanner.plan(manager);
+        if (plan.getOrders().isEmpty()) {
+            System.out.println("✅ Nothing needs reordering.");
+            return;
+        }
+        for (PurchaseOrder order : plan.getOrders()) {
+            System.out.printf("%n  🏭 %s — %d units, $%.2f%n", order.getSupplier(), order.getTotalUnits(), order.getTotalCost());
+            for (ReorderLine line : order.getLines()) {
+                System.out.printf("     %-10s %-25s order %6d (available %d, reorder point %d)%n",
+                        line.getProductId(), line.getProductName(), line.getOrderQuantity(), line.getAvailableQuantity(), line.getReorderPoint());
+            }
+        }
+        System.out.println("\n  " + plan);
     }
 
     private static void sendInventoryReport() {
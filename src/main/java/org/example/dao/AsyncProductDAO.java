@@ -0,0 +1,150 @@
+package org.example.dao;
+
+import org.example.model.Product;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Non-blocking front end for a {@link ProductDAO}. Every call runs on its own virtual thread
+ * when the runtime has them (Java 21+), or on a cached platform pool otherwise. A semaphore
+ * sized to the connection pool caps how many calls hit the delegate at once, so callers queue
+ * here cheaply instead of timing out inside the pool. Each future fails with a
+ * {@link TimeoutException} after {@code timeoutMillis}, and its call is cancelled: a call still
+ * queued for a permit leaves the queue, and a running one is interrupted, so abandoned calls
+ * do not keep holding permits and connections.
+ */
+public class AsyncProductDAO implements AutoCloseable {
+
+    private static final long DEFAULT_TIMEOUT_MILLIS = 10_000;
+    private static final int DEFAULT_MULTI_GET_CHUNK = 500;
+
+    private final ProductDAO delegate;
+    private final Semaphore permits;
+    private final long timeoutMillis;
+    private final int multiGetChunk;
+    private final ExecutorService executor = newExecutor();
+
+    /**
+     * {@code maxConcurrency} should match what the delegate can serve at once, e.g. the
+     * connection pool size for the JDBC DAO.
+     */
+    public AsyncProductDAO(ProductDAO delegate, int maxConcurrency) {
+        this(delegate, maxConcurrency, DEFAULT_TIMEOUT_MILLIS, DEFAULT_MULTI_GET_CHUNK);
+    }
+
+    public AsyncProductDAO(ProductDAO delegate, int maxConcurrency, long timeoutMillis, int multiGetChunk) {
+        if (maxConcurrency <= 0 || timeoutMillis <= 0 || multiGetChunk <= 0) {
+            throw new IllegalArgumentException("Concurrency, timeout and chunk size must be positive.");
+        }
+        this.delegate = delegate;
+        this.permits = new Semaphore(maxConcurrency, true);
+        this.timeoutMillis = timeoutMillis;
+        this.multiGetChunk = multiGetChunk;
+    }
+
+    public CompletableFuture<Optional<Product>> getProductById(String id) {
+        return submit(() -> delegate.getProductById(id));
+    }
+
+    public CompletableFuture<List<Product>> getAllProducts() {
+        return submit(delegate::getAllProducts);
+    }
+
+    public CompletableFuture<Boolean> addProduct(Product product) {
+        return submit(() -> delegate.addProduct(product));
+    }
+
+    public CompletableFuture<Boolean> updateProduct(String id, double newPrice, int newQuantity) {
+        return submit(() -> delegate.updateProduct(id, newPrice, newQuantity));
+    }
+
+    public CompletableFuture<Boolean> deleteProduct(String id) {
+        return submit(() -> delegate.deleteProduct(id));
+    }
+
+    public CompletableFuture<Boolean> adjustQuantity(String id, int delta) {
+        return submit(() -> delegate.adjustQuantity(id, delta));
+    }
+
+    /**
+     * Splits the IDs into chunks of {@code multiGetChunk}, looks the chunks up in parallel
+     * (each as one {@code IN (...)} query on the JDBC backend) and merges the results.
+     */
+    public CompletableFuture<Map<String, Product>> getProductsByIds(Collection<String> ids) {
+        List<String> distinct = new ArrayList<>(new LinkedHashSet<>(ids));
+        List<CompletableFuture<Map<String, Product>>> parts = new ArrayList<>();
+        for (int from = 0; from < distinct.size(); from += multiGetChunk) {
+            List<String> chunk = distinct.subList(from, Math.min(from + multiGetChunk, distinct.size()));
+            parts.add(submit(() -> delegate.getProductsByIds(chunk)));
+        }
+        return CompletableFuture.allOf(parts.toArray(new CompletableFuture<?>[0])).thenApply(ignored -> {
+            Map<String, Product> merged = new HashMap<>(distinct.size() * 2);
+            parts.forEach(part -> merged.putAll(part.join()));
+            return merged;
+        });
+    }
+
+    @Override
+    public void close() {
+        executor.shutdown();
+        try {
+            executor.awaitTermination(timeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private <T> CompletableFuture<T> submit(Supplier<T> call) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        Future<?> task = executor.submit(() -> {
+            try {
+                permits.acquire();
+            } catch (InterruptedException e) {
+                // Cancelled after a timeout, or the executor is shutting down.
+                result.completeExceptionally(e);
+                return;
+            }
+            try {
+                if (!result.isDone()) {
+                    result.complete(call.get());
+                }
+            } catch (RuntimeException e) {
+                result.completeExceptionally(e);
+            } finally {
+                permits.release();
+            }
+        });
+        result.orTimeout(timeoutMillis, TimeUnit.MILLISECONDS).whenComplete((value, error) -> {
+            if (error instanceof TimeoutException) {
+                task.cancel(true);
+            }
+        });
+        return result;
+    }
+
+    // Looked up reflectively so the class still runs on runtimes older than Java 21.
+    private static ExecutorService newExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            return Executors.newCachedThreadPool(r -> {
+                Thread t = new Thread(r, "async-product-dao");
+                t.setDaemon(true);
+                return t;
+            });
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package org.example.dao;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Per-row outcome of a bulk DAO call, in the same order as the input collection.
+ */
+public class BatchResult {
+    private final List<String> ids;
+    private final boolean[] outcomes;
+
+    public BatchResult(List<String> ids, boolean[] outcomes) {
+        if (ids.size() != outcomes.length) {
+            throw new IllegalArgumentException("Each row needs exactly one outcome.");
+        }
+        this.ids = Collections.unmodifiableList(ids);
+        this.outcomes = outcomes;
+    }
+
+    public int size() { return outcomes.length; }
+    public String getId(int index) { return ids.get(index); }
+    public boolean isSuccess(int index) { return outcomes[index]; }
+
+    public int getSuccessCount() {
+        int count = 0;
+        for (boolean ok : outcomes) {
+            if (ok) count++;
+        }
+        return count;
+    }
+
+    public int getFailureCount() {
+        return outcomes.length - getSuccessCount();
+    }
+
+    public boolean isAllSuccessful() {
+        return getFailureCount() == 0;
+    }
+
+    public List<String> getFailedIds() {
+        List<String> failed = new ArrayList<>();
+        for (int i = 0; i < outcomes.length; i++) {
+            if (!outcomes[i]) failed.add(ids.get(i));
+        }
+        return failed;
+    }
+
+    @Override
+    public String toString() {
+        return "BatchResult{rows=" + size() + ", succeeded=" + getSuccessCount() + ", failed=" + getFailureCount() + "}";
+    }
+}
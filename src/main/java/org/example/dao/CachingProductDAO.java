@@ -0,0 +1,268 @@
+package org.example.dao;
+
+import org.example.model.Product;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Stream;
+
+/**
+ * Read-through LRU cache in front of another {@link ProductDAO}. Entries expire after a TTL and
+ * are invalidated by every write that goes through this DAO. Concurrent misses on the same ID
+ * share a single load.
+ */
+public class CachingProductDAO implements ProductDAO {
+
+    private final ProductDAO delegate;
+    private final int maxEntries;
+    private final long ttlNanos;
+
+    private final Map<String, CachedProduct> cache;
+    private final Map<String, CompletableFuture<Optional<Product>>> inFlight = new ConcurrentHashMap<>();
+    // Bumped on every invalidation so a load that raced with a write never caches the old row.
+    private final AtomicLong invalidations = new AtomicLong();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder expirations = new LongAdder();
+
+    public CachingProductDAO(ProductDAO delegate, int maxEntries, long ttlMillis) {
+        if (maxEntries <= 0 || ttlMillis <= 0) {
+            throw new IllegalArgumentException("Cache size and TTL must be positive.");
+        }
+        this.delegate = delegate;
+        this.maxEntries = maxEntries;
+        this.ttlNanos = TimeUnit.MILLISECONDS.toNanos(ttlMillis);
+        this.cache = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CachedProduct> eldest) {
+                if (size() > CachingProductDAO.this.maxEntries) {
+                    evictions.increment();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    @Override
+    public Optional<Product> getProductById(String id) {
+        Product cached = lookup(id);
+        if (cached != null) {
+            hits.increment();
+            return Optional.of(copyOf(cached));
+        }
+        misses.increment();
+
+        CompletableFuture<Optional<Product>> load = new CompletableFuture<>();
+        CompletableFuture<Optional<Product>> existing = inFlight.putIfAbsent(id, load);
+        if (existing != null) {
+            return existing.join().map(CachingProductDAO::copyOf);
+        }
+
+        long generation = invalidations.get();
+        try {
+            Optional<Product> loaded = delegate.getProductById(id);
+            loaded.ifPresent(p -> store(id, p, generation));
+            load.complete(loaded);
+            return loaded.map(CachingProductDAO::copyOf);
+        } catch (RuntimeException e) {
+            load.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(id, load);
+        }
+    }
+
+    /**
+     * Serves cached IDs directly and fetches only the misses from the delegate in one call.
+     */
+    @Override
+    public Map<String, Product> getProductsByIds(Collection<String> ids) {
+        Map<String, Product> found = new LinkedHashMap<>();
+        List<String> missing = new ArrayList<>();
+        for (String id : ids) {
+            Product cached = lookup(id);
+            if (cached != null) {
+                hits.increment();
+                found.put(id, copyOf(cached));
+            } else if (!found.containsKey(id)) {
+                misses.increment();
+                missing.add(id);
+            }
+        }
+        if (!missing.isEmpty()) {
+            long generation = invalidations.get();
+            delegate.getProductsByIds(missing).forEach((id, p) -> {
+                store(id, p, generation);
+                found.put(id, copyOf(p));
+            });
+        }
+        return found;
+    }
+
+    @Override
+    public boolean addProduct(Product product) {
+        boolean added = delegate.addProduct(product);
+        invalidate(product.getId());
+        return added;
+    }
+
+    @Override
+    public List<Product> getAllProducts() {
+        return delegate.getAllProducts();
+    }
+
+    @Override
+    public Stream<Product> streamProducts() {
+        return delegate.streamProducts();
+    }
+
+    @Override
+    public Page<Product> scanAfter(String lastId, int limit) {
+        return delegate.scanAfter(lastId, limit);
+    }
+
+    @Override
+    public Page<Product> findByCategory(String category, String afterId, int limit) {
+        return delegate.findByCategory(category, afterId, limit);
+    }
+
+    @Override
+    public Page<Product> findBySupplier(String supplier, String afterId, int limit) {
+        return delegate.findBySupplier(supplier, afterId, limit);
+    }
+
+    @Override
+    public Page<Product> findLowStock(int threshold, String afterId, int limit) {
+        return delegate.findLowStock(threshold, afterId, limit);
+    }
+
+    @Override
+    public Page<Product> findByPriceRange(double minPrice, double maxPrice, String afterId, int limit) {
+        return delegate.findByPriceRange(minPrice, maxPrice, afterId, limit);
+    }
+
+    @Override
+    public Page<Product> findManufacturedBetween(LocalDate from, LocalDate to, String afterId, int limit) {
+        return delegate.findManufacturedBetween(from, to, afterId, limit);
+    }
+
+    @Override
+    public boolean updateProduct(String id, double newPrice, int newQuantity) {
+        boolean updated = delegate.updateProduct(id, newPrice, newQuantity);
+        invalidate(id);
+        return updated;
+    }
+
+    @Override
+    public boolean deleteProduct(String id) {
+        boolean deleted = delegate.deleteProduct(id);
+        invalidate(id);
+        return deleted;
+    }
+
+    @Override
+    public boolean adjustQuantity(String id, int delta) {
+        boolean adjusted = delegate.adjustQuantity(id, delta);
+        invalidate(id);
+        return adjusted;
+    }
+
+    @Override
+    public boolean compareAndSetQuantity(String id, long expectedVersion, int newQuantity) {
+        boolean updated = delegate.compareAndSetQuantity(id, expectedVersion, newQuantity);
+        invalidate(id);
+        return updated;
+    }
+
+    @Override
+    public BatchResult addProducts(Collection<Product> products) {
+        BatchResult result = delegate.addProducts(products);
+        products.forEach(p -> invalidate(p.getId()));
+        return result;
+    }
+
+    @Override
+    public BatchResult updateProducts(Collection<Product> products) {
+        BatchResult result = delegate.updateProducts(products);
+        products.forEach(p -> invalidate(p.getId()));
+        return result;
+    }
+
+    @Override
+    public BatchResult deleteProducts(Collection<String> productIds) {
+        BatchResult result = delegate.deleteProducts(productIds);
+        productIds.forEach(this::invalidate);
+        return result;
+    }
+
+    public void invalidate(String id) {
+        invalidations.incrementAndGet();
+        synchronized (cache) {
+            cache.remove(id);
+        }
+    }
+
+    public void invalidateAll() {
+        invalidations.incrementAndGet();
+        synchronized (cache) {
+            cache.clear();
+        }
+    }
+
+    public CacheStats getStats() {
+        int size;
+        synchronized (cache) {
+            size = cache.size();
+        }
+        return new CacheStats(hits.sum(), misses.sum(), evictions.sum(), expirations.sum(), size);
+    }
+
+    private Product lookup(String id) {
+        synchronized (cache) {
+            CachedProduct entry = cache.get(id);
+            if (entry == null) return null;
+            if (System.nanoTime() - entry.loadedAt >= ttlNanos) {
+                cache.remove(id);
+                expirations.increment();
+                return null;
+            }
+            return entry.product;
+        }
+    }
+
+    private void store(String id, Product product, long generation) {
+        synchronized (cache) {
+            if (invalidations.get() == generation) {
+                cache.put(id, new CachedProduct(copyOf(product), System.nanoTime()));
+            }
+        }
+    }
+
+    // Products are mutable, so callers never get the cached instance itself.
+    private static Product copyOf(Product p) {
+        return new Product(p.getId(), p.getName(), p.getCategory(), p.getPrice(), p.getQuantity(),
+                p.getLastUpdated(), p.getSupplier(), p.getVersion());
+    }
+
+    private static final class CachedProduct {
+        final Product product;
+        final long loadedAt;
+
+        CachedProduct(Product product, long loadedAt) {
+            this.product = product;
+            this.loadedAt = loadedAt;
+        }
+    }
+}
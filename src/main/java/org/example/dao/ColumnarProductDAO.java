@@ -0,0 +1,440 @@
+package org.example.dao;
+
+import org.example.model.Product;
+import org.example.util.StringDictionary;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.OptionalInt;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.function.IntPredicate;
+
+/**
+ * In-memory {@link ProductDAO} laid out as a struct of arrays: one primitive array per numeric
+ * field, category and supplier stored as their shared {@link StringDictionary} codes, and an
+ * open-addressing int table mapping IDs to rows. A million products cost a few dozen bytes
+ * each plus their ID and name strings, instead of a Product object, its state object, a date
+ * and a map entry. Reads through {@link ProductDAO} methods return detached copies;
+ * {@link #forEach} scans with a single reused flyweight view.
+ */
+public class ColumnarProductDAO implements ProductDAO {
+
+    private static final int DEFAULT_INITIAL_CAPACITY = 1_024;
+    private static final int NO_ROW = -1;
+
+    private String[] ids;
+    private String[] names;
+    private int[] categoryCodes;
+    private int[] supplierCodes;
+    private double[] prices;
+    private int[] quantities;
+    private long[] versions;
+    private int[] epochDays;
+
+    private int highWaterMark;
+    private int liveRows;
+    private int[] freeRows = new int[16];
+    private int freeCount;
+
+    // Open-addressing ID index with linear probing; slots hold row + 1, so 0 means empty.
+    private int[] table;
+
+    // Live rows sorted by ID, for paging. Adds and deletes drop it; the next page read rebuilds it.
+    private volatile int[] rowsById;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    public ColumnarProductDAO() {
+        this(DEFAULT_INITIAL_CAPACITY);
+    }
+
+    public ColumnarProductDAO(int initialCapacity) {
+        allocate(Math.max(16, initialCapacity));
+    }
+
+    @Override
+    public boolean addProduct(Product product) {
+        lock.writeLock().lock();
+        try {
+            if (findRow(product.getId()) != NO_ROW) {
+                System.err.println("❌ Error adding product: duplicate ID " + product.getId());
+                return false;
+            }
+            int row = freeCount > 0 ? freeRows[--freeCount] : nextRow();
+            ids[row] = product.getId();
+            names[row] = product.getName();
+            categoryCodes[row] = product.getCategoryCode();
+            supplierCodes[row] = product.getSupplierCode();
+            prices[row] = product.getPrice();
+            quantities[row] = product.getQuantity();
+            versions[row] = product.getVersion();
+            epochDays[row] = (int) product.getLastUpdated().toEpochDay();
+            insertIntoTable(row);
+            liveRows++;
+            rowsById = null;
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public Optional<Product> getProductById(String id) {
+        lock.readLock().lock();
+        try {
+            int row = findRow(id);
+            return row == NO_ROW ? Optional.empty() : Optional.of(materialize(row));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public List<Product> getAllProducts() {
+        lock.readLock().lock();
+        try {
+            List<Product> products = new ArrayList<>(liveRows);
+            for (int row = 0; row < highWaterMark; row++) {
+                if (ids[row] != null) products.add(materialize(row));
+            }
+            return products;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public boolean updateProduct(String id, double newPrice, int newQuantity) {
+        lock.writeLock().lock();
+        try {
+            int row = findRow(id);
+            if (row == NO_ROW) return false;
+            prices[row] = newPrice;
+            quantities[row] = newQuantity;
+            versions[row]++;
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public boolean deleteProduct(String id) {
+        lock.writeLock().lock();
+        try {
+            int row = findRow(id);
+            if (row == NO_ROW) return false;
+            removeFromTable(id);
+            ids[row] = null;
+            names[row] = null;
+            if (freeCount == freeRows.length) {
+                freeRows = Arrays.copyOf(freeRows, freeCount * 2);
+            }
+            freeRows[freeCount++] = row;
+            liveRows--;
+            rowsById = null;
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public boolean adjustQuantity(String id, int delta) {
+        lock.writeLock().lock();
+        try {
+            int row = findRow(id);
+            if (row == NO_ROW) return false;
+            long next = (long) quantities[row] + delta;
+            if (next < 0 || next > Integer.MAX_VALUE) return false;
+            quantities[row] = (int) next;
+            versions[row]++;
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public boolean compareAndSetQuantity(String id, long expectedVersion, int newQuantity) {
+        if (newQuantity < 0) return false;
+        lock.writeLock().lock();
+        try {
+            int row = findRow(id);
+            if (row == NO_ROW || versions[row] != expectedVersion) return false;
+            quantities[row] = newQuantity;
+            versions[row]++;
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public Page<Product> scanAfter(String lastId, int limit) {
+        return columnPage(row -> true, lastId, limit);
+    }
+
+    // Category and supplier filters compare dictionary codes instead of strings.
+
+    @Override
+    public Page<Product> findByCategory(String category, String afterId, int limit) {
+        int code = StringDictionary.CATEGORIES.codeOf(category);
+        return columnPage(row -> categoryCodes[row] == code, afterId, limit);
+    }
+
+    @Override
+    public Page<Product> findBySupplier(String supplier, String afterId, int limit) {
+        int code = StringDictionary.SUPPLIERS.codeOf(supplier);
+        return columnPage(row -> supplierCodes[row] == code, afterId, limit);
+    }
+
+    @Override
+    public Page<Product> findLowStock(int threshold, String afterId, int limit) {
+        return columnPage(row -> quantities[row] <= threshold, afterId, limit);
+    }
+
+    @Override
+    public Page<Product> findByPriceRange(double minPrice, double maxPrice, String afterId, int limit) {
+        return columnPage(row -> prices[row] >= minPrice && prices[row] <= maxPrice, afterId, limit);
+    }
+
+    @Override
+    public Page<Product> findManufacturedBetween(LocalDate from, LocalDate to, String afterId, int limit) {
+        long fromDay = from.toEpochDay();
+        long toDay = to.toEpochDay();
+        return columnPage(row -> epochDays[row] >= fromDay && epochDays[row] <= toDay, afterId, limit);
+    }
+
+    /**
+     * Calls {@code action} for every product with the same flyweight view, repositioned on each
+     * row. The view is read-only and only valid during the call; use {@link Product#copy()} to keep one.
+     */
+    public void forEach(Consumer<? super Product> action) {
+        lock.readLock().lock();
+        try {
+            RowView view = new RowView();
+            for (int row = 0; row < highWaterMark; row++) {
+                if (ids[row] != null) {
+                    view.row = row;
+                    action.accept(view);
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return liveRows;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Resumes from afterId in the ID-ordered row list, so a page costs the rows it passes over
+    // rather than a scan and sort of the whole table, and only returned rows become Products.
+    private Page<Product> columnPage(IntPredicate filter, String afterId, int limit) {
+        lock.readLock().lock();
+        try {
+            int[] order = rowsInIdOrder();
+            List<Product> items = new ArrayList<>(Math.min(limit, 1_024));
+            boolean hasMore = false;
+            for (int i = afterId == null ? 0 : firstAfter(order, afterId); i < order.length; i++) {
+                int row = order[i];
+                if (!filter.test(row)) continue;
+                if (items.size() == limit) {
+                    hasMore = true;
+                    break;
+                }
+                items.add(materialize(row));
+            }
+            String cursor = items.isEmpty() ? afterId : items.get(items.size() - 1).getId();
+            return new Page<>(items, cursor, hasMore);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Caller holds the read lock, so no add or delete can run while the order is rebuilt.
+    private int[] rowsInIdOrder() {
+        int[] order = rowsById;
+        if (order != null) return order;
+        order = new int[liveRows];
+        int n = 0;
+        for (int row = 0; row < highWaterMark; row++) {
+            if (ids[row] != null) order[n++] = row;
+        }
+        sortById(order, new int[order.length], 0, order.length);
+        rowsById = order;
+        return order;
+    }
+
+    // Merge sort on the primitive row numbers, so no Integer is boxed per row.
+    private void sortById(int[] rows, int[] scratch, int from, int to) {
+        if (to - from <= 16) {
+            for (int i = from + 1; i < to; i++) {
+                int row = rows[i];
+                int j = i - 1;
+                while (j >= from && ids[rows[j]].compareTo(ids[row]) > 0) {
+                    rows[j + 1] = rows[j];
+                    j--;
+                }
+                rows[j + 1] = row;
+            }
+            return;
+        }
+        int mid = (from + to) >>> 1;
+        sortById(rows, scratch, from, mid);
+        sortById(rows, scratch, mid, to);
+        if (ids[rows[mid - 1]].compareTo(ids[rows[mid]]) <= 0) return;
+        System.arraycopy(rows, from, scratch, from, to - from);
+        int left = from;
+        int right = mid;
+        for (int i = from; i < to; i++) {
+            if (right >= to || (left < mid && ids[scratch[left]].compareTo(ids[scratch[right]]) <= 0)) {
+                rows[i] = scratch[left++];
+            } else {
+                rows[i] = scratch[right++];
+            }
+        }
+    }
+
+    // Index of the first row in order whose ID sorts after afterId.
+    private int firstAfter(int[] order, String afterId) {
+        int low = 0;
+        int high = order.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (ids[order[mid]].compareTo(afterId) <= 0) low = mid + 1;
+            else high = mid;
+        }
+        return low;
+    }
+
+    private Product materialize(int row) {
+        return new Product(ids[row], names[row], StringDictionary.CATEGORIES.decode(categoryCodes[row]), prices[row], quantities[row],
+                LocalDate.ofEpochDay(epochDays[row]), StringDictionary.SUPPLIERS.decode(supplierCodes[row]), versions[row]);
+    }
+
+    private int nextRow() {
+        if (highWaterMark == ids.length) {
+            grow(ids.length * 2);
+        }
+        return highWaterMark++;
+    }
+
+    private void allocate(int capacity) {
+        ids = new String[capacity];
+        names = new String[capacity];
+        categoryCodes = new int[capacity];
+        supplierCodes = new int[capacity];
+        prices = new double[capacity];
+        quantities = new int[capacity];
+        versions = new long[capacity];
+        epochDays = new int[capacity];
+        table = new int[tableSizeFor(capacity)];
+    }
+
+    private void grow(int capacity) {
+        ids = Arrays.copyOf(ids, capacity);
+        names = Arrays.copyOf(names, capacity);
+        categoryCodes = Arrays.copyOf(categoryCodes, capacity);
+        supplierCodes = Arrays.copyOf(supplierCodes, capacity);
+        prices = Arrays.copyOf(prices, capacity);
+        quantities = Arrays.copyOf(quantities, capacity);
+        versions = Arrays.copyOf(versions, capacity);
+        epochDays = Arrays.copyOf(epochDays, capacity);
+        table = new int[tableSizeFor(capacity)];
+        for (int row = 0; row < highWaterMark; row++) {
+            if (ids[row] != null) insertIntoTable(row);
+        }
+    }
+
+    // Keeps the table at most half full so probe sequences stay short.
+    private static int tableSizeFor(int capacity) {
+        return Integer.highestOneBit(capacity - 1) << 2;
+    }
+
+    private int slotOf(String id) {
+        int h = id.hashCode() * 0x9E3779B9;
+        return (h ^ (h >>> 16)) & (table.length - 1);
+    }
+
+    private int findRow(String id) {
+        int mask = table.length - 1;
+        for (int slot = slotOf(id); table[slot] != 0; slot = (slot + 1) & mask) {
+            int row = table[slot] - 1;
+            if (ids[row].equals(id)) return row;
+        }
+        return NO_ROW;
+    }
+
+    private void insertIntoTable(int row) {
+        int mask = table.length - 1;
+        int slot = slotOf(ids[row]);
+        while (table[slot] != 0) {
+            slot = (slot + 1) & mask;
+        }
+        table[slot] = row + 1;
+    }
+
+    // Backward-shift deletion: later entries of the probe run move up, so no tombstones are needed.
+    private void removeFromTable(String id) {
+        int mask = table.length - 1;
+        int slot = slotOf(id);
+        while (!ids[table[slot] - 1].equals(id)) {
+            slot = (slot + 1) & mask;
+        }
+        int hole = slot;
+        for (int next = (hole + 1) & mask; table[next] != 0; next = (next + 1) & mask) {
+            int home = slotOf(ids[table[next] - 1]);
+            // Move the entry only if its home slot is not cyclically within (hole, next].
+            if (((next - home) & mask) >= ((next - hole) & mask)) {
+                table[hole] = table[next];
+                hole = next;
+            }
+        }
+        table[hole] = 0;
+    }
+
+    /**
+     * Read-only Product whose getters read the columns at {@link #row}.
+     */
+    private final class RowView extends Product {
+        int row;
+
+        RowView() {
+            super(null, null, null, 0, 0, null, null);
+        }
+
+        @Override public String getId() { return ids[row]; }
+        @Override public String getName() { return names[row]; }
+        @Override public String getCategory() { return StringDictionary.CATEGORIES.decode(categoryCodes[row]); }
+        @Override public int getCategoryCode() { return categoryCodes[row]; }
+        @Override public double getPrice() { return prices[row]; }
+        @Override public int getQuantity() { return quantities[row]; }
+        @Override public long getVersion() { return versions[row]; }
+        @Override public LocalDate getLastUpdated() { return LocalDate.ofEpochDay(epochDays[row]); }
+        @Override public String getSupplier() { return StringDictionary.SUPPLIERS.decode(supplierCodes[row]); }
+        @Override public int getSupplierCode() { return supplierCodes[row]; }
+        @Override public double getStockValue() { return prices[row] * quantities[row]; }
+        @Override public Product copy() { return materialize(row); }
+
+        @Override public void setPrice(double price) { throw readOnly(); }
+        @Override public void setQuantity(int quantity) { throw readOnly(); }
+        @Override public void update(double price, int quantity) { throw readOnly(); }
+        @Override public OptionalInt adjustQuantity(int delta) { throw readOnly(); }
+        @Override public boolean compareAndSetQuantity(long expectedVersion, int newQuantity) { throw readOnly(); }
+
+        private UnsupportedOperationException readOnly() {
+            return new UnsupportedOperationException("Product views are read-only; update through the DAO.");
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package org.example.dao;
+
+/**
+ * Unchecked wrapper for a storage failure that cannot be reported as a false or empty result
+ * without being mistaken for a real answer, such as a page query failing partway through.
+ */
+public class DataAccessException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    public DataAccessException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
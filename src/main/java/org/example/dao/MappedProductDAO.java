@@ -0,0 +1,354 @@
+package org.example.dao;
+
+import org.example.model.Product;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * {@link ProductDAO} backed by a memory-mapped file of fixed-width records, for sites without
+ * MySQL. Deleted slots go on a free list and are reused; the ID-to-slot index lives in memory and
+ * is rebuilt by scanning the file on open. Price and quantity changes are written in place.
+ * Changes reach the disk only on {@link #checkpoint()} or {@link #close()}.
+ */
+public class MappedProductDAO implements ProductDAO, AutoCloseable {
+
+    private static final int MAGIC = 0x50524F44; // "PROD"
+    private static final int FORMAT_VERSION = 1;
+    private static final int HEADER_SIZE = 64;
+    private static final int HEADER_SLOTS = 8;
+
+    // Record layout: numeric fields first so they stay naturally aligned.
+    static final int RECORD_SIZE = 352;
+    private static final int OFF_STATUS = 0;
+    private static final int OFF_PRICE = 8;
+    private static final int OFF_VERSION = 16;
+    private static final int OFF_QUANTITY = 24;
+    private static final int OFF_EPOCH_DAY = 28;
+    private static final int OFF_ID = 32;        // 1 length byte + 63 bytes
+    private static final int OFF_NAME = 96;      // 1 length byte + 127 bytes
+    private static final int OFF_CATEGORY = 224; // 1 length byte + 63 bytes
+    private static final int OFF_SUPPLIER = 288; // 1 length byte + 63 bytes
+    private static final int SHORT_FIELD_BYTES = 63;
+    private static final int NAME_FIELD_BYTES = 127;
+
+    private static final byte STATUS_FREE = 0;
+    private static final byte STATUS_USED = 1;
+    private static final int DEFAULT_INITIAL_SLOTS = 1_024;
+    private static final int MAX_SLOTS = (Integer.MAX_VALUE - HEADER_SIZE) / RECORD_SIZE;
+
+    private final FileChannel channel;
+    private MappedByteBuffer buffer;
+    private int capacity;
+    private int highWaterMark;
+    private final Map<String, Integer> index = new HashMap<>();
+    private final Deque<Integer> freeSlots = new ArrayDeque<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    public MappedProductDAO(Path file) {
+        this(file, DEFAULT_INITIAL_SLOTS);
+    }
+
+    public MappedProductDAO(Path file, int initialSlots) {
+        FileChannel opened = null;
+        try {
+            opened = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            channel = opened;
+            long size = channel.size();
+            if (size == 0) {
+                map(Math.max(1, Math.min(MAX_SLOTS, initialSlots)));
+                buffer.putInt(0, MAGIC);
+                buffer.putInt(4, FORMAT_VERSION);
+                buffer.putInt(HEADER_SLOTS, 0);
+            } else {
+                map(checkHeader(file, size));
+                rebuildIndex();
+            }
+        } catch (IOException e) {
+            closeAfterFailure(opened, e);
+            throw new UncheckedIOException("❌ Could not open product store " + file, e);
+        } catch (RuntimeException e) {
+            closeAfterFailure(opened, e);
+            throw e;
+        }
+    }
+
+    private static void closeAfterFailure(FileChannel opened, Exception failure) {
+        if (opened == null) return;
+        try {
+            opened.close();
+        } catch (IOException e) {
+            failure.addSuppressed(e);
+        }
+    }
+
+    // Reads the header before mapping anything and returns the number of whole record slots.
+    private int checkHeader(Path file, long size) throws IOException {
+        if (size < HEADER_SIZE) {
+            throw new IOException("Not a product store file (" + size + " bytes is shorter than the header): " + file);
+        }
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+        while (header.hasRemaining()) {
+            if (channel.read(header, header.position()) < 0) throw new IOException("Unexpected end of file: " + file);
+        }
+        if (header.getInt(0) != MAGIC || header.getInt(4) != FORMAT_VERSION) {
+            throw new IOException("Not a product store file: " + file);
+        }
+        long slots = (size - HEADER_SIZE) / RECORD_SIZE;
+        int recorded = header.getInt(HEADER_SLOTS);
+        if ((size - HEADER_SIZE) % RECORD_SIZE != 0 || slots > MAX_SLOTS || recorded < 0 || recorded > slots) {
+            throw new IOException("Product store is truncated or corrupt (" + size + " bytes, header says "
+                    + recorded + " records): " + file);
+        }
+        return (int) slots;
+    }
+
+    @Override
+    public boolean addProduct(Product product) {
+        byte[] id = encode(product.getId(), SHORT_FIELD_BYTES);
+        byte[] name = encode(product.getName(), NAME_FIELD_BYTES);
+        byte[] category = encode(product.getCategory(), SHORT_FIELD_BYTES);
+        byte[] supplier = encode(product.getSupplier(), SHORT_FIELD_BYTES);
+        if (id == null || name == null || category == null || supplier == null) {
+            System.err.println("❌ Error adding product: a text field is too long for the record layout.");
+            return false;
+        }
+
+        lock.writeLock().lock();
+        try {
+            if (index.containsKey(product.getId())) {
+                System.err.println("❌ Error adding product: duplicate ID " + product.getId());
+                return false;
+            }
+            int slot = allocateSlot();
+            int base = offsetOf(slot);
+            buffer.putDouble(base + OFF_PRICE, product.getPrice());
+            buffer.putLong(base + OFF_VERSION, product.getVersion());
+            buffer.putInt(base + OFF_QUANTITY, product.getQuantity());
+            buffer.putInt(base + OFF_EPOCH_DAY, (int) product.getLastUpdated().toEpochDay());
+            putText(base + OFF_ID, id);
+            putText(base + OFF_NAME, name);
+            putText(base + OFF_CATEGORY, category);
+            putText(base + OFF_SUPPLIER, supplier);
+            // Mapped pages reach the file in no particular order, so writing the status byte last
+            // does not protect against a crash; only a checkpoint makes the record durable.
+            buffer.put(base + OFF_STATUS, STATUS_USED);
+            index.put(product.getId(), slot);
+            return true;
+        } catch (IOException e) {
+            System.err.println("❌ Error adding product: " + e.getMessage());
+            return false;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public Optional<Product> getProductById(String id) {
+        lock.readLock().lock();
+        try {
+            Integer slot = index.get(id);
+            return slot == null ? Optional.empty() : Optional.of(read(offsetOf(slot)));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public List<Product> getAllProducts() {
+        lock.readLock().lock();
+        try {
+            List<Product> products = new ArrayList<>(index.size());
+            for (int slot = 0; slot < highWaterMark; slot++) {
+                int base = offsetOf(slot);
+                if (buffer.get(base + OFF_STATUS) == STATUS_USED) {
+                    products.add(read(base));
+                }
+            }
+            return products;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public boolean updateProduct(String id, double newPrice, int newQuantity) {
+        lock.writeLock().lock();
+        try {
+            Integer slot = index.get(id);
+            if (slot == null) return false;
+            int base = offsetOf(slot);
+            buffer.putDouble(base + OFF_PRICE, newPrice);
+            buffer.putInt(base + OFF_QUANTITY, newQuantity);
+            buffer.putLong(base + OFF_VERSION, buffer.getLong(base + OFF_VERSION) + 1);
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public boolean deleteProduct(String id) {
+        lock.writeLock().lock();
+        try {
+            Integer slot = index.remove(id);
+            if (slot == null) return false;
+            buffer.put(offsetOf(slot) + OFF_STATUS, STATUS_FREE);
+            freeSlots.push(slot);
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public boolean adjustQuantity(String id, int delta) {
+        lock.writeLock().lock();
+        try {
+            Integer slot = index.get(id);
+            if (slot == null) return false;
+            int base = offsetOf(slot);
+            long next = (long) buffer.getInt(base + OFF_QUANTITY) + delta;
+            if (next < 0 || next > Integer.MAX_VALUE) return false;
+            buffer.putInt(base + OFF_QUANTITY, (int) next);
+            buffer.putLong(base + OFF_VERSION, buffer.getLong(base + OFF_VERSION) + 1);
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public boolean compareAndSetQuantity(String id, long expectedVersion, int newQuantity) {
+        if (newQuantity < 0) return false;
+        lock.writeLock().lock();
+        try {
+            Integer slot = index.get(id);
+            if (slot == null) return false;
+            int base = offsetOf(slot);
+            if (buffer.getLong(base + OFF_VERSION) != expectedVersion) return false;
+            buffer.putInt(base + OFF_QUANTITY, newQuantity);
+            buffer.putLong(base + OFF_VERSION, expectedVersion + 1);
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return index.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Forces every change made so far to the storage device.
+     */
+    public void checkpoint() {
+        lock.writeLock().lock();
+        try {
+            buffer.putInt(HEADER_SLOTS, highWaterMark);
+            buffer.force();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void close() {
+        checkpoint();
+        try {
+            channel.close();
+        } catch (IOException e) {
+            System.err.println("❌ Error closing product store: " + e.getMessage());
+        }
+    }
+
+    private void rebuildIndex() {
+        highWaterMark = buffer.getInt(HEADER_SLOTS);
+        // Slots written after the last checkpoint may sit past the recorded high-water mark.
+        for (int slot = 0; slot < capacity; slot++) {
+            if (buffer.get(offsetOf(slot) + OFF_STATUS) == STATUS_USED) {
+                highWaterMark = Math.max(highWaterMark, slot + 1);
+            }
+        }
+        for (int slot = highWaterMark - 1; slot >= 0; slot--) {
+            int base = offsetOf(slot);
+            if (buffer.get(base + OFF_STATUS) == STATUS_USED) {
+                index.put(getText(base + OFF_ID), slot);
+            } else {
+                freeSlots.push(slot);
+            }
+        }
+    }
+
+    private int allocateSlot() throws IOException {
+        Integer reused = freeSlots.poll();
+        if (reused != null) return reused;
+        if (highWaterMark == capacity) {
+            if (capacity == MAX_SLOTS) throw new IOException("Product store is full (" + MAX_SLOTS + " records).");
+            map((int) Math.min(MAX_SLOTS, (long) capacity * 2));
+        }
+        return highWaterMark++;
+    }
+
+    private void map(int slots) throws IOException {
+        if (buffer != null) {
+            buffer.force();
+        }
+        capacity = slots;
+        buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_SIZE + (long) slots * RECORD_SIZE);
+    }
+
+    private Product read(int base) {
+        return new Product(
+                getText(base + OFF_ID),
+                getText(base + OFF_NAME),
+                getText(base + OFF_CATEGORY),
+                buffer.getDouble(base + OFF_PRICE),
+                buffer.getInt(base + OFF_QUANTITY),
+                LocalDate.ofEpochDay(buffer.getInt(base + OFF_EPOCH_DAY)),
+                getText(base + OFF_SUPPLIER),
+                buffer.getLong(base + OFF_VERSION)
+        );
+    }
+
+    private String getText(int offset) {
+        int length = buffer.get(offset) & 0xFF;
+        ByteBuffer view = buffer.duplicate();
+        view.position(offset + 1).limit(offset + 1 + length);
+        return StandardCharsets.UTF_8.decode(view).toString();
+    }
+
+    private void putText(int offset, byte[] bytes) {
+        buffer.put(offset, (byte) bytes.length);
+        buffer.put(offset + 1, bytes);
+    }
+
+    private static byte[] encode(String value, int maxBytes) {
+        byte[] bytes = (value == null ? "" : value).getBytes(StandardCharsets.UTF_8);
+        return bytes.length > maxBytes ? null : bytes;
+    }
+
+    private static int offsetOf(int slot) {
+        return HEADER_SIZE + slot * RECORD_SIZE;
+    }
+}
@@ -0,0 +1,25 @@
+package org.example.dao;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * One slice of a keyset-paginated scan. Pass {@link #getNextCursor()} back as the
+ * {@code lastId} of the next call to continue where this page ended.
+ */
+public class Page<T> {
+    private final List<T> items;
+    private final String nextCursor;
+    private final boolean hasMore;
+
+    public Page(List<T> items, String nextCursor, boolean hasMore) {
+        this.items = Collections.unmodifiableList(items);
+        this.nextCursor = nextCursor;
+        this.hasMore = hasMore;
+    }
+
+    public List<T> getItems() { return items; }
+    public String getNextCursor() { return nextCursor; }
+    public boolean hasMore() { return hasMore; }
+    public boolean isEmpty() { return items.isEmpty(); }
+}
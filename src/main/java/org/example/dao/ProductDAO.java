@@ -1,13 +1,142 @@
 package org.example.dao;
 import org.example.model.Product;
+import org.example.util.StringDictionary;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 public interface ProductDAO
 {
     boolean addProduct(Product product);
     Optional<Product> getProductById(String id);
     List<Product> getAllProducts();
+
+    /**
+     * Fetches several products at once; IDs that do not exist are simply absent from the result.
+     */
+    default Map<String, Product> getProductsByIds(Collection<String> ids) {
+        Map<String, Product> found = new LinkedHashMap<>();
+        for (String id : ids) {
+            getProductById(id).ifPresent(p -> found.put(id, p));
+        }
+        return found;
+    }
     boolean updateProduct(String id, double newPrice, int newQuantity);
     boolean deleteProduct(String id);
+
+    /**
+     * Sets the quantity only if the stored row is still at {@code expectedVersion}; every
+     * successful write bumps the version.
+     */
+    boolean compareAndSetQuantity(String id, long expectedVersion, int newQuantity);
+
+    /**
+     * Adds {@code delta} to the stored quantity without losing concurrent updates. Fails if the
+     * product is missing, the result would be negative, or the compare-and-set keeps failing
+     * (after 100 attempts), which usually means the write itself is broken rather than contended.
+     */
+    default boolean adjustQuantity(String id, int delta) {
+        final int maxAttempts = 100;
+        for (int attempt = 0; attempt < maxAttempts; attempt++) {
+            Optional<Product> current = getProductById(id);
+            if (current.isEmpty()) return false;
+            long next = (long) current.get().getQuantity() + delta;
+            if (next < 0 || next > Integer.MAX_VALUE) return false;
+            if (compareAndSetQuantity(id, current.get().getVersion(), (int) next)) return true;
+        }
+        System.err.println("❌ Gave up adjusting quantity of " + id + " after " + maxAttempts + " failed compare-and-set attempts.");
+        return false;
+    }
+
+    default BatchResult addProducts(Collection<Product> products) {
+        List<String> ids = new ArrayList<>(products.size());
+        boolean[] outcomes = new boolean[products.size()];
+        int i = 0;
+        for (Product p : products) {
+            ids.add(p.getId());
+            outcomes[i++] = addProduct(p);
+        }
+        return new BatchResult(ids, outcomes);
+    }
+
+    /**
+     * Writes the price and quantity carried by each product to the row with the same ID.
+     */
+    default BatchResult updateProducts(Collection<Product> products) {
+        List<String> ids = new ArrayList<>(products.size());
+        boolean[] outcomes = new boolean[products.size()];
+        int i = 0;
+        for (Product p : products) {
+            ids.add(p.getId());
+            outcomes[i++] = updateProduct(p.getId(), p.getPrice(), p.getQuantity());
+        }
+        return new BatchResult(ids, outcomes);
+    }
+
+    default BatchResult deleteProducts(Collection<String> productIds) {
+        List<String> ids = new ArrayList<>(productIds);
+        boolean[] outcomes = new boolean[ids.size()];
+        for (int i = 0; i < ids.size(); i++) {
+            outcomes[i] = deleteProduct(ids.get(i));
+        }
+        return new BatchResult(ids, outcomes);
+    }
+
+    default Stream<Product> streamProducts() {
+        return getAllProducts().stream();
+    }
+
+    /**
+     * Returns up to {@code limit} products whose ID sorts after {@code lastId}, in ID order.
+     * A null {@code lastId} starts from the beginning. If the store fails, this and the finders
+     * below throw {@link DataAccessException} instead of returning a short final page.
+     */
+    default Page<Product> scanAfter(String lastId, int limit) {
+        return filteredPage(p -> true, lastId, limit);
+    }
+
+    // The finders below page the same way as scanAfter: pass the previous page's cursor as afterId.
+
+    default Page<Product> findByCategory(String category, String afterId, int limit) {
+        int code = StringDictionary.CATEGORIES.codeOf(category);
+        return filteredPage(p -> p.getCategoryCode() == code, afterId, limit);
+    }
+
+    default Page<Product> findBySupplier(String supplier, String afterId, int limit) {
+        int code = StringDictionary.SUPPLIERS.codeOf(supplier);
+        return filteredPage(p -> p.getSupplierCode() == code, afterId, limit);
+    }
+
+    default Page<Product> findLowStock(int threshold, String afterId, int limit) {
+        return filteredPage(p -> p.getQuantity() <= threshold, afterId, limit);
+    }
+
+    default Page<Product> findByPriceRange(double minPrice, double maxPrice, String afterId, int limit) {
+        return filteredPage(p -> p.getPrice() >= minPrice && p.getPrice() <= maxPrice, afterId, limit);
+    }
+
+    default Page<Product> findManufacturedBetween(LocalDate from, LocalDate to, String afterId, int limit) {
+        return filteredPage(p -> !p.getLastUpdated().isBefore(from) && !p.getLastUpdated().isAfter(to), afterId, limit);
+    }
+
+    private Page<Product> filteredPage(Predicate<Product> filter, String afterId, int limit) {
+        List<Product> slice = getAllProducts().stream()
+                .filter(p -> afterId == null || p.getId().compareTo(afterId) > 0)
+                .filter(filter)
+                .sorted(Comparator.comparing(Product::getId))
+                .limit(limit + 1L)
+                .collect(Collectors.toList());
+        boolean hasMore = slice.size() > limit;
+        List<Product> items = hasMore ? slice.subList(0, limit) : slice;
+        String cursor = items.isEmpty() ? afterId : items.get(items.size() - 1).getId();
+        return new Page<>(items, cursor, hasMore);
+    }
 }
@@ -3,14 +3,61 @@ package org.example.dao;
 import org.example.model.Product;
 import org.example.util.DBConnection;
 import java.sql.*;
+import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 public class ProductDAOImpl implements ProductDAO {
 
+    private static final int DEFAULT_BATCH_SIZE = 500;
+    private static final int DEFAULT_FETCH_SIZE = 1_000;
+    private static final String INSERT_SQL = "INSERT INTO products(productId, productName, category, price, quantity, manufacturingDate, supplier) VALUES(?,?,?,?,?,?,?)";
+    private static final String UPDATE_SQL = "UPDATE products SET price = ?, quantity = ?, version = version + 1 WHERE productId = ?";
+    private static final String ADJUST_SQL = "UPDATE products SET quantity = quantity + ?, version = version + 1 WHERE productId = ? AND quantity + ? >= 0";
+    private static final String CAS_SQL = "UPDATE products SET quantity = ?, version = version + 1 WHERE productId = ? AND version = ?";
+    private static final String DELETE_SQL = "DELETE FROM products WHERE productId = ?";
+    // One per finder: its filter column, then productId for the finders' productId > ? ORDER BY productId.
+    private static final String[][] SECONDARY_INDEXES = {
+            {"idx_products_category", "category, productId"},
+            {"idx_products_supplier", "supplier, productId"},
+            {"idx_products_quantity", "quantity, productId"},
+            {"idx_products_price", "price, productId"},
+            {"idx_products_mfg_date", "manufacturingDate, productId"}
+    };
+
+    private final int batchSize;
+    private final int fetchSize;
+
     public ProductDAOImpl()
     {
+        this(DEFAULT_BATCH_SIZE, DEFAULT_FETCH_SIZE);
+    }
+
+    public ProductDAOImpl(int batchSize)
+    {
+        this(batchSize, DEFAULT_FETCH_SIZE);
+    }
+
+    public ProductDAOImpl(int batchSize, int fetchSize)
+    {
+        if (batchSize <= 0 || fetchSize <= 0) {
+            throw new IllegalArgumentException("Batch and fetch sizes must be positive.");
+        }
+        this.batchSize = batchSize;
+        this.fetchSize = fetchSize;
         createTable();
     }
 
@@ -26,26 +73,53 @@ public class ProductDAOImpl implements ProductDAO {
                     price REAL NOT NULL,
                     quantity INTEGER NOT NULL,
                     manufacturingDate DATE,
-                    supplier VARCHAR(100)
+                    supplier VARCHAR(100),
+                    version BIGINT NOT NULL DEFAULT 0
                 );""";
         try (Connection conn = connect(); Statement stmt = conn.createStatement()) {
             stmt.execute(sql);
+            ensureVersionColumn(conn, stmt);
+            ensureIndexes(conn, stmt);
         } catch (SQLException e) {
             System.err.println("❌ Error creating products table: " + e.getMessage());
         }
     }
+
+    // Tables created before optimistic versioning have no version column yet.
+    private void ensureVersionColumn(Connection conn, Statement stmt) throws SQLException {
+        try (ResultSet rs = conn.getMetaData().getColumns(conn.getCatalog(), null, "products", "version")) {
+            if (rs.next()) return;
+        }
+        stmt.execute("ALTER TABLE products ADD COLUMN version BIGINT NOT NULL DEFAULT 0");
+    }
+
+    // MySQL has no CREATE INDEX IF NOT EXISTS, so check the catalog first. An index created with
+    // other columns, such as an older single-column one, is dropped and rebuilt.
+    private void ensureIndexes(Connection conn, Statement stmt) throws SQLException {
+        Map<String, String> existing = new HashMap<>();
+        try (ResultSet rs = conn.getMetaData().getIndexInfo(conn.getCatalog(), null, "products", false, true)) {
+            // Rows come ordered by index name, then by column position.
+            while (rs.next()) {
+                String name = rs.getString("INDEX_NAME");
+                String column = rs.getString("COLUMN_NAME");
+                if (name != null && column != null) {
+                    existing.merge(name.toLowerCase(), column.toLowerCase(), (columns, next) -> columns + ", " + next);
+                }
+            }
+        }
+        for (String[] index : SECONDARY_INDEXES) {
+            String columns = existing.get(index[0]);
+            if (index[1].toLowerCase().equals(columns)) continue;
+            if (columns != null) {
+                stmt.execute("DROP INDEX " + index[0] + " ON products");
+            }
+            stmt.execute("CREATE INDEX " + index[0] + " ON products (" + index[1] + ")");
+        }
+    }
     @Override
     public boolean addProduct(Product product) {
-        String sql = "INSERT INTO products(productId, productName, category, price, quantity, manufacturingDate, supplier) VALUES(?,?,?,?,?,?,?)";
-        try (Connection conn = connect(); PreparedStatement pstmt = conn.prepareStatement(sql)) {
-            pstmt.setString(1, product.getId());
-            pstmt.setString(2, product.getName());
-            pstmt.setString(3, product.getCategory());
-            pstmt.setDouble(4, product.getPrice());
-            pstmt.setInt(5, product.getQuantity());
-            // Convert Java LocalDate to SQL Date
-            pstmt.setDate(6, Date.valueOf(product.getLastUpdated()));
-            pstmt.setString(7, product.getSupplier());
+        try (Connection conn = connect(); PreparedStatement pstmt = conn.prepareStatement(INSERT_SQL)) {
+            bindInsert(pstmt, product);
             pstmt.executeUpdate();
             return true;
         } catch (SQLException e) {
@@ -60,16 +134,7 @@ public class ProductDAOImpl implements ProductDAO {
             pstmt.setString(1, id);
             ResultSet rs = pstmt.executeQuery();
             if (rs.next()) {
-                return Optional.of(new Product(
-                        rs.getString("productId"),
-                        rs.getString("productName"),
-                        rs.getString("category"),
-                        rs.getDouble("price"),
-                        rs.getInt("quantity"),
-                        // Convert SQL Date back to Java LocalDate
-                        rs.getDate("manufacturingDate").toLocalDate(),
-                        rs.getString("supplier")
-                ));
+                return Optional.of(mapRow(rs));
             }
         } catch (SQLException e) {
             System.err.println("❌ Error getting product: " + e.getMessage());
@@ -82,15 +147,7 @@ public class ProductDAOImpl implements ProductDAO {
         String sql = "SELECT * FROM products";
         try (Connection conn = connect(); Statement stmt = conn.createStatement(); ResultSet rs = stmt.executeQuery(sql)) {
             while (rs.next()) {
-                products.add(new Product(
-                        rs.getString("productId"),
-                        rs.getString("productName"),
-                        rs.getString("category"),
-                        rs.getDouble("price"),
-                        rs.getInt("quantity"),
-                        rs.getDate("manufacturingDate").toLocalDate(),
-                        rs.getString("supplier")
-                ));
+                products.add(mapRow(rs));
             }
         } catch (SQLException e) {
             System.err.println("❌ Error retrieving all products: " + e.getMessage());
@@ -98,13 +155,171 @@ public class ProductDAOImpl implements ProductDAO {
         return products;
     }
 
+    /**
+     * Looks the IDs up with {@code IN (...)} queries of at most {@code batchSize} IDs each.
+     */
+    @Override
+    public Map<String, Product> getProductsByIds(Collection<String> ids) {
+        List<String> distinct = new ArrayList<>(new LinkedHashSet<>(ids));
+        Map<String, Product> found = new HashMap<>(distinct.size() * 2);
+        if (distinct.isEmpty()) return found;
+        try (Connection conn = connect()) {
+            for (int from = 0; from < distinct.size(); from += batchSize) {
+                List<String> chunk = distinct.subList(from, Math.min(from + batchSize, distinct.size()));
+                String sql = "SELECT * FROM products WHERE productId IN (" + "?,".repeat(chunk.size() - 1) + "?)";
+                try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+                    for (int i = 0; i < chunk.size(); i++) {
+                        pstmt.setString(i + 1, chunk.get(i));
+                    }
+                    try (ResultSet rs = pstmt.executeQuery()) {
+                        while (rs.next()) {
+                            Product p = mapRow(rs);
+                            found.put(p.getId(), p);
+                        }
+                    }
+                }
+            }
+        } catch (SQLException e) {
+            System.err.println("❌ Error getting products by IDs: " + e.getMessage());
+        }
+        return found;
+    }
+
+    /**
+     * Streams the whole table one keyset page at a time, so only {@code fetchSize} rows are
+     * held in memory and no connection stays borrowed between pages. A failed page query ends
+     * the stream with a {@link DataAccessException} rather than cutting it short.
+     */
+    @Override
+    public Stream<Product> streamProducts() {
+        Spliterator<Product> pages = new Spliterators.AbstractSpliterator<Product>(Long.MAX_VALUE,
+                Spliterator.ORDERED | Spliterator.DISTINCT | Spliterator.NONNULL) {
+            private Iterator<Product> current = Collections.emptyIterator();
+            private String cursor = null;
+            private boolean exhausted = false;
+
+            @Override
+            public boolean tryAdvance(Consumer<? super Product> action) {
+                while (!current.hasNext()) {
+                    if (exhausted) return false;
+                    Page<Product> page = scanAfter(cursor, fetchSize);
+                    current = page.getItems().iterator();
+                    cursor = page.getNextCursor();
+                    exhausted = !page.hasMore();
+                }
+                action.accept(current.next());
+                return true;
+            }
+        };
+        return StreamSupport.stream(pages, false);
+    }
+
+    @Override
+    public Page<Product> scanAfter(String lastId, int limit) {
+        return queryPage("", pstmt -> 0, lastId, limit);
+    }
+
+    @Override
+    public Page<Product> findByCategory(String category, String afterId, int limit) {
+        return queryPage("category = ?", pstmt -> {
+            pstmt.setString(1, category);
+            return 1;
+        }, afterId, limit);
+    }
+
+    @Override
+    public Page<Product> findBySupplier(String supplier, String afterId, int limit) {
+        return queryPage("supplier = ?", pstmt -> {
+            pstmt.setString(1, supplier);
+            return 1;
+        }, afterId, limit);
+    }
+
+    @Override
+    public Page<Product> findLowStock(int threshold, String afterId, int limit) {
+        return queryPage("quantity <= ?", pstmt -> {
+            pstmt.setInt(1, threshold);
+            return 1;
+        }, afterId, limit);
+    }
+
+    @Override
+    public Page<Product> findByPriceRange(double minPrice, double maxPrice, String afterId, int limit) {
+        return queryPage("price BETWEEN ? AND ?", pstmt -> {
+            pstmt.setDouble(1, minPrice);
+            pstmt.setDouble(2, maxPrice);
+            return 2;
+        }, afterId, limit);
+    }
+
+    @Override
+    public Page<Product> findManufacturedBetween(LocalDate from, LocalDate to, String afterId, int limit) {
+        return queryPage("manufacturingDate BETWEEN ? AND ?", pstmt -> {
+            pstmt.setDate(1, Date.valueOf(from));
+            pstmt.setDate(2, Date.valueOf(to));
+            return 2;
+        }, afterId, limit);
+    }
+
+    @FunctionalInterface
+    private interface FilterBinder {
+        // Binds the filter parameters and returns how many were bound.
+        int bind(PreparedStatement pstmt) throws SQLException;
+    }
+
+    /**
+     * Runs a keyset-paginated query: the optional filter plus {@code productId > afterId},
+     * ordered by productId and limited to one row more than requested to detect a next page.
+     * Throws {@link DataAccessException} if the query fails, even after some rows were read.
+     */
+    private Page<Product> queryPage(String filter, FilterBinder binder, String afterId, int limit) {
+        String sql = "SELECT * FROM products WHERE " + (filter.isEmpty() ? "" : filter + " AND ")
+                + "productId > ? ORDER BY productId LIMIT ?";
+        List<Product> items = new ArrayList<>(Math.min(limit, fetchSize));
+        boolean hasMore = false;
+        try (Connection conn = connect(); PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            pstmt.setFetchSize(Math.min(limit + 1, fetchSize));
+            int bound = binder.bind(pstmt);
+            pstmt.setString(bound + 1, afterId == null ? "" : afterId);
+            pstmt.setInt(bound + 2, limit + 1);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    if (items.size() == limit) {
+                        hasMore = true;
+                        break;
+                    }
+                    items.add(mapRow(rs));
+                }
+            }
+        } catch (SQLException e) {
+            // A short page would read as the end of the table, so the caller must see the failure.
+            throw new DataAccessException("Error querying products (" + (filter.isEmpty() ? "all" : filter) + ") after "
+                    + (items.isEmpty() ? afterId : items.get(items.size() - 1).getId()) + ": " + e.getMessage(), e);
+        }
+        String cursor = items.isEmpty() ? afterId : items.get(items.size() - 1).getId();
+        return new Page<>(items, cursor, hasMore);
+    }
+
+    private static Product mapRow(ResultSet rs) throws SQLException {
+        return new Product(
+                rs.getString("productId"),
+                rs.getString("productName"),
+                rs.getString("category"),
+                rs.getDouble("price"),
+                rs.getInt("quantity"),
+                // Convert SQL Date back to Java LocalDate
+                rs.getDate("manufacturingDate").toLocalDate(),
+                rs.getString("supplier"),
+                rs.getLong("version")
+        );
+    }
+
     /**
      * Updates the price and quantity of an existing product.
      */
     @Override
     public boolean updateProduct(String id, double newPrice, int newQuantity) {
-        String sql = "UPDATE products SET price = ?, quantity = ? WHERE productId = ?";
-        try (Connection conn = connect(); PreparedStatement pstmt = conn.prepareStatement(sql)) {
+        try (Connection conn = connect(); PreparedStatement pstmt = conn.prepareStatement(UPDATE_SQL)) {
             pstmt.setDouble(1, newPrice);
             pstmt.setInt(2, newQuantity);
             pstmt.setString(3, id);
@@ -115,10 +330,40 @@ public class ProductDAOImpl implements ProductDAO {
             return false;
         }
     }
+    /**
+     * Applies the delta in a single statement, so concurrent sellers never lose updates and
+     * the quantity can never drop below zero.
+     */
+    @Override
+    public boolean adjustQuantity(String id, int delta) {
+        try (Connection conn = connect(); PreparedStatement pstmt = conn.prepareStatement(ADJUST_SQL)) {
+            pstmt.setInt(1, delta);
+            pstmt.setString(2, id);
+            pstmt.setInt(3, delta);
+            return pstmt.executeUpdate() > 0;
+        } catch (SQLException e) {
+            System.err.println("❌ Error adjusting quantity: " + e.getMessage());
+            return false;
+        }
+    }
+
+    @Override
+    public boolean compareAndSetQuantity(String id, long expectedVersion, int newQuantity) {
+        if (newQuantity < 0) return false;
+        try (Connection conn = connect(); PreparedStatement pstmt = conn.prepareStatement(CAS_SQL)) {
+            pstmt.setInt(1, newQuantity);
+            pstmt.setString(2, id);
+            pstmt.setLong(3, expectedVersion);
+            return pstmt.executeUpdate() > 0;
+        } catch (SQLException e) {
+            System.err.println("❌ Error updating quantity: " + e.getMessage());
+            return false;
+        }
+    }
+
     @Override
     public boolean deleteProduct(String id) {
-        String sql = "DELETE FROM products WHERE productId = ?";
-        try (Connection conn = connect(); PreparedStatement pstmt = conn.prepareStatement(sql)) {
+        try (Connection conn = connect(); PreparedStatement pstmt = conn.prepareStatement(DELETE_SQL)) {
             pstmt.setString(1, id);
             int rowsAffected = pstmt.executeUpdate();
             return rowsAffected > 0;
@@ -127,4 +372,98 @@ public class ProductDAOImpl implements ProductDAO {
             return false;
         }
     }
+
+    @Override
+    public BatchResult addProducts(Collection<Product> products) {
+        List<Product> rows = new ArrayList<>(products);
+        return executeInChunks(INSERT_SQL, rows, Product::getId, ProductDAOImpl::bindInsert, "insert");
+    }
+
+    @Override
+    public BatchResult updateProducts(Collection<Product> products) {
+        List<Product> rows = new ArrayList<>(products);
+        return executeInChunks(UPDATE_SQL, rows, Product::getId, (pstmt, p) -> {
+            pstmt.setDouble(1, p.getPrice());
+            pstmt.setInt(2, p.getQuantity());
+            pstmt.setString(3, p.getId());
+        }, "update");
+    }
+
+    @Override
+    public BatchResult deleteProducts(Collection<String> productIds) {
+        List<String> rows = new ArrayList<>(productIds);
+        return executeInChunks(DELETE_SQL, rows, id -> id, (pstmt, id) -> pstmt.setString(1, id), "delete");
+    }
+
+    private static void bindInsert(PreparedStatement pstmt, Product product) throws SQLException {
+        pstmt.setString(1, product.getId());
+        pstmt.setString(2, product.getName());
+        pstmt.setString(3, product.getCategory());
+        pstmt.setDouble(4, product.getPrice());
+        pstmt.setInt(5, product.getQuantity());
+        // Convert Java LocalDate to SQL Date
+        pstmt.setDate(6, Date.valueOf(product.getLastUpdated()));
+        pstmt.setString(7, product.getSupplier());
+    }
+
+    @FunctionalInterface
+    private interface RowBinder<T> {
+        void bind(PreparedStatement pstmt, T row) throws SQLException;
+    }
+
+    /**
+     * Sends rows as JDBC batches of {@code batchSize}, committing once per chunk. A chunk that
+     * fails is rolled back and replayed row by row so every row gets its own outcome.
+     */
+    private <T> BatchResult executeInChunks(String sql, List<T> rows, Function<T, String> idOf,
+                                            RowBinder<T> binder, String action) {
+        List<String> ids = new ArrayList<>(rows.size());
+        for (T row : rows) {
+            ids.add(idOf.apply(row));
+        }
+        boolean[] outcomes = new boolean[rows.size()];
+        if (rows.isEmpty()) {
+            return new BatchResult(ids, outcomes);
+        }
+
+        try (Connection conn = connect(); PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            conn.setAutoCommit(false);
+            for (int from = 0; from < rows.size(); from += batchSize) {
+                int to = Math.min(from + batchSize, rows.size());
+                try {
+                    for (int i = from; i < to; i++) {
+                        binder.bind(pstmt, rows.get(i));
+                        pstmt.addBatch();
+                    }
+                    int[] counts = pstmt.executeBatch();
+                    conn.commit();
+                    for (int i = 0; i < counts.length; i++) {
+                        outcomes[from + i] = counts[i] > 0 || counts[i] == Statement.SUCCESS_NO_INFO;
+                    }
+                } catch (SQLException e) {
+                    conn.rollback();
+                    pstmt.clearBatch();
+                    System.err.println("⚠️ Batch " + action + " of rows " + from + "-" + (to - 1) + " failed (" + e.getMessage() + "). Retrying rows individually.");
+                    for (int i = from; i < to; i++) {
+                        outcomes[i] = executeSingle(conn, pstmt, binder, rows.get(i));
+                    }
+                }
+            }
+        } catch (SQLException e) {
+            System.err.println("❌ Error during batch " + action + ": " + e.getMessage());
+        }
+        return new BatchResult(ids, outcomes);
+    }
+
+    private <T> boolean executeSingle(Connection conn, PreparedStatement pstmt, RowBinder<T> binder, T row) throws SQLException {
+        try {
+            binder.bind(pstmt, row);
+            boolean affected = pstmt.executeUpdate() > 0;
+            conn.commit();
+            return affected;
+        } catch (SQLException e) {
+            conn.rollback();
+            return false;
+        }
+    }
 }
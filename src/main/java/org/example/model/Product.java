@@ -1,32 +1,138 @@
 package org.example.model;
+import org.example.util.StringDictionary;
 import java.time.LocalDate;
+import java.util.OptionalInt;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
 
 public class Product {
+    private static final AtomicReferenceFieldUpdater<Product, StockLevel> STOCK =
+            AtomicReferenceFieldUpdater.newUpdater(Product.class, StockLevel.class, "stock");
+
     private final String id;
     private final String name;
-    private final String category;
-    private double price;
-    private int quantity;
+    private final int categoryCode;
+    private volatile StockLevel stock;
     private final LocalDate lastUpdated;
-    private final String supplier;
+    private final int supplierCode;
 
     public Product(String id, String name, String category, double price, int quantity, LocalDate lastUpdated, String supplier) {
+        this(id, name, category, price, quantity, lastUpdated, supplier, 0L);
+    }
+
+    public Product(String id, String name, String category, double price, int quantity, LocalDate lastUpdated, String supplier, long version) {
         this.id = id;
         this.name = name;
-        this.category = category;
-        this.price = price;
-        this.quantity = quantity;
+        this.categoryCode = StringDictionary.CATEGORIES.encode(category);
+        this.stock = new StockLevel(price, quantity, version);
         this.lastUpdated = lastUpdated;
-        this.supplier = supplier;
+        this.supplierCode = StringDictionary.SUPPLIERS.encode(supplier);
+    }
+
+    private Product(Product base, StockLevel stock) {
+        this.id = base.id;
+        this.name = base.name;
+        this.categoryCode = base.categoryCode;
+        this.stock = stock;
+        this.lastUpdated = base.lastUpdated;
+        this.supplierCode = base.supplierCode;
     }
 
     public String getId() { return id; }
     public String getName() { return name; }
-    public String getCategory() { return category; }
-    public double getPrice() { return price; }
-    public int getQuantity() { return quantity; }
+    public String getCategory() { return StringDictionary.CATEGORIES.decode(categoryCode); }
+    public double getPrice() { return stock.price; }
+    public int getQuantity() { return stock.quantity; }
+    public long getVersion() { return stock.version; }
     public LocalDate getLastUpdated() { return lastUpdated; }
-    public String getSupplier() { return supplier; }
-    public void setPrice(double price) { this.price = price; }
-    public void setQuantity(int quantity) { this.quantity = quantity; }
-}
\ No newline at end of file
+    public String getSupplier() { return StringDictionary.SUPPLIERS.decode(supplierCode); }
+
+    // Category and supplier are dictionary-encoded; compare or group by these codes instead of the strings.
+    public int getCategoryCode() { return categoryCode; }
+    public int getSupplierCode() { return supplierCode; }
+
+    public void setPrice(double price) {
+        StockLevel current;
+        do {
+            current = stock;
+        } while (!STOCK.compareAndSet(this, current, new StockLevel(price, current.quantity, current.version + 1)));
+    }
+
+    public void setQuantity(int quantity) {
+        StockLevel current;
+        do {
+            current = stock;
+        } while (!STOCK.compareAndSet(this, current, new StockLevel(current.price, quantity, current.version + 1)));
+    }
+
+    /**
+     * Sets price and quantity as one change, so no reader sees the new price with the old quantity.
+     */
+    public void update(double price, int quantity) {
+        StockLevel current;
+        do {
+            current = stock;
+        } while (!STOCK.compareAndSet(this, current, new StockLevel(price, quantity, current.version + 1)));
+    }
+
+    /**
+     * Price times quantity, both read from the same state.
+     */
+    public double getStockValue() {
+        StockLevel current = stock;
+        return current.price * current.quantity;
+    }
+
+    /**
+     * Independent copy whose price, quantity and version come from the same state.
+     */
+    public Product copy() {
+        StockLevel current = stock;
+        return new Product(id, name, getCategory(), current.price, current.quantity, lastUpdated, getSupplier(), current.version);
+    }
+
+    /**
+     * New version of this product with the given price and quantity and the next version number.
+     * This one is left unchanged, so it can keep serving readers that already hold it.
+     */
+    public Product withStock(double price, int quantity) {
+        return new Product(this, new StockLevel(price, quantity, stock.version + 1));
+    }
+
+    /**
+     * Lock-free add of {@code delta} to the quantity. Returns the new quantity, or empty if the
+     * change would take stock below zero (or overflow), in which case nothing is changed.
+     */
+    public OptionalInt adjustQuantity(int delta) {
+        StockLevel current;
+        long next;
+        do {
+            current = stock;
+            next = (long) current.quantity + delta;
+            if (next < 0 || next > Integer.MAX_VALUE) {
+                return OptionalInt.empty();
+            }
+        } while (!STOCK.compareAndSet(this, current, new StockLevel(current.price, (int) next, current.version + 1)));
+        return OptionalInt.of((int) next);
+    }
+
+    /**
+     * Sets the quantity only if nobody has changed it since {@code expectedVersion} was read.
+     */
+    public boolean compareAndSetQuantity(long expectedVersion, int newQuantity) {
+        StockLevel current = stock;
+        return current.version == expectedVersion && newQuantity >= 0
+                && STOCK.compareAndSet(this, current, new StockLevel(current.price, newQuantity, expectedVersion + 1));
+    }
+
+    private static final class StockLevel {
+        final double price;
+        final int quantity;
+        final long version;
+
+        StockLevel(double price, int quantity, long version) {
+            this.price = price;
+            this.quantity = quantity;
+            this.version = version;
+        }
+    }
+}
@@ -6,6 +6,11 @@ public class ProductValidator {
             throw new IllegalArgumentException("❌ Product ID must be a positive number.");
         }
     }
+    public static void validateProductId(String productId) throws IllegalArgumentException {
+        if (productId == null || productId.isBlank()) {
+            throw new IllegalArgumentException("❌ Product ID must not be blank.");
+        }
+    }
     public static void validatePrice(double price) throws IllegalArgumentException {
         if (price < 0.0) {
             throw new IllegalArgumentException("❌ Price cannot be negative.");
@@ -0,0 +1,13 @@
+package org.example.service;
+
+import org.example.model.Product;
+
+/**
+ * Expected units sold per day for a product, as used by the {@link ReorderPlanner}.
+ * {@link StockHistory#demandEstimator} derives it from recorded consumption.
+ */
+@FunctionalInterface
+public interface DemandEstimator {
+
+    double dailyDemand(Product product);
+}
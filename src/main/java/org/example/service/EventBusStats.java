@@ -0,0 +1,43 @@
+package org.example.service;
+
+public class EventBusStats {
+    private final int capacity;
+    private final long published;
+    private final long backlog;
+    private final long producerWaits;
+    private final long batches;
+    private final long eventsHandled;
+    private final long handlerFailures;
+    private final long droppedAfterClose;
+
+    public EventBusStats(int capacity, long published, long backlog, long producerWaits, long batches, long eventsHandled,
+                         long handlerFailures, long droppedAfterClose) {
+        this.capacity = capacity;
+        this.published = published;
+        this.backlog = backlog;
+        this.producerWaits = producerWaits;
+        this.batches = batches;
+        this.eventsHandled = eventsHandled;
+        this.handlerFailures = handlerFailures;
+        this.droppedAfterClose = droppedAfterClose;
+    }
+
+    public int getCapacity() { return capacity; }
+    public long getPublished() { return published; }
+    public long getBacklog() { return backlog; }
+    public long getProducerWaits() { return producerWaits; }
+    public long getBatches() { return batches; }
+    public long getEventsHandled() { return eventsHandled; }
+    public long getHandlerFailures() { return handlerFailures; }
+    public long getDroppedAfterClose() { return droppedAfterClose; }
+
+    public double getAverageBatchSize() {
+        return batches == 0 ? 0 : (double) eventsHandled / batches;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("capacity=%d, published=%d, backlog=%d, producerWaits=%d, batches=%d, avgBatch=%.1f, handlerFailures=%d, droppedAfterClose=%d",
+                capacity, published, backlog, producerWaits, batches, getAverageBatchSize(), handlerFailures, droppedAfterClose);
+    }
+}
@@ -0,0 +1,56 @@
+package org.example.service;
+
+import java.time.YearMonth;
+
+/**
+ * Totals for one group of an {@link InventoryAggregator} run. Dimensions that were not grouped
+ * on are null. Value is price x quantity per product.
+ */
+public class GroupAggregate {
+    private final String category;
+    private final String supplier;
+    private final YearMonth month;
+    private final long count;
+    private final long totalQuantity;
+    private final int minQuantity;
+    private final int maxQuantity;
+    private final long totalValueCents;
+    private final long minValueCents;
+    private final long maxValueCents;
+
+    public GroupAggregate(String category, String supplier, YearMonth month, long count, long totalQuantity, int minQuantity,
+                          int maxQuantity, long totalValueCents, long minValueCents, long maxValueCents) {
+        this.category = category;
+        this.supplier = supplier;
+        this.month = month;
+        this.count = count;
+        this.totalQuantity = totalQuantity;
+        this.minQuantity = minQuantity;
+        this.maxQuantity = maxQuantity;
+        this.totalValueCents = totalValueCents;
+        this.minValueCents = minValueCents;
+        this.maxValueCents = maxValueCents;
+    }
+
+    public String getCategory() { return category; }
+    public String getSupplier() { return supplier; }
+    public YearMonth getMonth() { return month; }
+    public long getCount() { return count; }
+    public long getTotalQuantity() { return totalQuantity; }
+    public int getMinQuantity() { return minQuantity; }
+    public int getMaxQuantity() { return maxQuantity; }
+    public long getTotalValueCents() { return totalValueCents; }
+    public long getMinValueCents() { return minValueCents; }
+    public long getMaxValueCents() { return maxValueCents; }
+
+    public double getTotalValue() {
+        return totalValueCents / 100.0;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s/%s/%s: count=%d, quantity=%d (min %d, max %d), value=$%.2f (min $%.2f, max $%.2f)",
+                category, supplier, month, count, totalQuantity, minQuantity, maxQuantity,
+                getTotalValue(), minValueCents / 100.0, maxValueCents / 100.0);
+    }
+}
@@ -0,0 +1,202 @@
+package org.example.service;
+
+import java.util.Arrays;
+
+/**
+ * Append-only block of up to {@link #CAPACITY} (timestamp, quantity, price) points packed into a
+ * bit stream. The first point is stored raw. After that, timestamps are stored as zig-zag
+ * varints of their delta-of-delta, quantities as zig-zag varints of their delta, and prices as
+ * the XOR of their IEEE bits with the previous price. Unchanged values cost a single bit, so
+ * regular, mostly flat stock series shrink to a few bits per point.
+ */
+final class HistoryChunk {
+
+    static final int CAPACITY = 512;
+
+    interface PointVisitor {
+        /** Returns false to stop decoding. */
+        boolean visit(long timestamp, int quantity, double price);
+    }
+
+    private long[] words = new long[16];
+    private long bits;
+    private int count;
+
+    private final long firstTimestamp;
+    private long lastTimestamp;
+    private long lastDelta;
+    private int lastQuantity;
+    private long lastPriceBits;
+    private int lastLeading = -1;
+    private int lastTrailing;
+
+    HistoryChunk(long timestamp, int quantity, double price) {
+        firstTimestamp = timestamp;
+        writeBits(timestamp, 64);
+        writeBits(quantity, 32);
+        writeBits(Double.doubleToRawLongBits(price), 64);
+        lastTimestamp = timestamp;
+        lastQuantity = quantity;
+        lastPriceBits = Double.doubleToRawLongBits(price);
+        count = 1;
+    }
+
+    boolean isFull() {
+        return count >= CAPACITY;
+    }
+
+    int size() {
+        return count;
+    }
+
+    long getFirstTimestamp() {
+        return firstTimestamp;
+    }
+
+    long getLastTimestamp() {
+        return lastTimestamp;
+    }
+
+    int getLastQuantity() {
+        return lastQuantity;
+    }
+
+    double getLastPrice() {
+        return Double.longBitsToDouble(lastPriceBits);
+    }
+
+    long sizeInBytes() {
+        return words.length * 8L;
+    }
+
+    /** Timestamps must not decrease; the caller checks. */
+    void append(long timestamp, int quantity, double price) {
+        long delta = timestamp - lastTimestamp;
+        writeChange(delta - lastDelta);
+        writeChange((long) quantity - lastQuantity);
+        writePrice(Double.doubleToRawLongBits(price));
+        lastTimestamp = timestamp;
+        lastDelta = delta;
+        lastQuantity = quantity;
+        count++;
+    }
+
+    /** Drops the spare capacity of a chunk that will not grow any more. */
+    void seal() {
+        words = Arrays.copyOf(words, (int) ((bits + 63) >>> 6));
+    }
+
+    void forEach(PointVisitor visitor) {
+        new Reader().decode(visitor);
+    }
+
+    // 0 when unchanged, else 1 followed by the zig-zag varint of the change.
+    private void writeChange(long change) {
+        if (change == 0) {
+            writeBits(0, 1);
+            return;
+        }
+        writeBits(1, 1);
+        long zigzag = (change << 1) ^ (change >> 63);
+        while (true) {
+            long group = zigzag & 0x7F;
+            zigzag >>>= 7;
+            writeBits(zigzag == 0 ? group : group | 0x80, 8);
+            if (zigzag == 0) return;
+        }
+    }
+
+    // 0: same price. 10: XOR fits the previous leading/trailing-zero window. 11: new window.
+    private void writePrice(long priceBits) {
+        long xor = priceBits ^ lastPriceBits;
+        lastPriceBits = priceBits;
+        if (xor == 0) {
+            writeBits(0, 1);
+            return;
+        }
+        int leading = Math.min(Long.numberOfLeadingZeros(xor), 31);
+        int trailing = Long.numberOfTrailingZeros(xor);
+        if (lastLeading >= 0 && leading >= lastLeading && trailing >= lastTrailing) {
+            writeBits(0b10, 2);
+            writeBits(xor >>> lastTrailing, 64 - lastLeading - lastTrailing);
+            return;
+        }
+        int meaningful = 64 - leading - trailing;
+        writeBits(0b11, 2);
+        writeBits(leading, 5);
+        writeBits(meaningful - 1, 6);
+        writeBits(xor >>> trailing, meaningful);
+        lastLeading = leading;
+        lastTrailing = trailing;
+    }
+
+    private void writeBits(long value, int n) {
+        if (n < 64) value &= (1L << n) - 1;
+        int word = (int) (bits >>> 6);
+        int offset = (int) (bits & 63);
+        if (word + 1 >= words.length) {
+            words = Arrays.copyOf(words, words.length * 2);
+        }
+        // Bits fill each word from its most significant end.
+        int free = 64 - offset;
+        if (n <= free) {
+            words[word] |= value << (free - n);
+        } else {
+            words[word] |= value >>> (n - free);
+            words[word + 1] |= value << (64 - (n - free));
+        }
+        bits += n;
+    }
+
+    private final class Reader {
+        private long position;
+
+        void decode(PointVisitor visitor) {
+            long timestamp = readBits(64);
+            int quantity = (int) readBits(32);
+            long priceBits = readBits(64);
+            long delta = 0;
+            int leading = 0;
+            int trailing = 0;
+            for (int i = 0; ; i++) {
+                if (!visitor.visit(timestamp, quantity, Double.longBitsToDouble(priceBits))) return;
+                if (i + 1 >= count) return;
+                delta += readChange();
+                timestamp += delta;
+                quantity += (int) readChange();
+                if (readBits(1) == 1) {
+                    if (readBits(1) == 1) {
+                        leading = (int) readBits(5);
+                        trailing = 64 - leading - ((int) readBits(6) + 1);
+                    }
+                    priceBits ^= readBits(64 - leading - trailing) << trailing;
+                }
+            }
+        }
+
+        private long readChange() {
+            if (readBits(1) == 0) return 0;
+            long zigzag = 0;
+            for (int shift = 0; ; shift += 7) {
+                long group = readBits(8);
+                zigzag |= (group & 0x7F) << shift;
+                if ((group & 0x80) == 0) break;
+            }
+            return (zigzag >>> 1) ^ -(zigzag & 1);
+        }
+
+        private long readBits(int n) {
+            int word = (int) (position >>> 6);
+            int offset = (int) (position & 63);
+            position += n;
+            int available = 64 - offset;
+            long value;
+            if (n <= available) {
+                value = words[word] >>> (available - n);
+            } else {
+                value = (words[word] << (n - available)) | (words[word + 1] >>> (64 - (n - available)));
+            }
+            return n == 64 ? value : value & ((1L << n) - 1);
+        }
+    }
+}
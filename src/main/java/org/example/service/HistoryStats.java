@@ -0,0 +1,30 @@
+package org.example.service;
+
+public class HistoryStats {
+    private final int skus;
+    private final long points;
+    private final long chunks;
+    private final long compressedBytes;
+
+    public HistoryStats(int skus, long points, long chunks, long compressedBytes) {
+        this.skus = skus;
+        this.points = points;
+        this.chunks = chunks;
+        this.compressedBytes = compressedBytes;
+    }
+
+    public int getSkus() { return skus; }
+    public long getPoints() { return points; }
+    public long getChunks() { return chunks; }
+    public long getCompressedBytes() { return compressedBytes; }
+
+    public double getBytesPerPoint() {
+        return points == 0 ? 0 : (double) compressedBytes / points;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("skus=%d, points=%d, chunks=%d, compressed=%d bytes (%.2f B/point)",
+                skus, points, chunks, compressedBytes, getBytesPerPoint());
+    }
+}
@@ -0,0 +1,161 @@
+package org.example.service;
+
+import org.example.dao.ProductDAO;
+import org.example.model.Product;
+import org.example.util.StringDictionary;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
+
+/**
+ * Group-by over products with count, sum, min and max of quantity and of value, for any mix of
+ * category, supplier and manufacturing month. Input streams run in parallel: each split fills
+ * its own open-addressing table of primitive accumulators, keyed by the dimension codes packed
+ * into one long, and the tables are merged pairwise. Adding a row never allocates.
+ */
+public final class InventoryAggregator {
+
+    public enum Dimension { CATEGORY, SUPPLIER, MONTH }
+
+    private static final Comparator<GroupAggregate> ORDER = Comparator
+            .comparing(GroupAggregate::getCategory, Comparator.nullsFirst(Comparator.naturalOrder()))
+            .thenComparing(GroupAggregate::getSupplier, Comparator.nullsFirst(Comparator.naturalOrder()))
+            .thenComparing(GroupAggregate::getMonth, Comparator.nullsFirst(Comparator.naturalOrder()));
+
+    private InventoryAggregator() {
+    }
+
+    public static List<GroupAggregate> aggregate(InventoryManager manager, Dimension... groupBy) {
+        return aggregate(manager.streamProducts(), groupBy);
+    }
+
+    public static List<GroupAggregate> aggregate(ProductDAO dao, Dimension... groupBy) {
+        return aggregate(dao.streamProducts(), groupBy);
+    }
+
+    /**
+     * Groups are ordered by category, supplier, then month. With no dimensions the result is a
+     * single group covering every product, or empty if there are none.
+     */
+    public static List<GroupAggregate> aggregate(Stream<Product> products, Dimension... groupBy) {
+        Set<Dimension> dimensions = groupBy.length == 0 ? EnumSet.noneOf(Dimension.class) : EnumSet.copyOf(Arrays.asList(groupBy));
+        boolean byCategory = dimensions.contains(Dimension.CATEGORY);
+        boolean bySupplier = dimensions.contains(Dimension.SUPPLIER);
+        boolean byMonth = dimensions.contains(Dimension.MONTH);
+        GroupTable table = products.parallel().collect(
+                GroupTable::new,
+                (t, p) -> t.add(key(p, byCategory, bySupplier, byMonth), p.getQuantity(), InventoryIndex.toCents(p.getPrice()) * p.getQuantity()),
+                GroupTable::merge);
+        return table.toAggregates(byCategory, bySupplier, byMonth);
+    }
+
+    // 21 bits per dimension: dictionary codes shifted past NULL_CODE, and months since year 0.
+    private static long key(Product p, boolean byCategory, boolean bySupplier, boolean byMonth) {
+        long key = 0;
+        if (byCategory) key |= (long) (p.getCategoryCode() + 1) << 42;
+        if (bySupplier) key |= (long) (p.getSupplierCode() + 1) << 21;
+        if (byMonth) key |= p.getLastUpdated().getYear() * 12L + p.getLastUpdated().getMonthValue() - 1;
+        return key;
+    }
+
+    // One 8-long stride per group, so updating a group touches one cache line instead of eight arrays.
+    private static final class GroupTable {
+        private static final int FIELD_MASK = (1 << 21) - 1;
+        private static final int STRIDE = 8;
+        private static final int KEY = 0, COUNT = 1, QUANTITY = 2, MIN_QUANTITY = 3, MAX_QUANTITY = 4, VALUE = 5, MIN_VALUE = 6, MAX_VALUE = 7;
+
+        private long[] slots = new long[64 * STRIDE];
+        private int size;
+
+        void add(long key, int quantity, long valueCents) {
+            long[] t = slots;
+            int at = slotFor(key);
+            if (t[at + COUNT] == 0) {
+                t[at + KEY] = key;
+                t[at + MIN_QUANTITY] = quantity;
+                t[at + MAX_QUANTITY] = quantity;
+                t[at + MIN_VALUE] = valueCents;
+                t[at + MAX_VALUE] = valueCents;
+            } else {
+                t[at + MIN_QUANTITY] = Math.min(t[at + MIN_QUANTITY], quantity);
+                t[at + MAX_QUANTITY] = Math.max(t[at + MAX_QUANTITY], quantity);
+                t[at + MIN_VALUE] = Math.min(t[at + MIN_VALUE], valueCents);
+                t[at + MAX_VALUE] = Math.max(t[at + MAX_VALUE], valueCents);
+            }
+            t[at + QUANTITY] += quantity;
+            t[at + VALUE] += valueCents;
+            if (++t[at + COUNT] == 1 && ++size * 2 > capacity()) grow();
+        }
+
+        void merge(GroupTable other) {
+            long[] o = other.slots;
+            for (int from = 0; from < o.length; from += STRIDE) {
+                if (o[from + COUNT] == 0) continue;
+                int at = slotFor(o[from + KEY]);
+                long[] t = slots;
+                if (t[at + COUNT] == 0) {
+                    System.arraycopy(o, from, t, at, STRIDE);
+                    if (++size * 2 > capacity()) grow();
+                    continue;
+                }
+                t[at + COUNT] += o[from + COUNT];
+                t[at + QUANTITY] += o[from + QUANTITY];
+                t[at + MIN_QUANTITY] = Math.min(t[at + MIN_QUANTITY], o[from + MIN_QUANTITY]);
+                t[at + MAX_QUANTITY] = Math.max(t[at + MAX_QUANTITY], o[from + MAX_QUANTITY]);
+                t[at + VALUE] += o[from + VALUE];
+                t[at + MIN_VALUE] = Math.min(t[at + MIN_VALUE], o[from + MIN_VALUE]);
+                t[at + MAX_VALUE] = Math.max(t[at + MAX_VALUE], o[from + MAX_VALUE]);
+            }
+        }
+
+        List<GroupAggregate> toAggregates(boolean byCategory, boolean bySupplier, boolean byMonth) {
+            List<GroupAggregate> result = new ArrayList<>(size);
+            long[] t = slots;
+            for (int at = 0; at < t.length; at += STRIDE) {
+                if (t[at + COUNT] == 0) continue;
+                long key = t[at + KEY];
+                String category = byCategory ? StringDictionary.CATEGORIES.decode((int) (key >>> 42) - 1) : null;
+                String supplier = bySupplier ? StringDictionary.SUPPLIERS.decode((int) ((key >>> 21) & FIELD_MASK) - 1) : null;
+                YearMonth month = null;
+                if (byMonth) {
+                    int months = (int) (key & FIELD_MASK);
+                    month = YearMonth.of(months / 12, months % 12 + 1);
+                }
+                result.add(new GroupAggregate(category, supplier, month, t[at + COUNT], t[at + QUANTITY], (int) t[at + MIN_QUANTITY],
+                        (int) t[at + MAX_QUANTITY], t[at + VALUE], t[at + MIN_VALUE], t[at + MAX_VALUE]));
+            }
+            result.sort(ORDER);
+            return result;
+        }
+
+        private int capacity() {
+            return slots.length / STRIDE;
+        }
+
+        // Linear probing; returns the offset of the key's stride, or of the empty one (zero count) it would take.
+        private int slotFor(long key) {
+            int mask = capacity() - 1;
+            // Packed keys differ mostly in a few bit ranges; a full 64-bit finalizer keeps probe runs short.
+            long h = (key ^ (key >>> 33)) * 0xFF51AFD7ED558CCDL;
+            h = (h ^ (h >>> 33)) * 0xC4CEB9FE1A85EC53L;
+            int slot = (int) (h ^ (h >>> 33)) & mask;
+            while (slots[slot * STRIDE + COUNT] != 0 && slots[slot * STRIDE + KEY] != key) {
+                slot = (slot + 1) & mask;
+            }
+            return slot * STRIDE;
+        }
+
+        private void grow() {
+            GroupTable bigger = new GroupTable();
+            bigger.slots = new long[slots.length * 2];
+            bigger.merge(this);
+            slots = bigger.slots;
+            size = bigger.size;
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package org.example.service;
+
+import org.example.model.Product;
+
+/**
+ * Receives every successful mutation made through an {@link InventoryManager}, after it has
+ * been applied to the in-memory inventory. A write-ahead log also hears of each change before
+ * it is applied, through {@link #beforeChange}.
+ */
+public interface InventoryChangeListener extends AutoCloseable {
+
+    void onAdd(Product product);
+
+    void onUpdate(Product product);
+
+    void onRemove(String id);
+
+    /**
+     * Called with every mutation's before and after values, just before the matching
+     * onAdd/onUpdate/onRemove. Quantities and prices of absent sides are zero.
+     */
+    default void onChange(InventoryEvent.Type type, String id, double oldPrice, int oldQuantity, double newPrice, int newQuantity) {
+    }
+
+    /**
+     * Called under the product's lock before a change is applied, with the product as it will
+     * be stored ({@code null} for a removal). A write-ahead log appends its record here.
+     * Throwing refuses the change: nothing is applied and no listener hears of it. Only one
+     * listener, the log, should record anything here, since a later one may still refuse.
+     */
+    default void beforeChange(InventoryEvent.Type type, String id, Product next) {
+    }
+
+    /**
+     * Called on the mutating thread once a change, or a whole batch, has been applied and its
+     * locks released, just before the mutating call returns. A write-ahead log waits here until
+     * the records appended in beforeChange are durable.
+     */
+    default void afterChange() {
+    }
+
+    /**
+     * Called before the changes of a multi-product operation, such as an
+     * {@link InventoryManager#applyBatch} batch, are prepared, on the applying thread. Until
+     * {@link #onBatchPrepared}, the beforeChange calls from that thread may be buffered, and
+     * until {@link #onBatchEnd}, so may the onAdd/onUpdate/onRemove calls.
+     */
+    default void onBatchStart() {
+    }
+
+    /**
+     * Called once beforeChange has seen every change of the batch and before any is applied; a
+     * write-ahead log appends the whole batch here. Throwing refuses the whole batch.
+     */
+    default void onBatchPrepared() {
+    }
+
+    /**
+     * Called once after a batch's last change, still under the batch's locks, and also when the
+     * batch was refused; a persisting listener writes the whole batch out here.
+     */
+    default void onBatchEnd() {
+    }
+
+    /**
+     * Called once when the listener is registered with a manager.
+     */
+    default void attach(InventoryManager manager) {
+    }
+
+    @Override
+    default void close() {
+    }
+}
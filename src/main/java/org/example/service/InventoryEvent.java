@@ -0,0 +1,50 @@
+package org.example.service;
+
+/**
+ * One inventory change as delivered by an {@link InventoryEventBus}: the product's price and
+ * quantity before and after the change. An ADD has zero before-values and a REMOVE zero
+ * after-values. Instances are ring-buffer slots that the bus reuses, so a handler must copy
+ * anything it wants to keep past its {@code onEvent} call.
+ */
+public final class InventoryEvent {
+
+    public enum Type { ADD, UPDATE, REMOVE }
+
+    private Type type;
+    private String productId;
+    private double oldPrice;
+    private int oldQuantity;
+    private double newPrice;
+    private int newQuantity;
+    private long sequence;
+
+    InventoryEvent() {
+    }
+
+    void set(long sequence, Type type, String productId, double oldPrice, int oldQuantity, double newPrice, int newQuantity) {
+        this.sequence = sequence;
+        this.type = type;
+        this.productId = productId;
+        this.oldPrice = oldPrice;
+        this.oldQuantity = oldQuantity;
+        this.newPrice = newPrice;
+        this.newQuantity = newQuantity;
+    }
+
+    public Type getType() { return type; }
+    public String getProductId() { return productId; }
+    public double getOldPrice() { return oldPrice; }
+    public int getOldQuantity() { return oldQuantity; }
+    public double getNewPrice() { return newPrice; }
+    public int getNewQuantity() { return newQuantity; }
+    public long getSequence() { return sequence; }
+
+    public int getQuantityDelta() {
+        return newQuantity - oldQuantity;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("#%d %s %s: %d @ %.2f -> %d @ %.2f", sequence, type, productId, oldQuantity, oldPrice, newQuantity, newPrice);
+    }
+}
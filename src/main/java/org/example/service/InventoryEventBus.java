@@ -0,0 +1,287 @@
+package org.example.service;
+
+import org.example.model.Product;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Fans inventory changes out to independent consumers through a preallocated ring buffer.
+ * Producers (the manager's writers, under their stripe locks) claim a sequence number, fill the
+ * slot it maps to and mark it published; nothing is allocated per event and producers never
+ * wait for a consumer unless the ring is full. Each handler runs on its own thread, keeps its own
+ * sequence and processes everything published since its last pass as one batch, so a slow
+ * consumer only delays itself until it falls a whole ring behind.
+ * <p>
+ * Register the bus as a listener of an {@link InventoryManager}; {@link #close()} (called by
+ * {@link InventoryManager#shutdown()}) lets the consumers drain and stops them. Events published
+ * after that are counted and dropped rather than failing the write that produced them.
+ * <p>
+ * The manager publishes while holding the changed product's stripe lock, and a producer that
+ * finds the ring full yields under that lock until the slowest consumer catches up. Handlers
+ * must therefore not call the manager's mutating methods: one that waits on a stripe held by a
+ * blocked producer never catches up, and the two stall each other.
+ */
+public class InventoryEventBus implements InventoryChangeListener {
+
+    /**
+     * How an idle consumer waits for the next event, trading CPU for latency.
+     */
+    public enum WaitStrategy {
+        /** Spins on the CPU; lowest latency, burns a core per consumer. */
+        BUSY_SPIN,
+        /** Spins briefly, then yields the core between checks. */
+        YIELDING,
+        /** Spins, yields, then parks for short intervals; near-zero idle CPU. */
+        SLEEPING,
+        /** Parks on a condition that producers signal; lowest CPU, highest latency. */
+        BLOCKING
+    }
+
+    private static final int SPIN_TRIES = 100;
+    private static final int YIELD_TRIES = 100;
+    private static final long SLEEP_NANOS = TimeUnit.MICROSECONDS.toNanos(100);
+    private static final long DRAIN_TIMEOUT_MILLIS = 5_000;
+
+    private final InventoryEvent[] ring;
+    private final int mask;
+    private final int indexShift;
+    // Round number (sequence / capacity) of the last event published into each slot.
+    private final AtomicIntegerArray published;
+    private final AtomicLong claimed = new AtomicLong(-1);
+    private final WaitStrategy waitStrategy;
+    private final List<Consumer> consumers = new ArrayList<>();
+    private volatile long gatingCache = -1;
+    private volatile boolean closed;
+
+    private final ReentrantLock blockingLock = new ReentrantLock();
+    private final Condition eventPublished = blockingLock.newCondition();
+    private final AtomicLong blockedConsumers = new AtomicLong();
+
+    private final LongAdder producerWaits = new LongAdder();
+    private final LongAdder batches = new LongAdder();
+    private final LongAdder eventsHandled = new LongAdder();
+    private final LongAdder handlerFailures = new LongAdder();
+    private final LongAdder droppedAfterClose = new LongAdder();
+
+    public InventoryEventBus(int capacity, WaitStrategy waitStrategy, InventoryEventHandler... handlers) {
+        if (capacity <= 0 || Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException("Capacity must be a positive power of two.");
+        }
+        if (handlers.length == 0) {
+            throw new IllegalArgumentException("At least one handler is required.");
+        }
+        this.ring = new InventoryEvent[capacity];
+        for (int i = 0; i < capacity; i++) {
+            ring[i] = new InventoryEvent();
+        }
+        this.mask = capacity - 1;
+        this.indexShift = Integer.numberOfTrailingZeros(capacity);
+        this.published = new AtomicIntegerArray(capacity);
+        for (int i = 0; i < capacity; i++) {
+            published.set(i, -1);
+        }
+        this.waitStrategy = waitStrategy;
+        for (int i = 0; i < handlers.length; i++) {
+            consumers.add(new Consumer(handlers[i], "inventory-event-consumer-" + i));
+        }
+        consumers.forEach(c -> c.thread.start());
+    }
+
+    @Override
+    public void onAdd(Product product) {
+    }
+
+    @Override
+    public void onUpdate(Product product) {
+    }
+
+    @Override
+    public void onRemove(String id) {
+    }
+
+    @Override
+    public void onChange(InventoryEvent.Type type, String id, double oldPrice, int oldQuantity, double newPrice, int newQuantity) {
+        publish(type, id, oldPrice, oldQuantity, newPrice, newQuantity);
+    }
+
+    /**
+     * Publishes one event, waiting only if the slowest consumer is a full ring behind. Once the
+     * bus is closed the event is dropped and counted in {@link EventBusStats#getDroppedAfterClose()}.
+     */
+    public void publish(InventoryEvent.Type type, String id, double oldPrice, int oldQuantity, double newPrice, int newQuantity) {
+        if (closed) {
+            droppedAfterClose.increment();
+            return;
+        }
+        long sequence = claimed.incrementAndGet();
+        if (!awaitCapacity(sequence)) {
+            droppedAfterClose.increment();
+            return;
+        }
+        ring[(int) sequence & mask].set(sequence, type, id, oldPrice, oldQuantity, newPrice, newQuantity);
+        if (waitStrategy != WaitStrategy.BLOCKING) {
+            published.lazySet((int) sequence & mask, (int) (sequence >>> indexShift));
+            return;
+        }
+        // A full volatile store, so the read of blockedConsumers cannot move ahead of it: either a
+        // consumer registering in awaitSignal sees this event, or we see the consumer and wake it.
+        published.set((int) sequence & mask, (int) (sequence >>> indexShift));
+        if (blockedConsumers.get() > 0) {
+            blockingLock.lock();
+            try {
+                eventPublished.signalAll();
+            } finally {
+                blockingLock.unlock();
+            }
+        }
+    }
+
+    public EventBusStats getStats() {
+        long head = claimed.get();
+        return new EventBusStats(ring.length, head + 1, head - minConsumerSequence(), producerWaits.sum(),
+                batches.sum(), eventsHandled.sum(), handlerFailures.sum(), droppedAfterClose.sum());
+    }
+
+    /**
+     * Stops accepting events, waits up to five seconds for every consumer to catch up and
+     * stops the consumer threads.
+     */
+    @Override
+    public void close() {
+        if (closed) return;
+        closed = true;
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(DRAIN_TIMEOUT_MILLIS);
+        while (minConsumerSequence() < claimed.get() && System.nanoTime() < deadline) {
+            LockSupport.parkNanos(SLEEP_NANOS);
+        }
+        for (Consumer consumer : consumers) {
+            consumer.running = false;
+            consumer.thread.interrupt();
+        }
+        for (Consumer consumer : consumers) {
+            try {
+                consumer.thread.join(DRAIN_TIMEOUT_MILLIS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    // The slot for sequence is free once every consumer has moved past the event a ring earlier.
+    // Returns false if the bus closes first, since stopped consumers will never free it.
+    private boolean awaitCapacity(long sequence) {
+        long wrapPoint = sequence - ring.length;
+        if (wrapPoint <= gatingCache) return true;
+        boolean waited = false;
+        long gating;
+        while (wrapPoint > (gating = minConsumerSequence())) {
+            if (closed) return false;
+            waited = true;
+            Thread.yield();
+        }
+        gatingCache = gating;
+        if (waited) producerWaits.increment();
+        return true;
+    }
+
+    private long minConsumerSequence() {
+        long min = Long.MAX_VALUE;
+        for (int i = 0; i < consumers.size(); i++) {
+            min = Math.min(min, consumers.get(i).sequence.get());
+        }
+        return min;
+    }
+
+    private boolean isPublished(long sequence) {
+        return published.get((int) sequence & mask) == (int) (sequence >>> indexShift);
+    }
+
+    private final class Consumer implements Runnable {
+        final InventoryEventHandler handler;
+        final AtomicLong sequence = new AtomicLong(-1);
+        final Thread thread;
+        volatile boolean running = true;
+
+        Consumer(InventoryEventHandler handler, String name) {
+            this.handler = handler;
+            this.thread = new Thread(this, name);
+            this.thread.setDaemon(true);
+        }
+
+        @Override
+        public void run() {
+            long next = 0;
+            while (running) {
+                long last = waitFor(next);
+                if (last < next) continue;
+                for (long s = next; s <= last; s++) {
+                    try {
+                        handler.onEvent(ring[(int) s & mask], s == last);
+                    } catch (Exception e) {
+                        handlerFailures.increment();
+                        System.err.println("❌ Inventory event handler failed on event " + s + ": " + e.getMessage());
+                    }
+                }
+                batches.increment();
+                eventsHandled.add(last - next + 1);
+                sequence.lazySet(last);
+                next = last + 1;
+            }
+        }
+
+        // Returns the highest contiguously published sequence from next on, or next - 1 if none yet.
+        private long waitFor(long next) {
+            int tries = 0;
+            while (!isPublished(next)) {
+                if (!running) return next - 1;
+                switch (waitStrategy) {
+                    case BUSY_SPIN:
+                        Thread.onSpinWait();
+                        break;
+                    case YIELDING:
+                        if (tries++ < SPIN_TRIES) Thread.onSpinWait();
+                        else Thread.yield();
+                        break;
+                    case SLEEPING:
+                        if (tries < SPIN_TRIES) Thread.onSpinWait();
+                        else if (tries < SPIN_TRIES + YIELD_TRIES) Thread.yield();
+                        else LockSupport.parkNanos(SLEEP_NANOS);
+                        tries++;
+                        break;
+                    default:
+                        awaitSignal(next);
+                }
+            }
+            long last = next;
+            long head = claimed.get();
+            while (last < head && isPublished(last + 1)) {
+                last++;
+            }
+            return last;
+        }
+
+        private void awaitSignal(long next) {
+            blockingLock.lock();
+            blockedConsumers.incrementAndGet();
+            try {
+                // Re-check under the lock: a producer that published before we registered saw no waiters.
+                if (!isPublished(next) && running) {
+                    eventPublished.await(1, TimeUnit.MILLISECONDS);
+                }
+            } catch (InterruptedException e) {
+                // close() interrupts to wake us; the running flag decides whether to stop.
+            } finally {
+                blockedConsumers.decrementAndGet();
+                blockingLock.unlock();
+            }
+        }
+    }
+}
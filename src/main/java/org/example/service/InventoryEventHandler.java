@@ -0,0 +1,15 @@
+package org.example.service;
+
+/**
+ * Consumer of an {@link InventoryEventBus}. Each handler runs on its own thread and sees every
+ * event in publication order. Handlers must not call back into the manager's mutating methods;
+ * see the bus for why.
+ */
+public interface InventoryEventHandler {
+
+    /**
+     * {@code endOfBatch} is true for the last event currently available, so handlers that
+     * buffer work (e.g. database writes) know when to flush.
+     */
+    void onEvent(InventoryEvent event, boolean endOfBatch) throws Exception;
+}
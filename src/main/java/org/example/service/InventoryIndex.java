@@ -0,0 +1,250 @@
+package org.example.service;
+
+import org.example.model.Product;
+import org.example.util.StringDictionary;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.stream.Collectors;
+
+/**
+ * Secondary indexes over the product IDs held by an {@link InventoryManager}: hash indexes on
+ * the category and supplier dictionary codes, and sorted indexes on quantity and on price in cents. The manager
+ * updates them under the product's stripe lock; readers see a weakly consistent view.
+ * <p>
+ * The quantity index and a skip list on stock value (price in cents x quantity) back the
+ * lowest-stock and most-valuable views; both are fully ordered, so any K is read off one end
+ * in O(K). Velocity is units sold with exponential decay (mean lifetime
+ * {@link #VELOCITY_LIFETIME_MILLIS}), kept as a forward-decayed score in log space: a sale at
+ * time t adds {@code units * e^(t / lifetime)}, which ranks SKUs exactly as decayed rates would
+ * without re-scoring the ones that did not sell. Since scores only grow, the fastest-moving view
+ * keeps just the top {@code fastestCapacity} SKUs, and a sale scoring below the lowest of them
+ * touches nothing but its own score.
+ */
+final class InventoryIndex {
+
+    private final Map<Integer, Set<String>> byCategory = new ConcurrentHashMap<>();
+    private final Map<Integer, Set<String>> bySupplier = new ConcurrentHashMap<>();
+    private final NavigableSet<Key> byQuantity = new ConcurrentSkipListSet<>();
+    private final NavigableSet<Key> byPriceCents = new ConcurrentSkipListSet<>();
+    private final NavigableSet<Key> byStockValueCents = new ConcurrentSkipListSet<>();
+    private final Map<String, Double> logVelocity = new ConcurrentHashMap<>();
+    // Non-negative doubles keep their order as raw long bits, so log scores share the Key type.
+    private final NavigableSet<Key> fastest = new ConcurrentSkipListSet<>();
+    private final int fastestCapacity;
+    private int fastestSize;
+    private volatile double fastestFloor = -1;
+    private volatile boolean fastestIncomplete;
+    private final long epochMillis = System.currentTimeMillis();
+
+    static final long VELOCITY_LIFETIME_MILLIS = 7 * 86_400_000L;
+
+    InventoryIndex(int fastestCapacity) {
+        this.fastestCapacity = fastestCapacity;
+    }
+
+    void add(Product p) {
+        link(byCategory, p.getCategoryCode(), p.getId());
+        link(bySupplier, p.getSupplierCode(), p.getId());
+        byQuantity.add(new Key(p.getQuantity(), p.getId()));
+        byPriceCents.add(new Key(toCents(p.getPrice()), p.getId()));
+        byStockValueCents.add(new Key(toCents(p.getPrice()) * p.getQuantity(), p.getId()));
+    }
+
+    void remove(Product p) {
+        unlink(byCategory, p.getCategoryCode(), p.getId());
+        unlink(bySupplier, p.getSupplierCode(), p.getId());
+        byQuantity.remove(new Key(p.getQuantity(), p.getId()));
+        byPriceCents.remove(new Key(toCents(p.getPrice()), p.getId()));
+        byStockValueCents.remove(new Key(toCents(p.getPrice()) * p.getQuantity(), p.getId()));
+        Double score = logVelocity.remove(p.getId());
+        if (score != null && score >= fastestFloor) {
+            synchronized (fastest) {
+                if (fastest.remove(new Key(Double.doubleToRawLongBits(score), p.getId()))) {
+                    // The next SKU in line may not sell again soon; rebuild from the scores on the next read.
+                    fastestSize--;
+                    fastestFloor = -1;
+                    fastestIncomplete = true;
+                }
+            }
+        }
+    }
+
+    void move(String id, double oldPrice, int oldQuantity, double newPrice, int newQuantity) {
+        if (oldQuantity != newQuantity) {
+            byQuantity.remove(new Key(oldQuantity, id));
+            byQuantity.add(new Key(newQuantity, id));
+        }
+        long oldCents = toCents(oldPrice);
+        long newCents = toCents(newPrice);
+        if (oldCents != newCents) {
+            byPriceCents.remove(new Key(oldCents, id));
+            byPriceCents.add(new Key(newCents, id));
+        }
+        long oldValue = oldCents * oldQuantity;
+        long newValue = newCents * newQuantity;
+        if (oldValue != newValue) {
+            byStockValueCents.remove(new Key(oldValue, id));
+            byStockValueCents.add(new Key(newValue, id));
+        }
+    }
+
+    void recordSale(String id, int units, long nowMillis) {
+        double added = Math.log(units) + (double) (nowMillis - epochMillis) / VELOCITY_LIFETIME_MILLIS;
+        Double old = logVelocity.get(id);
+        double score = old == null ? added : logAddExp(old, added);
+        // Sales before the index existed (a skewed clock) would score below zero and sort wrongly.
+        score = Math.max(score, 0);
+        logVelocity.put(id, score);
+        if (score > fastestFloor) {
+            synchronized (fastest) {
+                if (old != null && fastest.remove(new Key(Double.doubleToRawLongBits(old), id))) fastestSize--;
+                offerFastest(id, score);
+            }
+        }
+    }
+
+    /**
+     * Decayed sales rate in units per day: recent sales count fully, older ones fade out.
+     */
+    double salesPerDay(String id, long nowMillis) {
+        Double score = logVelocity.get(id);
+        if (score == null) return 0;
+        double units = Math.exp(score - (double) (nowMillis - epochMillis) / VELOCITY_LIFETIME_MILLIS);
+        return units * 86_400_000.0 / VELOCITY_LIFETIME_MILLIS;
+    }
+
+    List<String> lowestQuantity(int k) {
+        return head(byQuantity, k);
+    }
+
+    List<String> highestStockValue(int k) {
+        return head(byStockValueCents.descendingSet(), k);
+    }
+
+    /** At most {@code fastestCapacity} IDs, however large k is. */
+    List<String> fastestMoving(int k) {
+        if (fastestIncomplete) {
+            synchronized (fastest) {
+                if (fastestIncomplete) {
+                    fastest.clear();
+                    fastestSize = 0;
+                    fastestFloor = -1;
+                    logVelocity.forEach(this::offerFastest);
+                    fastestIncomplete = false;
+                }
+            }
+        }
+        return head(fastest.descendingSet(), k);
+    }
+
+    // Caller holds the fastest lock.
+    private void offerFastest(String id, double score) {
+        if (fastestCapacity == 0) return;
+        fastest.add(new Key(Double.doubleToRawLongBits(score), id));
+        if (++fastestSize > fastestCapacity) {
+            fastest.pollFirst();
+            fastestSize--;
+        }
+        if (fastestSize == fastestCapacity) {
+            fastestFloor = Double.longBitsToDouble(fastest.first().value);
+        }
+    }
+
+    Set<String> idsInCategory(String category) {
+        return byCategory.getOrDefault(StringDictionary.CATEGORIES.codeOf(category), Collections.emptySet());
+    }
+
+    Set<String> idsFromSupplier(String supplier) {
+        return bySupplier.getOrDefault(StringDictionary.SUPPLIERS.codeOf(supplier), Collections.emptySet());
+    }
+
+    /**
+     * IDs with {@code min <= quantity <= max}, in ascending quantity order.
+     */
+    List<String> idsByQuantity(long min, long max) {
+        return range(byQuantity, min, max);
+    }
+
+    /**
+     * IDs with {@code minCents <= price <= maxCents}, in ascending price order.
+     */
+    List<String> idsByPriceCents(long minCents, long maxCents) {
+        return range(byPriceCents, minCents, maxCents);
+    }
+
+    static long toCents(double price) {
+        return Math.round(price * 100);
+    }
+
+    private static List<String> range(NavigableSet<Key> index, long min, long max) {
+        if (min > max) return List.of();
+        NavigableSet<Key> slice = max == Long.MAX_VALUE
+                ? index.tailSet(new Key(min, ""), true)
+                : index.subSet(new Key(min, ""), true, new Key(max + 1, ""), false);
+        return slice.stream().map(k -> k.id).collect(Collectors.toList());
+    }
+
+    // A product moving concurrently can show up at its old and new position; keep its first.
+    private static List<String> head(NavigableSet<Key> index, int k) {
+        LinkedHashSet<String> ids = new LinkedHashSet<>();
+        for (Key key : index) {
+            if (ids.size() >= k) break;
+            ids.add(key.id);
+        }
+        return new ArrayList<>(ids);
+    }
+
+    private static double logAddExp(double a, double b) {
+        double max = Math.max(a, b);
+        return max + Math.log1p(Math.exp(Math.min(a, b) - max));
+    }
+
+    // compute() runs atomically per key, so an add can never land in a set that is being dropped.
+    private static void link(Map<Integer, Set<String>> index, int code, String id) {
+        index.compute(code, (k, ids) -> {
+            Set<String> set = ids == null ? ConcurrentHashMap.newKeySet() : ids;
+            set.add(id);
+            return set;
+        });
+    }
+
+    private static void unlink(Map<Integer, Set<String>> index, int code, String id) {
+        index.computeIfPresent(code, (k, ids) -> {
+            ids.remove(id);
+            return ids.isEmpty() ? null : ids;
+        });
+    }
+
+    private static final class Key implements Comparable<Key> {
+        final long value;
+        final String id;
+
+        Key(long value, String id) {
+            this.value = value;
+            this.id = id;
+        }
+
+        @Override
+        public int compareTo(Key other) {
+            int byValue = Long.compare(value, other.value);
+            return byValue != 0 ? byValue : id.compareTo(other.id);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Key && compareTo((Key) o) == 0;
+        }
+
+        @Override
+        public int hashCode() {
+            return Long.hashCode(value) * 31 + id.hashCode();
+        }
+    }
+}
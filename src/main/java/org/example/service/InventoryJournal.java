@@ -0,0 +1,522 @@
+package org.example.service;
+
+import org.example.model.Product;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+/**
+ * Binary write-ahead log for {@link InventoryManager}. Every mutation is encoded and appended as
+ * a checksummed frame before the manager applies it, in {@link #beforeChange}; if the append
+ * fails, the mutation is refused and memory is left as it was. The mutating call then waits in
+ * {@link #afterChange}, after releasing its locks, until the frame is durable, so an fsync never
+ * holds up other writers of the same lock stripe. Concurrent appends share one fsync (group
+ * commit). If the fsync itself fails, the waiting call throws even though the change is already
+ * in memory, and every later change is refused. Once the log passes {@code snapshotThresholdBytes}, it rolls over to a new
+ * segment and a background thread writes a snapshot of the inventory, after which older segments
+ * are deleted. On open, the latest snapshot is loaded and the remaining segments are replayed.
+ * The frames of an {@link InventoryManager#applyBatch} batch are collected per thread and
+ * appended together, so the whole batch costs one fsync.
+ */
+public class InventoryJournal implements InventoryChangeListener {
+
+    private static final byte OP_ADD = 1;
+    private static final byte OP_UPDATE = 2;
+    private static final byte OP_REMOVE = 3;
+    private static final int SNAPSHOT_MAGIC = 0x534E4150; // "SNAP"
+    private static final String SNAPSHOT_FILE = "snapshot.bin";
+    private static final Pattern SEGMENT_NAME = Pattern.compile("wal-(\\d{10})\\.log");
+
+    private final Path directory;
+    private final long snapshotThresholdBytes;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition hasWork = lock.newCondition();
+    private final Condition durable = lock.newCondition();
+    private ByteArrayOutputStream pending = new ByteArrayOutputStream();
+    private long appendedSeq;
+    private long durableSeq;
+    private FileChannel segment;
+    private long segmentNumber;
+    private long bytesSinceSnapshot;
+    private boolean snapshotInProgress;
+    private IOException failure;
+    private boolean closed;
+
+    private final Thread syncer;
+    private final ExecutorService snapshotWriter = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "journal-snapshot-writer");
+        t.setDaemon(true);
+        return t;
+    });
+    private InventoryManager manager;
+    private List<Product> recovered;
+
+    private final ThreadLocal<Writer> writers = ThreadLocal.withInitial(Writer::new);
+
+    private final LongAdder recordsAppended = new LongAdder();
+    private final LongAdder groupCommits = new LongAdder();
+    private final LongAdder snapshots = new LongAdder();
+    private long recordsReplayed;
+    private double recoveryMillis;
+
+    public InventoryJournal(Path directory, long snapshotThresholdBytes) {
+        this.directory = directory;
+        this.snapshotThresholdBytes = snapshotThresholdBytes;
+        try {
+            Files.createDirectories(directory);
+            long start = System.nanoTime();
+            recovered = recover();
+            recoveryMillis = (System.nanoTime() - start) / 1e6;
+            segment = openSegment(segmentNumber);
+        } catch (IOException e) {
+            throw new UncheckedIOException("❌ Could not open inventory journal in " + directory, e);
+        }
+        syncer = new Thread(this::runSyncer, "journal-syncer");
+        syncer.setDaemon(true);
+        syncer.start();
+    }
+
+    /**
+     * Restores the recovered state into the manager and uses it as the source for later snapshots.
+     */
+    @Override
+    public void attach(InventoryManager manager) {
+        this.manager = manager;
+        if (recovered != null) {
+            manager.restore(recovered);
+            recovered = null;
+        }
+    }
+
+    @Override
+    public void beforeChange(InventoryEvent.Type type, String id, Product next) {
+        byte[] frame;
+        switch (type) {
+            case ADD:
+                frame = encode(OP_ADD, out -> writeProduct(out, next));
+                break;
+            case UPDATE:
+                frame = encode(OP_UPDATE, out -> {
+                    out.writeUTF(id);
+                    out.writeDouble(next.getPrice());
+                    out.writeInt(next.getQuantity());
+                });
+                break;
+            default:
+                frame = encode(OP_REMOVE, out -> out.writeUTF(id));
+                break;
+        }
+        Writer writer = writers.get();
+        if (writer.batching) {
+            writer.frames.write(frame, 0, frame.length);
+            writer.records++;
+        } else {
+            writer.awaitedSeq = append(frame, 1);
+        }
+    }
+
+    @Override
+    public void afterChange() {
+        Writer writer = writers.get();
+        long seq = writer.awaitedSeq;
+        if (seq == 0) return;
+        writer.awaitedSeq = 0;
+        awaitDurable(seq);
+    }
+
+    @Override
+    public void onBatchStart() {
+        writers.get().batching = true;
+    }
+
+    @Override
+    public void onBatchPrepared() {
+        Writer writer = writers.get();
+        writer.batching = false;
+        if (writer.records == 0) return;
+        byte[] frames = writer.frames.toByteArray();
+        int records = writer.records;
+        writer.clear();
+        writer.awaitedSeq = append(frames, records);
+    }
+
+    // Drops whatever a refused batch had buffered.
+    @Override
+    public void onBatchEnd() {
+        Writer writer = writers.get();
+        writer.batching = false;
+        writer.clear();
+    }
+
+    @Override
+    public void onAdd(Product product) {
+    }
+
+    @Override
+    public void onUpdate(Product product) {
+    }
+
+    @Override
+    public void onRemove(String id) {
+    }
+
+    public JournalStats getStats() {
+        lock.lock();
+        try {
+            return new JournalStats(recordsAppended.sum(), groupCommits.sum(), snapshots.sum(), bytesSinceSnapshot,
+                    recordsReplayed, recoveryMillis);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Waits for pending appends and any running snapshot, then releases the log files.
+     */
+    @Override
+    public void close() {
+        lock.lock();
+        try {
+            if (closed) return;
+            closed = true;
+            hasWork.signal();
+        } finally {
+            lock.unlock();
+        }
+        try {
+            syncer.join();
+            snapshotWriter.shutdown();
+            snapshotWriter.awaitTermination(1, TimeUnit.MINUTES);
+            segment.close();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (IOException e) {
+            System.err.println("❌ Error closing inventory journal: " + e.getMessage());
+        }
+    }
+
+    // Queues one or more whole frames for the syncer without waiting and returns the sequence to
+    // wait for. Throws, so the change is refused, if the log is closed or has failed.
+    private long append(byte[] frames, int records) {
+        lock.lock();
+        try {
+            if (closed) throw new IllegalStateException("Inventory journal is closed.");
+            if (failure != null) throw new UncheckedIOException("❌ Inventory journal write failed", failure);
+            pending.write(frames, 0, frames.length);
+            bytesSinceSnapshot += frames.length;
+            recordsAppended.add(records);
+            hasWork.signal();
+            return ++appendedSeq;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Waits until everything up to seq is durable, then rolls the segment if it has grown enough.
+    private void awaitDurable(long seq) {
+        long snapshotSegment = -1;
+        lock.lock();
+        try {
+            while (durableSeq < seq && failure == null) {
+                durable.awaitUninterruptibly();
+            }
+            if (durableSeq < seq) {
+                throw new UncheckedIOException("❌ Inventory journal write failed", failure);
+            }
+            if (bytesSinceSnapshot >= snapshotThresholdBytes && !snapshotInProgress && manager != null) {
+                snapshotSegment = rollSegment();
+                snapshotInProgress = true;
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("❌ Could not roll inventory journal segment", e);
+        } finally {
+            lock.unlock();
+        }
+        if (snapshotSegment >= 0) {
+            // Each change in the older segments was logged under its stripe lock and applied before
+            // that lock was released, and the snapshot takes every stripe lock, so it holds them all.
+            // It may also hold changes logged after the boundary; replaying those is idempotent.
+            long firstLiveSegment = snapshotSegment;
+            snapshotWriter.execute(() -> writeSnapshot(manager.snapshot(), firstLiveSegment));
+        }
+    }
+
+    private void runSyncer() {
+        while (true) {
+            byte[] batch;
+            long target;
+            FileChannel channel;
+            lock.lock();
+            try {
+                while (pending.size() == 0 && !closed) {
+                    hasWork.awaitUninterruptibly();
+                }
+                if (pending.size() == 0) return;
+                batch = pending.toByteArray();
+                pending = new ByteArrayOutputStream(batch.length);
+                target = appendedSeq;
+                channel = segment;
+            } finally {
+                lock.unlock();
+            }
+
+            IOException error = null;
+            try {
+                ByteBuffer buffer = ByteBuffer.wrap(batch);
+                while (buffer.hasRemaining()) {
+                    channel.write(buffer);
+                }
+                channel.force(false);
+            } catch (IOException e) {
+                error = e;
+            }
+
+            lock.lock();
+            try {
+                if (error != null) {
+                    failure = error;
+                } else {
+                    durableSeq = target;
+                    groupCommits.increment();
+                }
+                durable.signalAll();
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    // Caller holds the lock and its own append is durable; waits out the syncer, then switches files.
+    // Appends queued meanwhile are flushed to the old segment, which the snapshot covers.
+    private long rollSegment() throws IOException {
+        while (durableSeq < appendedSeq && failure == null) {
+            durable.awaitUninterruptibly();
+        }
+        segment.close();
+        segmentNumber++;
+        segment = openSegment(segmentNumber);
+        bytesSinceSnapshot = 0;
+        return segmentNumber;
+    }
+
+    private void writeSnapshot(InventorySnapshot state, long firstLiveSegment) {
+        Path tmp = directory.resolve(SNAPSHOT_FILE + ".tmp");
+        try {
+            try (FileChannel channel = FileChannel.open(tmp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                    StandardOpenOption.TRUNCATE_EXISTING);
+                 DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Channels.newOutputStream(channel)))) {
+                out.writeInt(SNAPSHOT_MAGIC);
+                out.writeLong(firstLiveSegment);
+                out.writeInt(state.size());
+                for (Product p : state) {
+                    writeProduct(out, p);
+                }
+                out.flush();
+                channel.force(true);
+            }
+            Files.move(tmp, directory.resolve(SNAPSHOT_FILE), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            for (Path old : listSegments()) {
+                if (segmentNumberOf(old) < firstLiveSegment) {
+                    Files.deleteIfExists(old);
+                }
+            }
+            snapshots.increment();
+        } catch (IOException e) {
+            System.err.println("❌ Inventory snapshot failed; the log is kept for recovery: " + e.getMessage());
+        } finally {
+            lock.lock();
+            try {
+                snapshotInProgress = false;
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    private List<Product> recover() throws IOException {
+        Map<String, Product> state = new LinkedHashMap<>();
+        long firstLiveSegment = 0;
+        Path snapshot = directory.resolve(SNAPSHOT_FILE);
+        if (Files.exists(snapshot)) {
+            try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(snapshot)))) {
+                if (in.readInt() != SNAPSHOT_MAGIC) throw new IOException("Corrupt snapshot file: " + snapshot);
+                firstLiveSegment = in.readLong();
+                int count = in.readInt();
+                for (int i = 0; i < count; i++) {
+                    Product p = readProduct(in);
+                    state.put(p.getId(), p);
+                }
+            }
+        }
+
+        long lastSegment = firstLiveSegment - 1;
+        for (Path file : listSegments()) {
+            long number = segmentNumberOf(file);
+            lastSegment = Math.max(lastSegment, number);
+            if (number >= firstLiveSegment) {
+                bytesSinceSnapshot += replaySegment(file, state);
+            }
+        }
+        segmentNumber = lastSegment + 1;
+        return new ArrayList<>(state.values());
+    }
+
+    // Applies every intact frame; a torn or corrupt tail (e.g. from a crash mid-write) is cut off.
+    private long replaySegment(Path file, Map<String, Product> state) throws IOException {
+        long validBytes = 0;
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            while (true) {
+                int length;
+                byte[] payload;
+                try {
+                    length = in.readInt();
+                    if (length <= 0 || length > (1 << 20)) break;
+                    payload = new byte[length];
+                    in.readFully(payload);
+                    if (in.readInt() != checksum(payload)) break;
+                } catch (EOFException e) {
+                    break;
+                }
+                apply(payload, state);
+                validBytes += 8 + length;
+                recordsReplayed++;
+            }
+        }
+        if (validBytes < Files.size(file)) {
+            System.err.println("⚠️ Truncating damaged tail of " + file.getFileName() + " at byte " + validBytes);
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+                channel.truncate(validBytes);
+            }
+        }
+        return validBytes;
+    }
+
+    private static void apply(byte[] payload, Map<String, Product> state) throws IOException {
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(payload));
+        byte op = in.readByte();
+        if (op == OP_ADD) {
+            Product p = readProduct(in);
+            state.put(p.getId(), p);
+        } else if (op == OP_UPDATE) {
+            Product p = state.get(in.readUTF());
+            if (p != null) {
+                p.update(in.readDouble(), in.readInt());
+            }
+        } else if (op == OP_REMOVE) {
+            state.remove(in.readUTF());
+        } else {
+            throw new IOException("Unknown journal operation " + op);
+        }
+    }
+
+    private FileChannel openSegment(long number) throws IOException {
+        return FileChannel.open(directory.resolve(String.format("wal-%010d.log", number)),
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+    }
+
+    private List<Path> listSegments() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(f -> SEGMENT_NAME.matcher(f.getFileName().toString()).matches()).sorted().toList();
+        }
+    }
+
+    private static long segmentNumberOf(Path file) {
+        Matcher m = SEGMENT_NAME.matcher(file.getFileName().toString());
+        return m.matches() ? Long.parseLong(m.group(1)) : -1;
+    }
+
+    @FunctionalInterface
+    private interface PayloadWriter {
+        void write(DataOutputStream out) throws IOException;
+    }
+
+    // Frame layout: [int length][byte op + fields][int CRC32 of the payload].
+    private static byte[] encode(byte op, PayloadWriter writer) {
+        try {
+            ByteArrayOutputStream payloadBytes = new ByteArrayOutputStream(64);
+            DataOutputStream payload = new DataOutputStream(payloadBytes);
+            payload.writeByte(op);
+            writer.write(payload);
+            byte[] body = payloadBytes.toByteArray();
+            ByteBuffer frame = ByteBuffer.allocate(body.length + 8);
+            frame.putInt(body.length).put(body).putInt(checksum(body));
+            return frame.array();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static int checksum(byte[] payload) {
+        CRC32 crc = new CRC32();
+        crc.update(payload);
+        return (int) crc.getValue();
+    }
+
+    private static void writeProduct(DataOutputStream out, Product p) throws IOException {
+        out.writeUTF(p.getId());
+        out.writeUTF(p.getName());
+        writeNullable(out, p.getCategory());
+        out.writeDouble(p.getPrice());
+        out.writeInt(p.getQuantity());
+        out.writeLong(p.getLastUpdated().toEpochDay());
+        writeNullable(out, p.getSupplier());
+    }
+
+    private static Product readProduct(DataInputStream in) throws IOException {
+        return new Product(in.readUTF(), in.readUTF(), readNullable(in), in.readDouble(), in.readInt(),
+                LocalDate.ofEpochDay(in.readLong()), readNullable(in));
+    }
+
+    private static void writeNullable(DataOutputStream out, String value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) out.writeUTF(value);
+    }
+
+    private static String readNullable(DataInputStream in) throws IOException {
+        return in.readBoolean() ? in.readUTF() : null;
+    }
+
+    // Per-thread state: the frames of the batch being prepared, and the sequence its last append
+    // must reach before the mutating call returns (0 if none).
+    private static final class Writer {
+        final ByteArrayOutputStream frames = new ByteArrayOutputStream();
+        int records;
+        boolean batching;
+        long awaitedSeq;
+
+        void clear() {
+            frames.reset();
+            records = 0;
+        }
+    }
+}
@@ -1,63 +1,920 @@
 package org.example.service;
+import org.example.dao.BatchResult;
 import org.example.model.Product;
+import org.example.model.ProductValidator;
+import org.example.util.PersistentHashMap;
 import java.io.File;
 import java.io.FileWriter;
 import java.io.IOException;
 import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
 
+/**
+ * In-memory inventory that is safe to share between terminals. Reads are lock-free. Every
+ * mutation of a product runs under that product's lock stripe, together with the listener
+ * calls, so listeners see each product's changes in the order they were applied. Each stripe
+ * keeps its products in a persistent map, and a change never alters a stored product: it
+ * stores a new version in place of the old one, which copies one path of the stripe's map.
+ * Products handed out by the manager are therefore never changed by it later.
+ * {@link #snapshot()} combines the stripes' maps into a consistent point-in-time view without
+ * copying them, so reports can read it while writes continue. Each stripe also keeps running
+ * sums of its quantity and value, so the totals are O(1) to read; value is kept in cents so
+ * repeated updates cannot accumulate floating-point drift. Secondary indexes on category,
+ * supplier, quantity and price are kept in step the same way, so the find methods cost time
+ * proportional to the result rather than to the inventory. An {@link InventoryEventBus}
+ * registered as a listener hands every change, with before and after values, to asynchronous
+ * consumers.
+ * <p>
+ * Orders can hold stock across several SKUs with {@link #reserve}, then {@link #commit} or
+ * {@link #release} it. Reserved units stay in the quantity but cannot be sold or updated away;
+ * abandoned reservations expire on a timer.
+ * <p>
+ * {@link #applyBatch} applies many changes under one round of locking, with one persistence
+ * flush and deduplicated alerts; snapshots see either all of a batch or none of it.
+ */
 public class InventoryManager {
-    private final Map<String, Product> inventory = new HashMap<>();
+    private static final int LOCK_STRIPES = stripeCount(Runtime.getRuntime().availableProcessors());
+    private static final long DEFAULT_RESERVATION_TTL_MILLIS = 15 * 60_000;
+    private static final long RESERVATION_SWEEP_MILLIS = 1_000;
+    private static final int DEFAULT_FASTEST_MOVING_CAPACITY = 1_000;
+    private static final int ABSENT = -1;
+
+    private final Stripe[] stripes = new Stripe[LOCK_STRIPES];
+    private final InventoryIndex index;
+    private final ProductNameIndex nameIndex = new ProductNameIndex();
+    private final Map<String, Reservation> reservations = new ConcurrentHashMap<>();
+    private final Map<String, Integer> reservedBySku = new ConcurrentHashMap<>();
+    private volatile ScheduledExecutorService reservationSweeper;
+    private volatile boolean shutDown;
     private final StockAlertService stockAlertService; // NEW DEPENDENCY
+    private final List<InventoryChangeListener> listeners;
+
+    public InventoryManager(StockAlertService stockAlertService, InventoryChangeListener... listeners) {
+        this(stockAlertService, DEFAULT_FASTEST_MOVING_CAPACITY, listeners);
+    }
 
-    public InventoryManager(StockAlertService stockAlertService) {
+    /**
+     * {@code fastestMovingCapacity} bounds how many SKUs {@link #fastestMoving} can return.
+     */
+    public InventoryManager(StockAlertService stockAlertService, int fastestMovingCapacity, InventoryChangeListener... listeners) {
         this.stockAlertService = stockAlertService;
+        this.index = new InventoryIndex(fastestMovingCapacity);
+        this.listeners = List.of(listeners);
+        for (int i = 0; i < stripes.length; i++) {
+            stripes[i] = new Stripe();
+        }
+        for (InventoryChangeListener listener : this.listeners) {
+            listener.attach(this);
+        }
     }
 
     public boolean addProduct(Product p) {
-        if (inventory.containsKey(p.getId())) return false;
-        inventory.put(p.getId(), p);
+        Stripe stripe = stripeFor(p.getId());
+        stripe.lock.lock();
+        try {
+            ensureRunning();
+            if (stripe.products.containsKey(p.getId())) return false;
+            prepare(InventoryEvent.Type.ADD, p.getId(), p);
+            store(stripe, p.getId(), null, p);
+            index.add(p);
+            nameIndex.add(p.getId(), p.getName());
+            notifyChange(InventoryEvent.Type.ADD, p.getId(), 0, 0, p.getPrice(), p.getQuantity());
+            listeners.forEach(l -> l.onAdd(p));
+        } finally {
+            stripe.lock.unlock();
+        }
+        afterChange();
         return true;
     }
 
     public Optional<Product> searchProduct(String id) {
-        return Optional.ofNullable(inventory.get(id));
+        return Optional.ofNullable(get(id));
     }
 
     public List<Product> getAllProducts() {
-        return new ArrayList<>(inventory.values());
+        List<Product> products = new ArrayList<>();
+        for (Stripe stripe : stripes) {
+            stripe.products.forEach((id, p) -> products.add(p));
+        }
+        return products;
+    }
+
+    public Stream<Product> streamProducts() {
+        return Stream.of(stripes).flatMap(stripe -> stripe.products.values());
+    }
+
+    /**
+     * Ranked search over product names that accepts partial words ("lapt") and small typos
+     * ("keybaord"); see {@link ProductNameIndex#search}.
+     */
+    public List<Product> searchByName(String query, int limit) {
+        return resolve(nameIndex.search(query, limit));
+    }
+
+    public List<Product> findByCategory(String category) {
+        return resolve(index.idsInCategory(category));
+    }
+
+    public List<Product> findBySupplier(String supplier) {
+        return resolve(index.idsFromSupplier(supplier));
+    }
+
+    /**
+     * Products with {@code min <= quantity <= max}, lowest stock first.
+     */
+    public List<Product> findByQuantityRange(int min, int max) {
+        List<Product> result = resolve(index.idsByQuantity(min, max));
+        // An entry may have moved between the index read and the lookup.
+        result.removeIf(p -> p.getQuantity() < min || p.getQuantity() > max);
+        return result;
+    }
+
+    public List<Product> findLowStock(int threshold) {
+        return findByQuantityRange(0, threshold);
+    }
+
+    /**
+     * Products with {@code minPrice <= price <= maxPrice} (compared in whole cents), cheapest first.
+     */
+    public List<Product> findByPriceRange(double minPrice, double maxPrice) {
+        long minCents = InventoryIndex.toCents(minPrice);
+        long maxCents = InventoryIndex.toCents(maxPrice);
+        List<Product> result = resolve(index.idsByPriceCents(minCents, maxCents));
+        result.removeIf(p -> InventoryIndex.toCents(p.getPrice()) < minCents || InventoryIndex.toCents(p.getPrice()) > maxCents);
+        return result;
+    }
+
+    // Top-K views: any k, read in O(k) from indexes kept up to date by every mutation.
+
+    public List<Product> lowestStock(int k) {
+        return resolve(index.lowestQuantity(k));
+    }
+
+    /** Highest price x quantity first. */
+    public List<Product> mostValuable(int k) {
+        return resolve(index.highestStockValue(k));
+    }
+
+    /**
+     * Highest decayed sales rate first (see {@link #getSalesRate}); returns at most the
+     * fastest-moving capacity given at construction.
+     */
+    public List<Product> fastestMoving(int k) {
+        return resolve(index.fastestMoving(k));
+    }
+
+    /**
+     * Units per day taken out of stock, with each sale's weight fading over about a week.
+     */
+    public double getSalesRate(String id) {
+        return index.salesPerDay(id, System.currentTimeMillis());
     }
 
     public int getTotalProducts() {
-        return inventory.size();
+        int size = 0;
+        for (Stripe stripe : stripes) {
+            size += stripe.products.size();
+        }
+        return size;
     }
 
-    public int getTotalQuantity() {
-        return inventory.values().stream().mapToInt(Product::getQuantity).sum();
+    public long getTotalQuantity() {
+        long quantity = 0;
+        for (Stripe stripe : stripes) {
+            quantity += stripe.quantity;
+        }
+        return quantity;
     }
 
     public double getTotalValue() {
-        return inventory.values().stream().mapToDouble(p -> p.getPrice() * p.getQuantity()).sum();
+        return getTotalValueCents() / 100.0;
+    }
+
+    public long getTotalValueCents() {
+        long valueCents = 0;
+        for (Stripe stripe : stripes) {
+            valueCents += stripe.valueCents;
+        }
+        return valueCents;
+    }
+
+    /**
+     * Recomputes both totals from the products and compares them with the running sums,
+     * holding every stripe lock so no mutation lands in between. A mismatch means a product
+     * was changed behind the manager's back (e.g. via {@link Product#setQuantity}); it is
+     * reported and the running sums are reset to the recomputed values.
+     */
+    public boolean verifyAggregates() {
+        lockEveryStripe();
+        try {
+            long quantity = 0;
+            long valueCents = 0;
+            long runningQuantity = 0;
+            long runningValueCents = 0;
+            for (Stripe stripe : stripes) {
+                long[] sums = new long[2];
+                stripe.products.forEach((id, p) -> {
+                    sums[0] += p.getQuantity();
+                    sums[1] += valueCents(p);
+                });
+                runningQuantity += stripe.quantity;
+                runningValueCents += stripe.valueCents;
+                quantity += sums[0];
+                valueCents += sums[1];
+                stripe.quantity = sums[0];
+                stripe.valueCents = sums[1];
+            }
+            if (quantity == runningQuantity && valueCents == runningValueCents) return true;
+
+            System.err.printf("⚠️ Inventory totals drifted: quantity %d (expected %d), value %d cents (expected %d). Resetting.%n",
+                    runningQuantity, quantity, runningValueCents, valueCents);
+            return false;
+        } finally {
+            unlockEveryStripe();
+        }
     }
 
     public boolean updateProduct(String id, double newPrice, int newQuantity) {
-        if (!inventory.containsKey(id)) return false;
+        Product next;
+        Stripe stripe = stripeFor(id);
+        stripe.lock.lock();
+        try {
+            ensureRunning();
+            Product p = stripe.products.get(id);
+            if (p == null) return false;
+            if (newQuantity < reservedQuantity(id)) {
+                System.err.println("❌ Cannot set " + id + " below its " + reservedQuantity(id) + " reserved units.");
+                return false;
+            }
+            next = p.withStock(newPrice, newQuantity);
+            prepare(InventoryEvent.Type.UPDATE, id, next);
+            recordChange(stripe, p, next);
+            listeners.forEach(l -> l.onUpdate(next));
+        } finally {
+            stripe.lock.unlock();
+        }
+        afterChange();
 
-        Product p = inventory.get(id);
-        p.setPrice(newPrice);
-        p.setQuantity(newQuantity);
+        stockAlertService.checkStockAndAlert(next, newQuantity);
+
+        return true;
+    }
+
+    /**
+     * Adds {@code delta} (negative for a sale) to the stock without a read-modify-write race.
+     * Returns false if the product is unknown or there is not enough stock.
+     */
+    public boolean adjustQuantity(String id, int delta) {
+        Product next;
+        Stripe stripe = stripeFor(id);
+        stripe.lock.lock();
+        try {
+            ensureRunning();
+            Product p = stripe.products.get(id);
+            if (p == null) return false;
+            long newQuantity = (long) p.getQuantity() + delta;
+            if (newQuantity < reservedQuantity(id) || newQuantity > Integer.MAX_VALUE) return false;
+            next = p.withStock(p.getPrice(), (int) newQuantity);
+            prepare(InventoryEvent.Type.UPDATE, id, next);
+            recordChange(stripe, p, next);
+            listeners.forEach(l -> l.onUpdate(next));
+        } finally {
+            stripe.lock.unlock();
+        }
+        afterChange();
+
+        stockAlertService.checkStockAndAlert(next, next.getQuantity());
+        return true;
+    }
 
-        stockAlertService.checkStockAndAlert(p, newQuantity);
+    public boolean compareAndSetQuantity(String id, long expectedVersion, int newQuantity) {
+        Product next;
+        Stripe stripe = stripeFor(id);
+        stripe.lock.lock();
+        try {
+            ensureRunning();
+            Product p = stripe.products.get(id);
+            if (p == null || newQuantity < 0 || newQuantity < reservedQuantity(id) || p.getVersion() != expectedVersion) return false;
+            next = p.withStock(p.getPrice(), newQuantity);
+            prepare(InventoryEvent.Type.UPDATE, id, next);
+            recordChange(stripe, p, next);
+            listeners.forEach(l -> l.onUpdate(next));
+        } finally {
+            stripe.lock.unlock();
+        }
+        afterChange();
 
+        stockAlertService.checkStockAndAlert(next, newQuantity);
         return true;
     }
 
     public boolean removeProduct(String id) {
-        return inventory.remove(id) != null;
+        Stripe stripe = stripeFor(id);
+        stripe.lock.lock();
+        try {
+            ensureRunning();
+            if (reservedQuantity(id) > 0) {
+                System.err.println("❌ Cannot remove " + id + " while orders hold reservations on it.");
+                return false;
+            }
+            Product removed = stripe.products.get(id);
+            if (removed == null) return false;
+            prepare(InventoryEvent.Type.REMOVE, id, null);
+            store(stripe, id, removed, null);
+            index.remove(removed);
+            nameIndex.remove(id, removed.getName());
+            notifyChange(InventoryEvent.Type.REMOVE, id, removed.getPrice(), removed.getQuantity(), 0, 0);
+            listeners.forEach(l -> l.onRemove(id));
+        } finally {
+            stripe.lock.unlock();
+        }
+        afterChange();
+        return true;
+    }
+
+    public BatchResult applyBatch(List<Mutation> mutations) {
+        return applyBatch(mutations, true);
+    }
+
+    /**
+     * Applies the mutations in order while holding all their lock stripes once. Each is first
+     * validated with {@link ProductValidator} and checked against the state the earlier ones
+     * leave behind, by the same rules as its single-item method. If {@code atomic}, one bad
+     * mutation rejects the whole batch and nothing is applied; otherwise the rest are applied
+     * and the result reports each one. Listeners get the changes between onBatchStart and
+     * onBatchEnd, so persistence flushes once; a write-ahead log receives the whole batch before
+     * any of it is applied. Each SKU gets at most one stock alert, for its final quantity.
+     */
+    public BatchResult applyBatch(List<Mutation> mutations, boolean atomic) {
+        List<String> ids = new ArrayList<>(mutations.size());
+        boolean[] outcomes = new boolean[mutations.size()];
+        boolean allValid = true;
+        for (int i = 0; i < mutations.size(); i++) {
+            Mutation m = mutations.get(i);
+            ids.add(m.getProductId());
+            outcomes[i] = isValid(m);
+            allValid &= outcomes[i];
+        }
+        if (atomic && !allValid) return rejected(ids);
+
+        Map<String, Product> alerts = new LinkedHashMap<>();
+        int[] alertQuantities;
+        List<ReentrantLock> held = lockAll(distinctValidIds(mutations, outcomes));
+        try {
+            ensureRunning();
+            if (!checkBatch(mutations, outcomes) && atomic) return rejected(ids);
+
+            listeners.forEach(InventoryChangeListener::onBatchStart);
+            try {
+                Product[] versions = prepareBatch(mutations, outcomes);
+                applyChecked(mutations, outcomes, versions, alerts);
+            } finally {
+                listeners.forEach(InventoryChangeListener::onBatchEnd);
+            }
+            alertQuantities = new int[alerts.size()];
+            int i = 0;
+            for (Product p : alerts.values()) {
+                alertQuantities[i++] = p.getQuantity();
+            }
+        } finally {
+            unlockAll(held);
+        }
+        afterChange();
+
+        int i = 0;
+        for (Product p : alerts.values()) {
+            stockAlertService.checkStockAndAlert(p, alertQuantities[i++]);
+        }
+        return new BatchResult(ids, outcomes);
+    }
+
+    public boolean reserve(String orderId, Map<String, Integer> lines) {
+        return reserve(orderId, lines, DEFAULT_RESERVATION_TTL_MILLIS);
+    }
+
+    /**
+     * Holds {@code lines} (SKU to units) for the order, all or nothing: fails without holding
+     * anything if a SKU is unknown, lacks available (unreserved) stock, or the order already
+     * has a reservation. Unless committed or released, the hold lapses after {@code ttlMillis}.
+     */
+    public boolean reserve(String orderId, Map<String, Integer> lines, long ttlMillis) {
+        if (lines.isEmpty() || lines.values().stream().anyMatch(qty -> qty == null || qty <= 0)) {
+            System.err.println("❌ Reservation for order " + orderId + " needs at least one line with a positive quantity.");
+            return false;
+        }
+        Map<String, Integer> ordered = new TreeMap<>(lines);
+        List<ReentrantLock> held = lockAll(ordered.keySet());
+        try {
+            // Checked under the locks, like ensureRunning(), so shutdown() cannot slip in before the hold is taken.
+            if (shutDown) {
+                System.err.println("❌ Cannot reserve stock for order " + orderId + ": the inventory manager is shut down.");
+                return false;
+            }
+            for (Map.Entry<String, Integer> line : ordered.entrySet()) {
+                Product p = get(line.getKey());
+                if (p == null || p.getQuantity() - reservedQuantity(line.getKey()) < line.getValue()) {
+                    System.err.println("❌ Cannot reserve " + line.getValue() + " of " + line.getKey() + " for order " + orderId
+                            + (p == null ? ": unknown product." : ": not enough available stock."));
+                    return false;
+                }
+            }
+            Reservation reservation = new Reservation(ordered, System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(ttlMillis));
+            if (reservations.putIfAbsent(orderId, reservation) != null) {
+                System.err.println("❌ Order " + orderId + " already holds a reservation.");
+                return false;
+            }
+            ordered.forEach((id, qty) -> reservedBySku.merge(id, qty, Integer::sum));
+        } finally {
+            unlockAll(held);
+        }
+        startReservationSweeper();
+        return true;
+    }
+
+    /**
+     * Turns the order's reservation into a sale, taking the units out of stock on every SKU at once.
+     */
+    public boolean commit(String orderId) {
+        Reservation reservation = reservations.remove(orderId);
+        if (reservation == null) {
+            System.err.println("❌ Order " + orderId + " has no active reservation (it may have expired).");
+            return false;
+        }
+        List<Product> sold = new ArrayList<>(reservation.lines.size());
+        List<ReentrantLock> held = lockAll(reservation.lines.keySet());
+        try {
+            listeners.forEach(InventoryChangeListener::onBatchStart);
+            try {
+                try {
+                    ensureRunning();
+                    for (Map.Entry<String, Integer> line : reservation.lines.entrySet()) {
+                        // Reserved units can neither be sold elsewhere nor removed, so this cannot fail.
+                        Product p = get(line.getKey());
+                        Product next = p.withStock(p.getPrice(), p.getQuantity() - line.getValue());
+                        prepare(InventoryEvent.Type.UPDATE, next.getId(), next);
+                        sold.add(next);
+                    }
+                    listeners.forEach(InventoryChangeListener::onBatchPrepared);
+                } catch (RuntimeException e) {
+                    // Refused before anything was applied, so the order keeps its reservation.
+                    reservations.put(orderId, reservation);
+                    throw e;
+                }
+                for (Product next : sold) {
+                    Stripe stripe = stripeFor(next.getId());
+                    unreserve(next.getId(), reservation.lines.get(next.getId()));
+                    recordChange(stripe, stripe.products.get(next.getId()), next);
+                    listeners.forEach(l -> l.onUpdate(next));
+                }
+            } finally {
+                listeners.forEach(InventoryChangeListener::onBatchEnd);
+            }
+        } finally {
+            unlockAll(held);
+        }
+        afterChange();
+        for (Product p : sold) {
+            stockAlertService.checkStockAndAlert(p, p.getQuantity());
+        }
+        return true;
+    }
+
+    public boolean release(String orderId) {
+        Reservation reservation = reservations.remove(orderId);
+        if (reservation == null) return false;
+        releaseLines(reservation);
+        return true;
+    }
+
+    /**
+     * Releases every reservation past its deadline and returns how many there were. Runs on a
+     * timer once the first reservation is made; callable directly for tests and maintenance.
+     */
+    public int expireReservations() {
+        long now = System.nanoTime();
+        int expired = 0;
+        for (Map.Entry<String, Reservation> entry : reservations.entrySet()) {
+            Reservation reservation = entry.getValue();
+            // remove(key, value) loses to a concurrent commit or release of the same order.
+            if (now - reservation.deadlineNanos >= 0 && reservations.remove(entry.getKey(), reservation)) {
+                releaseLines(reservation);
+                expired++;
+            }
+        }
+        return expired;
+    }
+
+    public int getReservedQuantity(String id) {
+        return reservedQuantity(id);
+    }
+
+    public int getActiveReservations() {
+        return reservations.size();
+    }
+
+    /**
+     * Closes every listener, draining pending persistence work; call before the application exits.
+     * Changes already holding their locks finish first; any change attempted afterwards throws
+     * IllegalStateException before touching the inventory, so no listener misses one.
+     */
+    public void shutdown() {
+        lockEveryStripe();
+        try {
+            if (shutDown) return;
+            shutDown = true;
+        } finally {
+            unlockEveryStripe();
+        }
+        synchronized (reservations) {
+            if (reservationSweeper != null) {
+                reservationSweeper.shutdownNow();
+            }
+        }
+        listeners.forEach(InventoryChangeListener::close);
+    }
+
+    // Loads recovered state without notifying listeners, which already hold these changes.
+    void restore(Collection<Product> products) {
+        for (Product p : products) {
+            Stripe stripe = stripeFor(p.getId());
+            stripe.lock.lock();
+            try {
+                Product replaced = stripe.products.get(p.getId());
+                store(stripe, p.getId(), replaced, p);
+                if (replaced != null) {
+                    index.remove(replaced);
+                    nameIndex.remove(replaced.getId(), replaced.getName());
+                }
+                index.add(p);
+                nameIndex.add(p.getId(), p.getName());
+            } finally {
+                stripe.lock.unlock();
+            }
+        }
+    }
+
+    /**
+     * Returns the inventory as of the latest completed change. Takes every stripe lock just long
+     * enough to read each stripe's map and totals, so it costs one lock round per stripe and
+     * copies nothing. Must not be called while holding a stripe lock, e.g. from a listener.
+     */
+    public InventorySnapshot snapshot() {
+        List<PersistentHashMap<String, Product>> maps = new ArrayList<>(stripes.length);
+        long sequence = 0;
+        long quantity = 0;
+        long valueCents = 0;
+        lockEveryStripe();
+        try {
+            for (Stripe stripe : stripes) {
+                maps.add(stripe.products);
+                sequence += stripe.changes;
+                quantity += stripe.quantity;
+                valueCents += stripe.valueCents;
+            }
+        } finally {
+            unlockEveryStripe();
+        }
+        return new InventorySnapshot(maps, sequence, quantity, valueCents);
+    }
+
+    // Callers hold the stripe locks of what they are about to change, so shutdown() cannot slip in
+    // between this check and the listener calls.
+    private void ensureRunning() {
+        if (shutDown) throw new IllegalStateException("Inventory manager is shut down.");
+    }
+
+    private Product get(String id) {
+        return stripeFor(id).products.get(id);
+    }
+
+    // Caller holds the stripe's lock. Replaces previous with next (either may be null for an add
+    // or a removal): one path copy in the stripe's map plus its running totals.
+    private static void store(Stripe stripe, String id, Product previous, Product next) {
+        stripe.products = next == null ? stripe.products.remove(id) : stripe.products.put(id, next);
+        long quantity = stripe.quantity;
+        long valueCents = stripe.valueCents;
+        if (previous != null) {
+            quantity -= previous.getQuantity();
+            valueCents -= valueCents(previous);
+        }
+        if (next != null) {
+            quantity += next.getQuantity();
+            valueCents += valueCents(next);
+        }
+        stripe.quantity = quantity;
+        stripe.valueCents = valueCents;
+        stripe.changes++;
+    }
+
+    private static long valueCents(Product p) {
+        return InventoryIndex.toCents(p.getPrice()) * p.getQuantity();
+    }
+
+    private void recordChange(Stripe stripe, Product previous, Product next) {
+        store(stripe, next.getId(), previous, next);
+        moveInIndex(previous, next, System.currentTimeMillis());
+        notifyChange(InventoryEvent.Type.UPDATE, next.getId(), previous.getPrice(), previous.getQuantity(), next.getPrice(), next.getQuantity());
+    }
+
+    private void moveInIndex(Product previous, Product next, long now) {
+        index.move(next.getId(), previous.getPrice(), previous.getQuantity(), next.getPrice(), next.getQuantity());
+        if (next.getQuantity() < previous.getQuantity()) {
+            index.recordSale(next.getId(), previous.getQuantity() - next.getQuantity(), now);
+        }
+    }
+
+    // Runs before a change is applied, under its lock; a write-ahead log appends the change here,
+    // and an exception refuses it before anything has been touched.
+    private void prepare(InventoryEvent.Type type, String id, Product next) {
+        for (int i = 0; i < listeners.size(); i++) {
+            listeners.get(i).beforeChange(type, id, next);
+        }
+    }
+
+    // Runs after the change's locks are released, so waiting for the log's fsync holds up no other writer.
+    private void afterChange() {
+        for (int i = 0; i < listeners.size(); i++) {
+            listeners.get(i).afterChange();
+        }
+    }
+
+    // A plain loop rather than forEach, so publishing to an event bus stays allocation-free.
+    private void notifyChange(InventoryEvent.Type type, String id, double oldPrice, int oldQuantity, double newPrice, int newQuantity) {
+        for (int i = 0; i < listeners.size(); i++) {
+            listeners.get(i).onChange(type, id, oldPrice, oldQuantity, newPrice, newQuantity);
+        }
+    }
+
+    private static boolean isValid(Mutation m) {
+        try {
+            ProductValidator.validateProductId(m.getProductId());
+            switch (m.getType()) {
+                case ADD:
+                    ProductValidator.validatePrice(m.getProduct().getPrice());
+                    ProductValidator.validateQuantity(m.getProduct().getQuantity());
+                    break;
+                case UPDATE:
+                    ProductValidator.validatePrice(m.getPrice());
+                    ProductValidator.validateQuantity(m.getQuantity());
+                    break;
+                default:
+                    break;
+            }
+            return true;
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage() + " (" + m + ")");
+            return false;
+        }
+    }
+
+    private static BatchResult rejected(List<String> ids) {
+        System.err.println("❌ Batch of " + ids.size() + " changes rejected; nothing was applied.");
+        return new BatchResult(ids, new boolean[ids.size()]);
+    }
+
+    private static List<String> distinctValidIds(List<Mutation> mutations, boolean[] outcomes) {
+        Set<String> ids = new HashSet<>();
+        for (int i = 0; i < mutations.size(); i++) {
+            if (outcomes[i]) ids.add(mutations.get(i).getProductId());
+        }
+        return new ArrayList<>(ids);
+    }
+
+    // Caller holds the batch's stripes. Replays the batch on the quantities it touches, clearing
+    // the outcome of every mutation that would fail, and returns whether all of them pass.
+    private boolean checkBatch(List<Mutation> mutations, boolean[] outcomes) {
+        Map<String, Integer> quantities = new HashMap<>();
+        boolean allPassed = true;
+        for (int i = 0; i < mutations.size(); i++) {
+            if (!outcomes[i]) {
+                allPassed = false;
+                continue;
+            }
+            Mutation m = mutations.get(i);
+            String id = m.getProductId();
+            int quantity = quantities.computeIfAbsent(id, k -> {
+                Product p = get(k);
+                return p == null ? ABSENT : p.getQuantity();
+            });
+            int reserved = reservedQuantity(id);
+            long next = ABSENT;
+            String problem = null;
+            if (m.getType() == Mutation.Type.ADD) {
+                if (quantity != ABSENT) problem = "product already exists";
+                else next = m.getProduct().getQuantity();
+            } else if (quantity == ABSENT) {
+                problem = "unknown product";
+            } else {
+                switch (m.getType()) {
+                    case UPDATE:
+                        next = m.getQuantity();
+                        if (next < reserved) problem = "cannot go below its " + reserved + " reserved units";
+                        break;
+                    case ADJUST:
+                        next = (long) quantity + m.getQuantity();
+                        if (next > Integer.MAX_VALUE) problem = "quantity would overflow";
+                        else if (next < reserved) problem = "not enough available stock";
+                        break;
+                    default:
+                        if (reserved > 0) problem = "orders hold reservations on it";
+                        break;
+                }
+            }
+            if (problem != null) {
+                System.err.println("❌ " + m + ": " + problem + ".");
+                outcomes[i] = false;
+                allPassed = false;
+            } else {
+                quantities.put(id, (int) next);
+            }
+        }
+        return allPassed;
+    }
+
+    // Caller holds the batch's stripes and has run checkBatch. Works out the version each passing
+    // mutation stores (null for a removal) and passes them all to the listeners before any is
+    // applied, so a write-ahead log holds the whole batch first or refuses it.
+    private Product[] prepareBatch(List<Mutation> mutations, boolean[] outcomes) {
+        Product[] versions = new Product[mutations.size()];
+        Map<String, Product> latest = new HashMap<>();
+        for (int i = 0; i < mutations.size(); i++) {
+            if (!outcomes[i]) continue;
+            Mutation m = mutations.get(i);
+            String id = m.getProductId();
+            Product current = latest.containsKey(id) ? latest.get(id) : get(id);
+            InventoryEvent.Type type = InventoryEvent.Type.UPDATE;
+            switch (m.getType()) {
+                case ADD:
+                    type = InventoryEvent.Type.ADD;
+                    versions[i] = m.getProduct();
+                    break;
+                case REMOVE:
+                    type = InventoryEvent.Type.REMOVE;
+                    versions[i] = null;
+                    break;
+                case UPDATE:
+                    versions[i] = current.withStock(m.getPrice(), m.getQuantity());
+                    break;
+                default:
+                    versions[i] = current.withStock(current.getPrice(), current.getQuantity() + m.getQuantity());
+                    break;
+            }
+            latest.put(id, versions[i]);
+            prepare(type, id, versions[i]);
+        }
+        listeners.forEach(InventoryChangeListener::onBatchPrepared);
+        return versions;
+    }
+
+    // Caller holds the batch's stripes and has prepared it, so none of these can fail.
+    private void applyChecked(List<Mutation> mutations, boolean[] outcomes, Product[] versions, Map<String, Product> alerts) {
+        long now = System.currentTimeMillis();
+        for (int i = 0; i < mutations.size(); i++) {
+            if (!outcomes[i]) continue;
+            Mutation m = mutations.get(i);
+            String id = m.getProductId();
+            Stripe stripe = stripeFor(id);
+            switch (m.getType()) {
+                case ADD: {
+                    Product p = versions[i];
+                    store(stripe, id, null, p);
+                    index.add(p);
+                    nameIndex.add(id, p.getName());
+                    alerts.remove(id);
+                    notifyChange(InventoryEvent.Type.ADD, id, 0, 0, p.getPrice(), p.getQuantity());
+                    listeners.forEach(l -> l.onAdd(p));
+                    break;
+                }
+                case REMOVE: {
+                    Product removed = stripe.products.get(id);
+                    store(stripe, id, removed, null);
+                    index.remove(removed);
+                    nameIndex.remove(id, removed.getName());
+                    alerts.remove(id);
+                    notifyChange(InventoryEvent.Type.REMOVE, id, removed.getPrice(), removed.getQuantity(), 0, 0);
+                    listeners.forEach(l -> l.onRemove(id));
+                    break;
+                }
+                default: {
+                    Product p = stripe.products.get(id);
+                    Product next = versions[i];
+                    store(stripe, id, p, next);
+                    moveInIndex(p, next, now);
+                    alerts.put(id, next);
+                    notifyChange(InventoryEvent.Type.UPDATE, id, p.getPrice(), p.getQuantity(), next.getPrice(), next.getQuantity());
+                    listeners.forEach(l -> l.onUpdate(next));
+                    break;
+                }
+            }
+        }
+    }
+
+    private List<Product> resolve(Collection<String> ids) {
+        List<Product> result = new ArrayList<>(ids.size());
+        for (String id : ids) {
+            Product p = get(id);
+            if (p != null) result.add(p);
+        }
+        return result;
+    }
+
+    private int reservedQuantity(String id) {
+        return reservedBySku.getOrDefault(id, 0);
+    }
+
+    private void unreserve(String id, int qty) {
+        reservedBySku.computeIfPresent(id, (k, reserved) -> reserved == qty ? null : reserved - qty);
+    }
+
+    private void releaseLines(Reservation reservation) {
+        List<ReentrantLock> held = lockAll(reservation.lines.keySet());
+        try {
+            reservation.lines.forEach(this::unreserve);
+        } finally {
+            unlockAll(held);
+        }
+    }
+
+    // Synchronized with shutdown(), so a reservation racing it cannot start a sweeper that is never stopped.
+    private void startReservationSweeper() {
+        if (reservationSweeper != null) return;
+        synchronized (reservations) {
+            if (reservationSweeper != null || shutDown) return;
+            ScheduledExecutorService sweeper = Executors.newSingleThreadScheduledExecutor(r -> {
+                Thread t = new Thread(r, "reservation-sweeper");
+                t.setDaemon(true);
+                return t;
+            });
+            sweeper.scheduleWithFixedDelay(this::expireReservations, RESERVATION_SWEEP_MILLIS, RESERVATION_SWEEP_MILLIS, TimeUnit.MILLISECONDS);
+            reservationSweeper = sweeper;
+        }
+    }
+
+    // Takes the stripes of all the IDs in ascending stripe order, so multi-SKU operations cannot deadlock.
+    private List<ReentrantLock> lockAll(Collection<String> ids) {
+        TreeSet<Integer> stripes = new TreeSet<>();
+        for (String id : ids) {
+            stripes.add(stripeOf(id));
+        }
+        List<ReentrantLock> held = new ArrayList<>(stripes.size());
+        for (int stripe : stripes) {
+            this.stripes[stripe].lock.lock();
+            held.add(this.stripes[stripe].lock);
+        }
+        return held;
+    }
+
+    private void lockEveryStripe() {
+        for (Stripe stripe : stripes) {
+            stripe.lock.lock();
+        }
+    }
+
+    private void unlockEveryStripe() {
+        for (int i = stripes.length - 1; i >= 0; i--) {
+            stripes[i].lock.unlock();
+        }
+    }
+
+    private static void unlockAll(List<ReentrantLock> held) {
+        for (int i = held.size() - 1; i >= 0; i--) {
+            held.get(i).unlock();
+        }
+    }
+
+    private Stripe stripeFor(String id) {
+        return stripes[stripeOf(id)];
+    }
+
+    private int stripeOf(String id) {
+        return stripeOf(id, stripes.length);
+    }
+
+    // Shared with InventorySnapshot, which routes lookups to the same stripe's map.
+    static int stripeOf(String id, int stripeCount) {
+        int h = id.hashCode();
+        return (h ^ (h >>> 16)) & (stripeCount - 1);
+    }
+
+    private static int stripeCount(int processors) {
+        // Four stripes per core keeps collisions rare; a power of two lets stripeOf mask instead of mod.
+        return Integer.highestOneBit(Math.max(1, processors * 4) - 1) << 1;
     }
 
     public void saveToCsv() {
@@ -72,7 +929,7 @@ public class InventoryManager {
             try (FileWriter writer = new FileWriter(reportFile)) {
                 writer.write("ID,Name,Category,Quantity,Price,Supplier\n");
 
-                for (Product p : inventory.values()) {
+                for (Product p : snapshot()) {
                     writer.write(String.format("%s,%s,%s,%d,%.2f,%s\n",
                             p.getId(), p.getName(), p.getCategory(), p.getQuantity(), p.getPrice(), p.getSupplier()));
                 }
@@ -88,4 +945,24 @@ public class InventoryManager {
             return Optional.empty();
         }
     }
-}
\ No newline at end of file
+
+    // One lock stripe and the products that hash to it. Fields change only under the lock; they
+    // are volatile so lock-free readers see each write whole.
+    private static final class Stripe {
+        final ReentrantLock lock = new ReentrantLock();
+        volatile PersistentHashMap<String, Product> products = PersistentHashMap.empty();
+        volatile long quantity;
+        volatile long valueCents;
+        volatile long changes;
+    }
+
+    private static final class Reservation {
+        final Map<String, Integer> lines;
+        final long deadlineNanos;
+
+        Reservation(Map<String, Integer> lines, long deadlineNanos) {
+            this.lines = lines;
+            this.deadlineNanos = deadlineNanos;
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package org.example.service;
+
+import org.example.model.Product;
+import org.example.util.PersistentHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+/**
+ * Point-in-time, read-only view of an {@link InventoryManager}. Taking one costs one read per
+ * lock stripe and copies nothing: it holds the stripes' persistent maps as they were, and the
+ * products and totals all reflect the same instant. A snapshot keeps its version alive only
+ * while it is referenced, after which the garbage collector reclaims it. The products inside are
+ * the versions the manager had at that instant; treat them as read-only.
+ */
+public final class InventorySnapshot implements Iterable<Product> {
+
+    private final List<PersistentHashMap<String, Product>> stripes;
+    private final int size;
+    private final long sequence;
+    private final long totalQuantity;
+    private final long totalValueCents;
+
+    InventorySnapshot(List<PersistentHashMap<String, Product>> stripes, long sequence, long totalQuantity, long totalValueCents) {
+        this.stripes = stripes;
+        this.size = stripes.stream().mapToInt(PersistentHashMap::size).sum();
+        this.sequence = sequence;
+        this.totalQuantity = totalQuantity;
+        this.totalValueCents = totalValueCents;
+    }
+
+    /**
+     * Number of changes applied before this snapshot; later snapshots have larger values.
+     */
+    public long getSequence() { return sequence; }
+    public int size() { return size; }
+    public long getTotalQuantity() { return totalQuantity; }
+    public long getTotalValueCents() { return totalValueCents; }
+    public double getTotalValue() { return totalValueCents / 100.0; }
+
+    public Optional<Product> get(String id) {
+        return Optional.ofNullable(stripes.get(InventoryManager.stripeOf(id, stripes.size())).get(id));
+    }
+
+    public Stream<Product> stream() {
+        return stripes.stream().flatMap(PersistentHashMap::values);
+    }
+
+    @Override
+    public Iterator<Product> iterator() {
+        return stream().iterator();
+    }
+}
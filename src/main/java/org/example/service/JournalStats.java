@@ -0,0 +1,37 @@
+package org.example.service;
+
+public class JournalStats {
+    private final long recordsAppended;
+    private final long groupCommits;
+    private final long snapshots;
+    private final long bytesSinceSnapshot;
+    private final long recordsReplayed;
+    private final double recoveryMillis;
+
+    public JournalStats(long recordsAppended, long groupCommits, long snapshots, long bytesSinceSnapshot,
+                        long recordsReplayed, double recoveryMillis) {
+        this.recordsAppended = recordsAppended;
+        this.groupCommits = groupCommits;
+        this.snapshots = snapshots;
+        this.bytesSinceSnapshot = bytesSinceSnapshot;
+        this.recordsReplayed = recordsReplayed;
+        this.recoveryMillis = recoveryMillis;
+    }
+
+    public long getRecordsAppended() { return recordsAppended; }
+    public long getGroupCommits() { return groupCommits; }
+    public long getSnapshots() { return snapshots; }
+    public long getBytesSinceSnapshot() { return bytesSinceSnapshot; }
+    public long getRecordsReplayed() { return recordsReplayed; }
+    public double getRecoveryMillis() { return recoveryMillis; }
+
+    public double getRecordsPerCommit() {
+        return groupCommits == 0 ? 0.0 : (double) recordsAppended / groupCommits;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("appended=%d, fsyncs=%d (%.1f records/fsync), snapshots=%d, logBytes=%d, replayed=%d, recovery=%.1fms",
+                recordsAppended, groupCommits, getRecordsPerCommit(), snapshots, bytesSinceSnapshot, recordsReplayed, recoveryMillis);
+    }
+}
@@ -0,0 +1,63 @@
+package org.example.service;
+
+import org.example.model.Product;
+
+/**
+ * One change in a batch handed to {@link InventoryManager#applyBatch}. Each type mirrors the
+ * manager's single-item method of the same name.
+ */
+public final class Mutation {
+
+    public enum Type { ADD, UPDATE, ADJUST, REMOVE }
+
+    private final Type type;
+    private final String productId;
+    private final Product product;
+    private final double price;
+    private final int quantity;
+
+    private Mutation(Type type, String productId, Product product, double price, int quantity) {
+        this.type = type;
+        this.productId = productId;
+        this.product = product;
+        this.price = price;
+        this.quantity = quantity;
+    }
+
+    public static Mutation add(Product product) {
+        return new Mutation(Type.ADD, product == null ? null : product.getId(), product, 0, 0);
+    }
+
+    public static Mutation update(String productId, double newPrice, int newQuantity) {
+        return new Mutation(Type.UPDATE, productId, null, newPrice, newQuantity);
+    }
+
+    /** {@code delta} is added to the stock; negative for a sale. */
+    public static Mutation adjust(String productId, int delta) {
+        return new Mutation(Type.ADJUST, productId, null, 0, delta);
+    }
+
+    public static Mutation remove(String productId) {
+        return new Mutation(Type.REMOVE, productId, null, 0, 0);
+    }
+
+    public Type getType() { return type; }
+    public String getProductId() { return productId; }
+    /** The product to insert; null unless this is an ADD. */
+    public Product getProduct() { return product; }
+    public double getPrice() { return price; }
+    /** The new quantity for an UPDATE, the delta for an ADJUST. */
+    public int getQuantity() { return quantity; }
+
+    @Override
+    public String toString() {
+        switch (type) {
+            case UPDATE:
+                return String.format("UPDATE %s -> %d @ %.2f", productId, quantity, price);
+            case ADJUST:
+                return String.format("ADJUST %s %+d", productId, quantity);
+            default:
+                return type + " " + productId;
+        }
+    }
+}
@@ -0,0 +1,272 @@
+package org.example.service;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * Ranked, typo-tolerant search over product names. Names are split into lower-case word tokens;
+ * a sorted token map answers exact and prefix matches, and a trigram index over the distinct
+ * tokens finds candidates within a small edit distance. Every query term must match some word
+ * of the name. Writers are serialized; searches run without locking.
+ */
+public class ProductNameIndex {
+
+    private static final double EXACT_SCORE = 1.0;
+    private static final double FUZZY_SCORE = 0.4;
+    private static final int MAX_PREFIX_EXPANSIONS = 256;
+    private static final int MIN_FUZZY_LENGTH = 3;
+    // Shorter completions score higher, so the longest (then alphabetically last) is the one to drop.
+    private static final Comparator<Map.Entry<String, Set<String>>> WORST_COMPLETION_FIRST =
+            Comparator.comparingInt((Map.Entry<String, Set<String>> e) -> e.getKey().length()).reversed()
+                    .thenComparing(Map.Entry::getKey, Comparator.reverseOrder());
+
+    private final ConcurrentSkipListMap<String, Set<String>> idsByToken = new ConcurrentSkipListMap<>();
+    private final Map<String, Set<String>> tokensByGram = new ConcurrentHashMap<>();
+    private final Object writeLock = new Object();
+
+    public void add(String id, String name) {
+        synchronized (writeLock) {
+            for (String token : tokenize(name)) {
+                Set<String> ids = idsByToken.get(token);
+                if (ids == null) {
+                    ids = ConcurrentHashMap.newKeySet();
+                    idsByToken.put(token, ids);
+                    for (String gram : grams(token)) {
+                        tokensByGram.computeIfAbsent(gram, g -> ConcurrentHashMap.newKeySet()).add(token);
+                    }
+                }
+                ids.add(id);
+            }
+        }
+    }
+
+    public void remove(String id, String name) {
+        synchronized (writeLock) {
+            for (String token : tokenize(name)) {
+                Set<String> ids = idsByToken.get(token);
+                if (ids == null || !ids.remove(id) || !ids.isEmpty()) continue;
+                idsByToken.remove(token);
+                for (String gram : grams(token)) {
+                    Set<String> tokens = tokensByGram.get(gram);
+                    if (tokens != null && tokens.remove(token) && tokens.isEmpty()) {
+                        tokensByGram.remove(gram);
+                    }
+                }
+            }
+        }
+    }
+
+    public int distinctTokens() {
+        return idsByToken.size();
+    }
+
+    /**
+     * Returns up to {@code limit} IDs, best match first. A term scores 1.0 for an exact word,
+     * between 0.5 and 0.9 for a word it is a prefix of (closer to 0.9 the less is missing) and
+     * 0.4 divided by the edit distance for a misspelling (a swapped pair of letters counts as one edit); an ID's score is the sum over terms.
+     */
+    public List<String> search(String query, int limit) {
+        Set<String> terms = tokenize(query);
+        if (terms.isEmpty() || limit <= 0) return List.of();
+
+        // Typo matching is the expensive part, so it is skipped for terms that already have
+        // enough exact and prefix candidates, unless that leaves the result short.
+        List<String> results = search(terms, limit, false);
+        return results.size() < limit ? search(terms, limit, true) : results;
+    }
+
+    private List<String> search(Set<String> terms, int limit, boolean alwaysFuzzy) {
+        List<List<TokenMatch>> perTerm = new ArrayList<>(terms.size());
+        for (String term : terms) {
+            List<TokenMatch> matches = expand(term, alwaysFuzzy ? Long.MAX_VALUE : limit);
+            if (matches.isEmpty()) return List.of();
+            perTerm.add(matches);
+        }
+        // Drive the search from the term with the fewest candidate IDs and probe the others.
+        perTerm.sort(Comparator.comparingLong(ProductNameIndex::candidateCount));
+        List<TokenMatch> driver = perTerm.get(0);
+        List<List<TokenMatch>> others = perTerm.subList(1, perTerm.size());
+        double othersBest = 0;
+        for (List<TokenMatch> matches : others) {
+            othersBest += matches.get(0).score;
+        }
+
+        PriorityQueue<ScoredId> top = new PriorityQueue<>(limit + 1, ScoredId.WORST_FIRST);
+        Set<String> seen = new HashSet<>();
+        for (TokenMatch match : driver) {
+            for (String id : match.ids) {
+                // Every remaining candidate scores at most this; once it cannot beat the worst kept result, stop.
+                if (top.size() == limit && match.score + othersBest <= top.peek().score) {
+                    return ranked(top);
+                }
+                if (!seen.add(id)) continue;
+                double othersScore = probe(others, id);
+                if (othersScore < 0) continue;
+                top.add(new ScoredId(id, match.score + othersScore));
+                if (top.size() > limit) top.poll();
+            }
+        }
+        return ranked(top);
+    }
+
+    private List<TokenMatch> expand(String term, long fuzzyBelow) {
+        List<TokenMatch> matches = new ArrayList<>();
+        Set<String> exact = idsByToken.get(term);
+        if (exact != null) {
+            matches.add(new TokenMatch(EXACT_SCORE, exact));
+        }
+        // Keeps the best-scoring completions, not the first ones in alphabetical order.
+        PriorityQueue<Map.Entry<String, Set<String>>> completions = new PriorityQueue<>(WORST_COMPLETION_FIRST);
+        for (Map.Entry<String, Set<String>> entry : idsByToken.subMap(term, false, term + Character.MAX_VALUE, false).entrySet()) {
+            completions.add(entry);
+            if (completions.size() > MAX_PREFIX_EXPANSIONS) completions.poll();
+        }
+        for (Map.Entry<String, Set<String>> entry : completions) {
+            matches.add(new TokenMatch(0.5 + 0.4 * term.length() / entry.getKey().length(), entry.getValue()));
+        }
+        if (term.length() >= MIN_FUZZY_LENGTH && candidateCount(matches) < fuzzyBelow) {
+            addFuzzyMatches(term, matches);
+        }
+        matches.sort(Comparator.comparingDouble((TokenMatch m) -> m.score).reversed());
+        return matches;
+    }
+
+    private void addFuzzyMatches(String term, List<TokenMatch> matches) {
+        int maxDistance = term.length() <= 5 ? 1 : 2;
+        Set<String> termGrams = grams(term);
+        Map<String, Integer> shared = new HashMap<>();
+        for (String gram : termGrams) {
+            for (String token : tokensByGram.getOrDefault(gram, Collections.emptySet())) {
+                shared.merge(token, 1, Integer::sum);
+            }
+        }
+        // One edit destroys at most four trigrams (a transposition), so closer tokens share at least this many.
+        int minShared = Math.max(1, termGrams.size() - 4 * maxDistance);
+        for (Map.Entry<String, Integer> entry : shared.entrySet()) {
+            String token = entry.getKey();
+            if (entry.getValue() < minShared || token.startsWith(term)) continue;
+            if (Math.abs(token.length() - term.length()) > maxDistance) continue;
+            int distance = editDistance(term, token, maxDistance);
+            Set<String> ids = idsByToken.get(token);
+            if (distance > 0 && distance <= maxDistance && ids != null) {
+                matches.add(new TokenMatch(FUZZY_SCORE / distance, ids));
+            }
+        }
+    }
+
+    // Sum of each other term's best score for this ID, or -1 if some term does not match it.
+    private static double probe(List<List<TokenMatch>> others, String id) {
+        double total = 0;
+        for (List<TokenMatch> matches : others) {
+            double best = -1;
+            for (TokenMatch match : matches) {
+                if (match.ids.contains(id)) {
+                    best = match.score;
+                    break;
+                }
+            }
+            if (best < 0) return -1;
+            total += best;
+        }
+        return total;
+    }
+
+    private static List<String> ranked(PriorityQueue<ScoredId> top) {
+        List<ScoredId> results = new ArrayList<>(top);
+        results.sort(ScoredId.WORST_FIRST.reversed());
+        List<String> ids = new ArrayList<>(results.size());
+        for (ScoredId result : results) {
+            ids.add(result.id);
+        }
+        return ids;
+    }
+
+    private static long candidateCount(List<TokenMatch> matches) {
+        long count = 0;
+        for (TokenMatch match : matches) {
+            count += match.ids.size();
+        }
+        return count;
+    }
+
+    static Set<String> tokenize(String text) {
+        Set<String> tokens = new LinkedHashSet<>();
+        if (text == null) return tokens;
+        for (String token : text.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+")) {
+            if (!token.isEmpty()) tokens.add(token);
+        }
+        return tokens;
+    }
+
+    private static Set<String> grams(String token) {
+        String padded = "$" + token + "$";
+        Set<String> grams = new HashSet<>();
+        for (int i = 0; i + 3 <= padded.length(); i++) {
+            grams.add(padded.substring(i, i + 3));
+        }
+        return grams;
+    }
+
+    // Edit distance counting an adjacent transposition as one edit (optimal string alignment),
+    // giving up with max + 1 as soon as every cell in a row exceeds max.
+    static int editDistance(String a, String b, int max) {
+        int[] beforePrevious = new int[b.length() + 1];
+        int[] previous = new int[b.length() + 1];
+        int[] current = new int[b.length() + 1];
+        for (int j = 0; j <= b.length(); j++) {
+            previous[j] = j;
+        }
+        for (int i = 1; i <= a.length(); i++) {
+            current[0] = i;
+            int rowMin = current[0];
+            for (int j = 1; j <= b.length(); j++) {
+                int cost = a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1;
+                current[j] = Math.min(previous[j - 1] + cost, Math.min(previous[j], current[j - 1]) + 1);
+                if (i > 1 && j > 1 && a.charAt(i - 1) == b.charAt(j - 2) && a.charAt(i - 2) == b.charAt(j - 1)) {
+                    current[j] = Math.min(current[j], beforePrevious[j - 2] + 1);
+                }
+                rowMin = Math.min(rowMin, current[j]);
+            }
+            if (rowMin > max) return max + 1;
+            int[] recycled = beforePrevious;
+            beforePrevious = previous;
+            previous = current;
+            current = recycled;
+        }
+        return previous[b.length()];
+    }
+
+    private static final class TokenMatch {
+        final double score;
+        final Set<String> ids;
+
+        TokenMatch(double score, Set<String> ids) {
+            this.score = score;
+            this.ids = ids;
+        }
+    }
+
+    private static final class ScoredId {
+        static final Comparator<ScoredId> WORST_FIRST = Comparator.comparingDouble((ScoredId s) -> s.score)
+                .thenComparing(s -> s.id, Comparator.reverseOrder());
+
+        final String id;
+        final double score;
+
+        ScoredId(String id, double score) {
+            this.id = id;
+            this.score = score;
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package org.example.service;
+
+import java.util.List;
+
+public class PurchaseOrder {
+    private final String supplier;
+    private final List<ReorderLine> lines;
+    private final long totalUnits;
+    private final double totalCost;
+
+    public PurchaseOrder(String supplier, List<ReorderLine> lines) {
+        this.supplier = supplier;
+        this.lines = List.copyOf(lines);
+        this.totalUnits = lines.stream().mapToLong(ReorderLine::getOrderQuantity).sum();
+        this.totalCost = lines.stream().mapToDouble(ReorderLine::getLineCost).sum();
+    }
+
+    public String getSupplier() { return supplier; }
+    /** Most urgent (fewest days of cover) first. */
+    public List<ReorderLine> getLines() { return lines; }
+    public long getTotalUnits() { return totalUnits; }
+    public double getTotalCost() { return totalCost; }
+
+    @Override
+    public String toString() {
+        return String.format("%s: %d lines, %d units, $%.2f", supplier, lines.size(), totalUnits, totalCost);
+    }
+}
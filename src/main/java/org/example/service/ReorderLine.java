@@ -0,0 +1,48 @@
+package org.example.service;
+
+public class ReorderLine {
+    private final String productId;
+    private final String productName;
+    private final String supplier;
+    private final int availableQuantity;
+    private final double dailyDemand;
+    private final int reorderPoint;
+    private final int orderQuantity;
+    private final double unitPrice;
+
+    public ReorderLine(String productId, String productName, String supplier, int availableQuantity, double dailyDemand,
+                       int reorderPoint, int orderQuantity, double unitPrice) {
+        this.productId = productId;
+        this.productName = productName;
+        this.supplier = supplier;
+        this.availableQuantity = availableQuantity;
+        this.dailyDemand = dailyDemand;
+        this.reorderPoint = reorderPoint;
+        this.orderQuantity = orderQuantity;
+        this.unitPrice = unitPrice;
+    }
+
+    public String getProductId() { return productId; }
+    public String getProductName() { return productName; }
+    public String getSupplier() { return supplier; }
+    public int getAvailableQuantity() { return availableQuantity; }
+    public double getDailyDemand() { return dailyDemand; }
+    public int getReorderPoint() { return reorderPoint; }
+    public int getOrderQuantity() { return orderQuantity; }
+    public double getUnitPrice() { return unitPrice; }
+
+    public double getLineCost() {
+        return orderQuantity * unitPrice;
+    }
+
+    /** Days until the available stock runs out at the current demand; infinite with no demand. */
+    public double getDaysOfCover() {
+        return dailyDemand <= 0 ? Double.POSITIVE_INFINITY : availableQuantity / dailyDemand;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s (%s): order %d, available %d, reorder point %d, %.1f/day, %.1f days of cover",
+                productId, productName, orderQuantity, availableQuantity, reorderPoint, dailyDemand, getDaysOfCover());
+    }
+}
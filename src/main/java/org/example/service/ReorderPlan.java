@@ -0,0 +1,34 @@
+package org.example.service;
+
+import java.util.List;
+
+public class ReorderPlan {
+    private final List<PurchaseOrder> orders;
+    private final long skusScanned;
+    private final double elapsedMillis;
+
+    public ReorderPlan(List<PurchaseOrder> orders, long skusScanned, double elapsedMillis) {
+        this.orders = List.copyOf(orders);
+        this.skusScanned = skusScanned;
+        this.elapsedMillis = elapsedMillis;
+    }
+
+    /** Largest order value first. */
+    public List<PurchaseOrder> getOrders() { return orders; }
+    public long getSkusScanned() { return skusScanned; }
+    public double getElapsedMillis() { return elapsedMillis; }
+
+    public int getLineCount() {
+        return orders.stream().mapToInt(o -> o.getLines().size()).sum();
+    }
+
+    public double getTotalCost() {
+        return orders.stream().mapToDouble(PurchaseOrder::getTotalCost).sum();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%d purchase orders, %d lines, $%.2f, from %d SKUs in %.1fms",
+                orders.size(), getLineCount(), getTotalCost(), skusScanned, elapsedMillis);
+    }
+}
@@ -0,0 +1,132 @@
+package org.example.service;
+
+import org.example.model.Product;
+import org.example.util.StringDictionary;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Works out what to reorder across the whole inventory. For each SKU the reorder point is the
+ * demand expected over the supplier lead time plus a safety margin (never below
+ * {@code minimumReorderPoint}); a SKU whose available (unreserved) stock is at or below it is
+ * reordered up to the reorder point plus {@code coverDays} of demand. The lines are grouped into
+ * one purchase order per supplier.
+ * <p>
+ * The scan is a fork/join task over an array of the products in a manager snapshot: it halves the
+ * index range until partitions hold at most {@value #LEAF_SIZE} products, plans each on a worker
+ * and merges the per-supplier groups on the way back up.
+ */
+public class ReorderPlanner {
+
+    private static final int LEAF_SIZE = 4_096;
+
+    private final DemandEstimator demand;
+    private final int leadTimeDays;
+    private final int safetyDays;
+    private final int coverDays;
+    private final int minimumReorderPoint;
+
+    public ReorderPlanner(DemandEstimator demand, int leadTimeDays, int safetyDays, int coverDays, int minimumReorderPoint) {
+        if (leadTimeDays < 0 || safetyDays < 0 || coverDays <= 0 || minimumReorderPoint < 0) {
+            throw new IllegalArgumentException("Lead time, safety days and minimum must not be negative; cover days must be positive.");
+        }
+        this.demand = demand;
+        this.leadTimeDays = leadTimeDays;
+        this.safetyDays = safetyDays;
+        this.coverDays = coverDays;
+        this.minimumReorderPoint = minimumReorderPoint;
+    }
+
+    public ReorderPlan plan(InventoryManager manager) {
+        return plan(manager, ForkJoinPool.commonPool());
+    }
+
+    public ReorderPlan plan(InventoryManager manager, ForkJoinPool pool) {
+        long begin = System.nanoTime();
+        Product[] products = manager.snapshot().stream().toArray(Product[]::new);
+        Partial result = pool.invoke(new PlanTask(manager, products, 0, products.length));
+
+        List<PurchaseOrder> orders = new ArrayList<>(result.lines.size());
+        Comparator<ReorderLine> urgency = Comparator.comparingDouble(ReorderLine::getDaysOfCover).thenComparing(ReorderLine::getProductId);
+        result.lines.forEach((supplierCode, lines) -> {
+            lines.sort(urgency);
+            orders.add(new PurchaseOrder(StringDictionary.SUPPLIERS.decode(supplierCode), lines));
+        });
+        orders.sort(Comparator.comparingDouble(PurchaseOrder::getTotalCost).reversed());
+        return new ReorderPlan(orders, result.scanned, (System.nanoTime() - begin) / 1e6);
+    }
+
+    // Returns null when the product does not need reordering.
+    private ReorderLine evaluate(InventoryManager manager, Product p) {
+        int available = p.getQuantity() - manager.getReservedQuantity(p.getId());
+        double daily = Math.max(0, demand.dailyDemand(p));
+        int reorderPoint = (int) Math.max(minimumReorderPoint, Math.ceil(daily * (leadTimeDays + safetyDays)));
+        if (available > reorderPoint) return null;
+        long orderUpTo = reorderPoint + (long) Math.ceil(daily * coverDays);
+        int orderQuantity = (int) Math.min(Integer.MAX_VALUE, orderUpTo - available);
+        if (orderQuantity <= 0) return null;
+        return new ReorderLine(p.getId(), p.getName(), p.getSupplier(), available, daily, reorderPoint, orderQuantity, p.getPrice());
+    }
+
+    // Reorder lines of one partition, grouped by supplier code.
+    private static final class Partial {
+        final Map<Integer, List<ReorderLine>> lines = new HashMap<>();
+        long scanned;
+
+        void add(int supplierCode, ReorderLine line) {
+            lines.computeIfAbsent(supplierCode, k -> new ArrayList<>()).add(line);
+        }
+
+        void merge(Partial other) {
+            scanned += other.scanned;
+            other.lines.forEach((code, more) -> lines.merge(code, more, (mine, theirs) -> {
+                mine.addAll(theirs);
+                return mine;
+            }));
+        }
+    }
+
+    @SuppressWarnings("serial") // Runs in a ForkJoinPool and is never serialized.
+    private final class PlanTask extends RecursiveTask<Partial> {
+        private final InventoryManager manager;
+        private final Product[] products;
+        private final int from;
+        private final int to;
+
+        PlanTask(InventoryManager manager, Product[] products, int from, int to) {
+            this.manager = manager;
+            this.products = products;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected Partial compute() {
+            List<PlanTask> forked = new ArrayList<>();
+            int end = to;
+            while (end - from > LEAF_SIZE) {
+                int mid = (from + end) >>> 1;
+                PlanTask task = new PlanTask(manager, products, mid, end);
+                task.fork();
+                forked.add(task);
+                end = mid;
+            }
+            Partial partial = new Partial();
+            for (int i = from; i < end; i++) {
+                Product p = products[i];
+                partial.scanned++;
+                ReorderLine line = evaluate(manager, p);
+                if (line != null) partial.add(p.getSupplierCode(), line);
+            }
+            for (int i = forked.size() - 1; i >= 0; i--) {
+                partial.merge(forked.get(i).join());
+            }
+            return partial;
+        }
+    }
+}
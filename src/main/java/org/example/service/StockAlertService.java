@@ -1,6 +1,7 @@
 package org.example.service;
 import org.example.model.Product;
-import java.util.HashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.List;
 import java.util.Map;
 import java.time.LocalDateTime;
 
@@ -10,7 +11,7 @@ public class StockAlertService {
     private static final int LOW_STOCK_THRESHOLD = 20;
     private static final String ALERT_RECIPIENT_EMAIL = "inventory.manager@corp.com";
 
-    private final Map<String, LocalDateTime> lastAlertTime = new HashMap<>();
+    private final Map<String, LocalDateTime> lastAlertTime = new ConcurrentHashMap<>();
     private static final long ALERT_COOLDOWN_MINUTES = 5;
 
     public StockAlertService(EmailUtil emailUtil) {
@@ -51,6 +52,22 @@ public class StockAlertService {
         }
     }
 
+    /**
+     * Runs the low-stock check for every product at or under the threshold, reading only that
+     * slice of the inventory through its quantity index.
+     */
+    public int alertLowStock(InventoryManager manager) {
+        List<Product> lowStock = manager.findLowStock(LOW_STOCK_THRESHOLD);
+        for (Product p : lowStock) {
+            checkStockAndAlert(p, p.getQuantity());
+        }
+        return lowStock.size();
+    }
+
+    public int getThresholdLimit() {
+        return LOW_STOCK_THRESHOLD;
+    }
+
     public void setThresholdLimit(int threshold) {
         System.out.println("Threshold limit cannot be changed dynamically in this demo setup (uses static final field).");
         System.out.println("Current LOW_STOCK_THRESHOLD is: " + LOW_STOCK_THRESHOLD);
@@ -0,0 +1,333 @@
+package org.example.service;
+
+import org.example.model.Product;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Per-SKU history of stock level and price, kept in compressed {@link HistoryChunk}s of a few
+ * bits per change. Registered as a listener of an {@link InventoryManager} it records every
+ * add, update and removal (a removal records quantity 0); {@link #record} backfills history
+ * directly. Range queries decode only the chunks that overlap the range.
+ */
+public class StockHistory implements InventoryChangeListener {
+
+    private static final int MAX_ROLLUP_BUCKETS = 1_000_000;
+
+    private final Clock clock;
+    private final Map<String, Series> series = new ConcurrentHashMap<>();
+
+    public StockHistory() {
+        this(Clock.systemUTC());
+    }
+
+    public StockHistory(Clock clock) {
+        this.clock = clock;
+    }
+
+    @Override
+    public void onAdd(Product product) {
+    }
+
+    @Override
+    public void onUpdate(Product product) {
+    }
+
+    @Override
+    public void onRemove(String id) {
+    }
+
+    @Override
+    public void onChange(InventoryEvent.Type type, String id, double oldPrice, int oldQuantity, double newPrice, int newQuantity) {
+        Series s = series.computeIfAbsent(id, k -> new Series());
+        if (type == InventoryEvent.Type.REMOVE) {
+            s.append(clock.millis(), 0, oldPrice, true);
+        } else {
+            s.append(clock.millis(), newQuantity, newPrice, true);
+        }
+    }
+
+    /**
+     * Appends a point to the SKU's history. Points must arrive in time order per SKU; an older
+     * timestamp is rejected.
+     */
+    public boolean record(String id, long timestampMillis, int quantity, double price) {
+        if (!series.computeIfAbsent(id, k -> new Series()).append(timestampMillis, quantity, price, false)) {
+            System.err.println("❌ History for " + id + " already extends past " + timestampMillis + "; points must arrive in time order.");
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Changes with {@code fromMillis <= timestamp < toMillis}, oldest first. If the SKU already had a
+     * level before the range, the result starts with that level stamped at {@code fromMillis}.
+     */
+    public List<StockPoint> range(String id, long fromMillis, long toMillis) {
+        List<StockPoint> points = new ArrayList<>();
+        Series s = series.get(id);
+        if (s == null || toMillis <= fromMillis) return points;
+        s.scan(fromMillis, toMillis, (timestamp, quantity, price) -> {
+            points.add(new StockPoint(Math.max(timestamp, fromMillis), quantity, price));
+            return true;
+        });
+        return points;
+    }
+
+    /** History over the last {@code window}, e.g. {@code recent(id, Duration.ofDays(30))}. */
+    public List<StockPoint> recent(String id, Duration window) {
+        long now = clock.millis();
+        return range(id, now - window.toMillis(), now + 1);
+    }
+
+    /**
+     * Downsamples {@code [fromMillis, toMillis)} into buckets of {@code bucketMillis}. Buckets
+     * before the SKU's first point, or after the current time, are left out, and only the
+     * buckets between those two are allocated. Throws if that span would still need more than
+     * {@value #MAX_ROLLUP_BUCKETS} buckets.
+     */
+    public List<StockRollup> rollup(String id, long fromMillis, long toMillis, long bucketMillis) {
+        if (bucketMillis <= 0) {
+            throw new IllegalArgumentException("Bucket size must be positive.");
+        }
+        List<StockRollup> result = new ArrayList<>();
+        Series s = series.get(id);
+        if (s == null || toMillis <= fromMillis) return result;
+        long[] bounds = s.bounds();
+        if (bounds == null) return result;
+        // One clock read sizes the buckets and ends the last level, so they cannot disagree.
+        long now = clock.millis();
+        long start = Math.max(fromMillis, bounds[0]);
+        long latest = Math.max(now, bounds[1]);
+        long end = latest == Long.MAX_VALUE ? toMillis : Math.min(toMillis, latest + 1);
+        if (end <= start) return result;
+        // Step back to the bucket boundary on fromMillis's grid; taken mod bucket so it cannot overflow.
+        long alignedStart = start - Math.floorMod(Math.floorMod(start, bucketMillis) - Math.floorMod(fromMillis, bucketMillis), bucketMillis);
+        long span = end - alignedStart;
+        long buckets = span / bucketMillis + (span % bucketMillis == 0 ? 0 : 1);
+        if (span < 0 || buckets > MAX_ROLLUP_BUCKETS) {
+            throw new IllegalArgumentException("Rollup of " + id + " would need more than " + MAX_ROLLUP_BUCKETS
+                    + " buckets of " + bucketMillis + " ms; use larger buckets or a narrower range.");
+        }
+        Rollups rollups = new Rollups(alignedStart, toMillis, bucketMillis, (int) buckets);
+        s.scan(fromMillis, toMillis, rollups);
+        rollups.finish(Math.min(toMillis, Math.max(now, rollups.levelSince)), result);
+        return result;
+    }
+
+    /**
+     * Units taken out of stock in {@code [fromMillis, toMillis)}: the sum of every drop in
+     * quantity, ignoring restocks.
+     */
+    public long consumption(String id, long fromMillis, long toMillis) {
+        Series s = series.get(id);
+        if (s == null || toMillis <= fromMillis) return 0;
+        long[] consumed = {0};
+        long[] previous = {Long.MIN_VALUE};
+        s.scan(fromMillis, toMillis, (timestamp, quantity, price) -> {
+            if (previous[0] != Long.MIN_VALUE && quantity < previous[0]) consumed[0] += previous[0] - quantity;
+            previous[0] = quantity;
+            return true;
+        });
+        return consumed[0];
+    }
+
+    /**
+     * Average daily consumption over the trailing {@code lookback}, for the {@link ReorderPlanner}.
+     */
+    public DemandEstimator demandEstimator(Duration lookback) {
+        double days = lookback.toMillis() / 86_400_000.0;
+        return product -> {
+            long now = clock.millis();
+            return consumption(product.getId(), now - lookback.toMillis(), now + 1) / days;
+        };
+    }
+
+    public HistoryStats getStats() {
+        long points = 0;
+        long chunks = 0;
+        long bytes = 0;
+        for (Series s : series.values()) {
+            synchronized (s) {
+                for (HistoryChunk chunk : s.chunks) {
+                    points += chunk.size();
+                    bytes += chunk.sizeInBytes();
+                }
+                chunks += s.chunks.size();
+            }
+        }
+        return new HistoryStats(series.size(), points, chunks, bytes);
+    }
+
+    private static final class Series {
+        // Oldest first; only the last chunk is still being appended to.
+        final List<HistoryChunk> chunks = new ArrayList<>();
+
+        // Listener appends clamp to the last timestamp, so a clock stepping back cannot lose a change.
+        synchronized boolean append(long timestamp, int quantity, double price, boolean clamp) {
+            HistoryChunk last = chunks.isEmpty() ? null : chunks.get(chunks.size() - 1);
+            if (last != null && timestamp < last.getLastTimestamp()) {
+                if (!clamp) return false;
+                timestamp = last.getLastTimestamp();
+            }
+            if (last == null || last.isFull()) {
+                if (last != null) last.seal();
+                chunks.add(new HistoryChunk(timestamp, quantity, price));
+            } else {
+                last.append(timestamp, quantity, price);
+            }
+            return true;
+        }
+
+        // First and last timestamps, or null before the first point.
+        synchronized long[] bounds() {
+            if (chunks.isEmpty()) return null;
+            return new long[]{chunks.get(0).getFirstTimestamp(), chunks.get(chunks.size() - 1).getLastTimestamp()};
+        }
+
+        // Visits the last point before from (if any), then every point up to to.
+        synchronized void scan(long from, long to, HistoryChunk.PointVisitor visitor) {
+            int lo = 0;
+            int hi = chunks.size();
+            while (lo < hi) {
+                int mid = (lo + hi) >>> 1;
+                if (chunks.get(mid).getLastTimestamp() < from) lo = mid + 1;
+                else hi = mid;
+            }
+            long[] carryTimestamp = {Long.MIN_VALUE};
+            int[] carryQuantity = new int[1];
+            double[] carryPrice = new double[1];
+            if (lo > 0) {
+                HistoryChunk before = chunks.get(lo - 1);
+                carryTimestamp[0] = before.getLastTimestamp();
+                carryQuantity[0] = before.getLastQuantity();
+                carryPrice[0] = before.getLastPrice();
+            }
+            boolean[] inRange = {false};
+            boolean[] stopped = {false};
+            for (int i = lo; i < chunks.size() && chunks.get(i).getFirstTimestamp() < to && !stopped[0]; i++) {
+                chunks.get(i).forEach((timestamp, quantity, price) -> {
+                    if (timestamp < from) {
+                        carryTimestamp[0] = timestamp;
+                        carryQuantity[0] = quantity;
+                        carryPrice[0] = price;
+                        return true;
+                    }
+                    if (timestamp >= to) {
+                        stopped[0] = true;
+                        return false;
+                    }
+                    if (!inRange[0]) {
+                        inRange[0] = true;
+                        if (carryTimestamp[0] != Long.MIN_VALUE) visitor.visit(carryTimestamp[0], carryQuantity[0], carryPrice[0]);
+                    }
+                    return visitor.visit(timestamp, quantity, price);
+                });
+            }
+            if (!inRange[0] && carryTimestamp[0] != Long.MIN_VALUE) {
+                visitor.visit(carryTimestamp[0], carryQuantity[0], carryPrice[0]);
+            }
+        }
+    }
+
+    // Folds a step function of stock levels into fixed buckets starting at from; the carried-in
+    // level is clipped to from. The caller sizes the arrays to the buckets that can hold data.
+    private static final class Rollups implements HistoryChunk.PointVisitor {
+        final long from;
+        final long to;
+        final long bucket;
+        final int[] min;
+        final int[] max;
+        final int[] close;
+        final double[] closePrice;
+        final double[] area;
+        final long[] covered;
+        final int[] changes;
+        final boolean[] present;
+        boolean hasLevel;
+        int level;
+        double price;
+        long levelSince = Long.MIN_VALUE;
+
+        Rollups(long from, long to, long bucket, int n) {
+            this.from = from;
+            this.to = to;
+            this.bucket = bucket;
+            min = new int[n];
+            max = new int[n];
+            close = new int[n];
+            closePrice = new double[n];
+            area = new double[n];
+            covered = new long[n];
+            changes = new int[n];
+            present = new boolean[n];
+        }
+
+        @Override
+        public boolean visit(long timestamp, int quantity, double newPrice) {
+            boolean carried = timestamp < from;
+            timestamp = Math.max(timestamp, from);
+            if (hasLevel) extend(timestamp);
+            int b = bucketOf(timestamp);
+            if (!present[b]) {
+                open(b, quantity, newPrice);
+            } else {
+                min[b] = Math.min(min[b], quantity);
+                max[b] = Math.max(max[b], quantity);
+                close[b] = quantity;
+                closePrice[b] = newPrice;
+            }
+            if (!carried) changes[b]++;
+            hasLevel = true;
+            level = quantity;
+            price = newPrice;
+            levelSince = timestamp;
+            return true;
+        }
+
+        void finish(long until, List<StockRollup> result) {
+            if (hasLevel) extend(until);
+            for (int b = 0; b < present.length; b++) {
+                if (!present[b]) continue;
+                long start = from + b * bucket;
+                long end = start + bucket;
+                if (end < start || end > to) end = to;
+                double average = covered[b] == 0 ? close[b] : area[b] / covered[b];
+                result.add(new StockRollup(start, end, min[b], max[b], close[b], average, closePrice[b], changes[b]));
+            }
+        }
+
+        // Accrues the current level from levelSince to until, opening each bucket it crosses into.
+        // Stops at the end of the last bucket, which the caller sized to cover until.
+        private void extend(long until) {
+            int b = Math.min(bucketOf(levelSince), present.length - 1);
+            while (levelSince < until) {
+                long room = bucket - (levelSince - from) % bucket;
+                long end = until - levelSince <= room ? until : levelSince + room;
+                area[b] += (double) level * (end - levelSince);
+                covered[b] += end - levelSince;
+                levelSince = end;
+                if (end < until) {
+                    if (b == present.length - 1) break;
+                    if (!present[++b]) open(b, level, price);
+                }
+            }
+        }
+
+        private void open(int b, int quantity, double newPrice) {
+            present[b] = true;
+            min[b] = quantity;
+            max[b] = quantity;
+            close[b] = quantity;
+            closePrice[b] = newPrice;
+        }
+
+        private int bucketOf(long timestamp) {
+            return (int) ((timestamp - from) / bucket);
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package org.example.service;
+
+import java.time.Instant;
+
+public class StockPoint {
+    private final long timestampMillis;
+    private final int quantity;
+    private final double price;
+
+    public StockPoint(long timestampMillis, int quantity, double price) {
+        this.timestampMillis = timestampMillis;
+        this.quantity = quantity;
+        this.price = price;
+    }
+
+    public long getTimestampMillis() { return timestampMillis; }
+    public int getQuantity() { return quantity; }
+    public double getPrice() { return price; }
+
+    @Override
+    public String toString() {
+        return String.format("%s: %d @ %.2f", Instant.ofEpochMilli(timestampMillis), quantity, price);
+    }
+}
@@ -0,0 +1,46 @@
+package org.example.service;
+
+import java.time.Instant;
+
+/**
+ * Stock level of one SKU over {@code [bucketStartMillis, bucketEndMillis)}. The average is
+ * weighted by how long each level lasted; a bucket with no changes carries the level it
+ * started with.
+ */
+public class StockRollup {
+    private final long bucketStartMillis;
+    private final long bucketEndMillis;
+    private final int minQuantity;
+    private final int maxQuantity;
+    private final int closeQuantity;
+    private final double averageQuantity;
+    private final double closePrice;
+    private final int changes;
+
+    public StockRollup(long bucketStartMillis, long bucketEndMillis, int minQuantity, int maxQuantity, int closeQuantity,
+                       double averageQuantity, double closePrice, int changes) {
+        this.bucketStartMillis = bucketStartMillis;
+        this.bucketEndMillis = bucketEndMillis;
+        this.minQuantity = minQuantity;
+        this.maxQuantity = maxQuantity;
+        this.closeQuantity = closeQuantity;
+        this.averageQuantity = averageQuantity;
+        this.closePrice = closePrice;
+        this.changes = changes;
+    }
+
+    public long getBucketStartMillis() { return bucketStartMillis; }
+    public long getBucketEndMillis() { return bucketEndMillis; }
+    public int getMinQuantity() { return minQuantity; }
+    public int getMaxQuantity() { return maxQuantity; }
+    public int getCloseQuantity() { return closeQuantity; }
+    public double getAverageQuantity() { return averageQuantity; }
+    public double getClosePrice() { return closePrice; }
+    public int getChanges() { return changes; }
+
+    @Override
+    public String toString() {
+        return String.format("%s: min=%d, max=%d, close=%d, avg=%.1f, price=%.2f, changes=%d",
+                Instant.ofEpochMilli(bucketStartMillis), minQuantity, maxQuantity, closeQuantity, averageQuantity, closePrice, changes);
+    }
+}
@@ -0,0 +1,381 @@
+package org.example.service;
+
+import org.example.dao.BatchResult;
+import org.example.dao.ProductDAO;
+import org.example.model.Product;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Collects inventory changes per product ID and persists them to a {@link ProductDAO} in the
+ * background. Repeated changes to one SKU collapse into a single write of its latest state.
+ * A batch is flushed once {@code batchSize} IDs are dirty or the oldest change is
+ * {@code flushIntervalMillis} old. Producers block once {@code capacity} distinct IDs are pending;
+ * changes heard from an {@link InventoryManager} are queued under its locks without waiting, and the
+ * mutating thread waits for room in {@link #afterChange}, once those locks are released.
+ * <p>
+ * Rows the DAO fails to write are queued again behind any newer change to the same SKU and
+ * retried with exponential backoff, up to {@value #MAX_ATTEMPTS} attempts.
+ */
+public class WriteBehindQueue implements InventoryChangeListener {
+
+    private enum Kind { ADD, UPDATE, DELETE, REPLACE }
+
+    private static final int MAX_ATTEMPTS = 5;
+    private static final long FIRST_BACKOFF_NANOS = TimeUnit.MILLISECONDS.toNanos(50);
+
+    private final ProductDAO dao;
+    private final int capacity;
+    private final int batchSize;
+    private final long flushIntervalNanos;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition notFull = lock.newCondition();
+    private final Condition flushRequested = lock.newCondition();
+    private final Condition drained = lock.newCondition();
+    private final LinkedHashMap<String, PendingWrite> pending = new LinkedHashMap<>();
+    private final Thread flusher;
+    private boolean flushNow;
+    private boolean writing;
+    private long backoffNanos;
+    private long failedAt;
+    private volatile boolean closed;
+
+    private final LongAdder flushes = new LongAdder();
+    private final LongAdder writesFlushed = new LongAdder();
+    private final LongAdder writesCoalesced = new LongAdder();
+    private final LongAdder failedWrites = new LongAdder();
+    private final AtomicLong maxFlushLagNanos = new AtomicLong();
+    private volatile long lastFlushLagNanos;
+
+    public WriteBehindQueue(ProductDAO dao, int capacity, int batchSize, long flushIntervalMillis) {
+        if (capacity <= 0 || batchSize <= 0 || flushIntervalMillis <= 0) {
+            throw new IllegalArgumentException("Capacity, batch size and flush interval must be positive.");
+        }
+        this.dao = dao;
+        this.capacity = capacity;
+        this.batchSize = batchSize;
+        this.flushIntervalNanos = TimeUnit.MILLISECONDS.toNanos(flushIntervalMillis);
+        this.flusher = new Thread(this::runFlusher, "write-behind-flusher");
+        this.flusher.setDaemon(true);
+        this.flusher.start();
+    }
+
+    @Override
+    public void onAdd(Product product) {
+        record(product.getId(), Kind.ADD, product);
+    }
+
+    @Override
+    public void onUpdate(Product product) {
+        record(product.getId(), Kind.UPDATE, product);
+    }
+
+    @Override
+    public void onRemove(String id) {
+        record(id, Kind.DELETE, null);
+    }
+
+    /**
+     * Waits, with the manager's locks released, until there is room for the next change.
+     */
+    @Override
+    public void afterChange() {
+        awaitCapacity();
+    }
+
+    /**
+     * Starts writing a finished batch right away instead of waiting out the flush interval;
+     * does not wait for the write.
+     */
+    @Override
+    public void onBatchEnd() {
+        lock.lock();
+        try {
+            flushNow = true;
+            flushRequested.signal();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void recordAdd(Product product) {
+        record(product.getId(), Kind.ADD, product);
+        awaitCapacity();
+    }
+
+    public void recordUpdate(Product product) {
+        record(product.getId(), Kind.UPDATE, product);
+        awaitCapacity();
+    }
+
+    public void recordDelete(String id) {
+        record(id, Kind.DELETE, null);
+        awaitCapacity();
+    }
+
+    /**
+     * Flushes everything recorded so far and waits until it has reached the DAO.
+     */
+    public void flush() {
+        lock.lock();
+        try {
+            flushNow = true;
+            flushRequested.signal();
+            while ((!pending.isEmpty() || writing) && flusher.isAlive()) {
+                drained.await();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public WriteBehindStats getStats() {
+        int size;
+        long currentLag = 0;
+        lock.lock();
+        try {
+            size = pending.size();
+            if (!pending.isEmpty()) {
+                currentLag = System.nanoTime() - pending.values().iterator().next().firstDirtyAt;
+            }
+        } finally {
+            lock.unlock();
+        }
+        return new WriteBehindStats(size, flushes.sum(), writesFlushed.sum(), writesCoalesced.sum(), failedWrites.sum(),
+                currentLag / 1e6, lastFlushLagNanos / 1e6, maxFlushLagNanos.get() / 1e6);
+    }
+
+    /**
+     * Stops accepting changes and blocks until every pending write has been flushed.
+     */
+    @Override
+    public void close() {
+        lock.lock();
+        try {
+            closed = true;
+            flushRequested.signal();
+            notFull.signalAll();
+        } finally {
+            lock.unlock();
+        }
+        try {
+            flusher.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // Never blocks: it may run under the manager's stripe locks.
+    private void record(String id, Kind kind, Product product) {
+        lock.lock();
+        try {
+            if (closed) {
+                throw new IllegalStateException("Write-behind queue is closed.");
+            }
+            PendingWrite existing = pending.get(id);
+            if (existing == null) {
+                pending.put(id, new PendingWrite(id, kind, product, System.nanoTime()));
+            } else {
+                existing.kind = merge(existing.kind, kind);
+                existing.product = product;
+                writesCoalesced.increment();
+            }
+            if (pending.size() >= batchSize) {
+                flushRequested.signal();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void awaitCapacity() {
+        lock.lock();
+        try {
+            while (pending.size() >= capacity && !closed) {
+                flushNow = true;
+                flushRequested.signal();
+                notFull.await();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // A DELETE followed by an ADD must really replace the row, since the new product may differ in every column.
+    private static Kind merge(Kind previous, Kind next) {
+        if (next == Kind.DELETE) return Kind.DELETE;
+        if (previous == Kind.DELETE) return Kind.REPLACE;
+        return previous == Kind.UPDATE ? next : previous;
+    }
+
+    private void runFlusher() {
+        List<PendingWrite> failed = List.of();
+        while (true) {
+            List<PendingWrite> batch;
+            lock.lock();
+            try {
+                writing = false;
+                requeue(failed);
+                while (!isFlushDue()) {
+                    if (pending.isEmpty()) {
+                        flushNow = false;
+                        drained.signalAll();
+                        if (closed) return;
+                        flushRequested.await();
+                    } else {
+                        flushRequested.awaitNanos(nanosUntilFlush());
+                    }
+                }
+                batch = drain();
+                writing = true;
+                notFull.signalAll();
+            } catch (InterruptedException e) {
+                closed = true;
+                failed = List.of();
+                continue;
+            } finally {
+                lock.unlock();
+            }
+            failed = write(batch);
+        }
+    }
+
+    private boolean isFlushDue() {
+        return !pending.isEmpty() && nanosUntilFlush() <= 0;
+    }
+
+    private long nanosUntilFlush() {
+        long now = System.nanoTime();
+        if (backoffNanos > 0 && now - failedAt < backoffNanos) return backoffNanos - (now - failedAt);
+        if (closed || flushNow || pending.size() >= batchSize) return 0;
+        return flushIntervalNanos - (now - pending.values().iterator().next().firstDirtyAt);
+    }
+
+    // Puts failed writes back without losing a newer change to the same SKU, and backs off.
+    private void requeue(List<PendingWrite> failed) {
+        if (failed.isEmpty()) {
+            backoffNanos = 0;
+            return;
+        }
+        int givenUp = 0;
+        for (PendingWrite w : failed) {
+            if (++w.attempts >= MAX_ATTEMPTS) {
+                givenUp++;
+                continue;
+            }
+            PendingWrite newer = pending.get(w.id);
+            if (newer == null) {
+                pending.put(w.id, w);
+            } else {
+                // The newer state wins, but a failed delete must still happen before it.
+                newer.kind = merge(w.kind, newer.kind);
+            }
+        }
+        if (givenUp > 0) {
+            System.err.println("❌ Write-behind gave up on " + givenUp + " products after " + MAX_ATTEMPTS + " attempts.");
+        }
+        backoffNanos = backoffNanos == 0 ? FIRST_BACKOFF_NANOS : backoffNanos * 2;
+        failedAt = System.nanoTime();
+    }
+
+    private List<PendingWrite> drain() {
+        List<PendingWrite> batch = new ArrayList<>(Math.min(batchSize, pending.size()));
+        Iterator<Map.Entry<String, PendingWrite>> it = pending.entrySet().iterator();
+        while (it.hasNext() && batch.size() < batchSize) {
+            batch.add(it.next().getValue());
+            it.remove();
+        }
+        return batch;
+    }
+
+    // Returns the writes that did not reach the DAO.
+    private List<PendingWrite> write(List<PendingWrite> batch) {
+        List<String> deletes = new ArrayList<>();
+        List<Product> adds = new ArrayList<>();
+        List<Product> updates = new ArrayList<>();
+        long oldest = Long.MAX_VALUE;
+        for (PendingWrite w : batch) {
+            oldest = Math.min(oldest, w.firstDirtyAt);
+            switch (w.kind) {
+                case DELETE:
+                    deletes.add(w.id);
+                    break;
+                case REPLACE:
+                    deletes.add(w.id);
+                    adds.add(w.product);
+                    break;
+                case ADD:
+                    adds.add(w.product);
+                    break;
+                default:
+                    updates.add(w.product);
+            }
+        }
+
+        List<PendingWrite> failed = new ArrayList<>();
+        try {
+            if (!deletes.isEmpty()) {
+                dao.deleteProducts(deletes);
+            }
+            // Upsert semantics: an ADD whose row already exists becomes an update, and vice versa.
+            List<Product> retryAsUpdate = failedRows(adds.isEmpty() ? null : dao.addProducts(adds), adds);
+            List<Product> retryAsAdd = failedRows(updates.isEmpty() ? null : dao.updateProducts(updates), updates);
+            List<Product> failedRows = failedRows(retryAsUpdate.isEmpty() ? null : dao.updateProducts(retryAsUpdate), retryAsUpdate);
+            failedRows.addAll(failedRows(retryAsAdd.isEmpty() ? null : dao.addProducts(retryAsAdd), retryAsAdd));
+            if (!failedRows.isEmpty()) {
+                Map<String, PendingWrite> byId = new HashMap<>();
+                batch.forEach(w -> byId.put(w.id, w));
+                failedRows.forEach(p -> failed.add(byId.get(p.getId())));
+            }
+        } catch (RuntimeException e) {
+            failed.addAll(batch);
+            System.err.println("❌ Write-behind flush of " + batch.size() + " products failed: " + e.getMessage());
+        }
+
+        long lag = System.nanoTime() - oldest;
+        lastFlushLagNanos = lag;
+        maxFlushLagNanos.accumulateAndGet(lag, Math::max);
+        flushes.increment();
+        writesFlushed.add(batch.size() - failed.size());
+        failedWrites.add(failed.size());
+        return failed;
+    }
+
+    private static List<Product> failedRows(BatchResult result, List<Product> rows) {
+        List<Product> failed = new ArrayList<>();
+        if (result == null) return failed;
+        for (int i = 0; i < result.size(); i++) {
+            if (!result.isSuccess(i)) failed.add(rows.get(i));
+        }
+        return failed;
+    }
+
+    private static final class PendingWrite {
+        final String id;
+        final long firstDirtyAt;
+        Kind kind;
+        Product product;
+        int attempts;
+
+        PendingWrite(String id, Kind kind, Product product, long firstDirtyAt) {
+            this.id = id;
+            this.kind = kind;
+            this.product = product;
+            this.firstDirtyAt = firstDirtyAt;
+        }
+    }
+}
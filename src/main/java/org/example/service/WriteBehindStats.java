@@ -0,0 +1,39 @@
+package org.example.service;
+
+public class WriteBehindStats {
+    private final int pending;
+    private final long flushes;
+    private final long writesFlushed;
+    private final long writesCoalesced;
+    private final long failedWrites;
+    private final double currentLagMillis;
+    private final double lastFlushLagMillis;
+    private final double maxFlushLagMillis;
+
+    public WriteBehindStats(int pending, long flushes, long writesFlushed, long writesCoalesced, long failedWrites,
+                            double currentLagMillis, double lastFlushLagMillis, double maxFlushLagMillis) {
+        this.pending = pending;
+        this.flushes = flushes;
+        this.writesFlushed = writesFlushed;
+        this.writesCoalesced = writesCoalesced;
+        this.failedWrites = failedWrites;
+        this.currentLagMillis = currentLagMillis;
+        this.lastFlushLagMillis = lastFlushLagMillis;
+        this.maxFlushLagMillis = maxFlushLagMillis;
+    }
+
+    public int getPending() { return pending; }
+    public long getFlushes() { return flushes; }
+    public long getWritesFlushed() { return writesFlushed; }
+    public long getWritesCoalesced() { return writesCoalesced; }
+    public long getFailedWrites() { return failedWrites; }
+    public double getCurrentLagMillis() { return currentLagMillis; }
+    public double getLastFlushLagMillis() { return lastFlushLagMillis; }
+    public double getMaxFlushLagMillis() { return maxFlushLagMillis; }
+
+    @Override
+    public String toString() {
+        return String.format("pending=%d, flushes=%d, flushed=%d, coalesced=%d, failed=%d, lag=%.1fms, lastFlushLag=%.1fms, maxFlushLag=%.1fms",
+                pending, flushes, writesFlushed, writesCoalesced, failedWrites, currentLagMillis, lastFlushLagMillis, maxFlushLagMillis);
+    }
+}
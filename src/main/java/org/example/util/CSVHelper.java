@@ -1,12 +1,10 @@
 package org.example.util;
 import org.example.model.Product;
-import java.io.BufferedReader;
 import java.io.InputStream;
-import java.io.InputStreamReader;
-import java.io.FileReader;
 import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
 import java.time.LocalDate;
-import java.time.format.DateTimeParseException;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -46,53 +44,20 @@ class CSVHelper {
     }
 
     private static List<Product> loadProductsFromResource() throws IOException {
-        List<Product> products = new ArrayList<>();
         try (InputStream is = CSVHelper.class.getClassLoader().getResourceAsStream(CSV_FILE)) {
             if (is == null) {
                 throw new IOException("CSV file not found in resources.");
             }
-            try (BufferedReader br = new BufferedReader(new InputStreamReader(is))) {
-                parseCSV(br, products);
-            }
+            return ProductCsvParser.parse(ByteBuffer.wrap(is.readAllBytes()));
         }
-        return products;
     }
 
+    // Maps the file instead of reading it through a Reader; see ProductCsvParser.
     private static List<Product> loadProductsFromFileSystem() {
-        List<Product> products = new ArrayList<>();
-        try (BufferedReader br = new BufferedReader(new FileReader(CSV_FILE))) {
-            parseCSV(br, products);
+        try {
+            return ProductCsvParser.parse(Path.of(CSV_FILE));
         } catch (IOException ignored) {
-        }
-        return products;
-    }
-
-    private static void parseCSV(BufferedReader br, List<Product> products) throws IOException {
-        String line;
-        br.readLine(); // Skip header row
-
-        while ((line = br.readLine()) != null) {
-            String[] values = line.split(",");
-
-            if (values.length < 7) {
-                System.err.println("Skipping malformed CSV line: " + line);
-                continue;
-            }
-
-            try {
-                String id = values[0].trim();
-                String name = values[1].trim();
-                String category = values[2].trim();
-                double price = Double.parseDouble(values[3].trim());
-                int quantity = Integer.parseInt(values[4].trim());
-                LocalDate date = LocalDate.parse(values[5].trim());
-                String supplier = values[6].trim();
-
-                Product product = new Product(id, name, category, price, quantity, date, supplier);
-                products.add(product);
-            } catch (NumberFormatException | DateTimeParseException e) {
-                System.err.println("Error parsing data in CSV line: " + line + ". " + e.getMessage());
-            }
+            return new ArrayList<>();
         }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,278 @@
+package org.example.util;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTimeoutException;
+import java.util.Deque;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bounded JDBC connection pool. Borrowed connections are proxies whose close() hands
+ * the physical connection back to the pool instead of closing it.
+ */
+public class ConnectionPool implements AutoCloseable {
+
+    @FunctionalInterface
+    public interface ConnectionFactory {
+        Connection create() throws SQLException;
+    }
+
+    private static final int VALIDATION_TIMEOUT_SECONDS = 2;
+    private static final long MIN_HOUSEKEEPING_INTERVAL_MILLIS = 1_000;
+
+    private final ConnectionFactory factory;
+    private final int maxSize;
+    private final long maxWaitMillis;
+    private final long idleTimeoutMillis;
+    private final long leakThresholdMillis;
+
+    private final Semaphore permits;
+    private final Deque<IdleConnection> idle = new ConcurrentLinkedDeque<>();
+    private final Map<PooledConnectionHandler, Boolean> leased = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService housekeeper;
+    private volatile boolean closed;
+
+    private final AtomicInteger waitingThreads = new AtomicInteger();
+    private final LongAdder totalBorrows = new LongAdder();
+    private final LongAdder totalCreated = new LongAdder();
+    private final LongAdder timeouts = new LongAdder();
+    private final LongAdder leaksDetected = new LongAdder();
+    private final LongAdder totalWaitNanos = new LongAdder();
+    private final AtomicLong maxWaitNanos = new AtomicLong();
+
+    public ConnectionPool(ConnectionFactory factory, int maxSize, long maxWaitMillis,
+                          long idleTimeoutMillis, long leakThresholdMillis) {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("Pool size must be positive.");
+        }
+        this.factory = factory;
+        this.maxSize = maxSize;
+        this.maxWaitMillis = maxWaitMillis;
+        this.idleTimeoutMillis = idleTimeoutMillis;
+        this.leakThresholdMillis = leakThresholdMillis;
+        this.permits = new Semaphore(maxSize, true);
+
+        long interval = Math.max(MIN_HOUSEKEEPING_INTERVAL_MILLIS, Math.min(
+                idleTimeoutMillis > 0 ? idleTimeoutMillis : Long.MAX_VALUE,
+                leakThresholdMillis > 0 ? leakThresholdMillis : Long.MAX_VALUE) / 2);
+        if (idleTimeoutMillis > 0 || leakThresholdMillis > 0) {
+            housekeeper = Executors.newSingleThreadScheduledExecutor(r -> {
+                Thread t = new Thread(r, "connection-pool-housekeeper");
+                t.setDaemon(true);
+                return t;
+            });
+            housekeeper.scheduleWithFixedDelay(this::runHousekeeping, interval, interval, TimeUnit.MILLISECONDS);
+        } else {
+            housekeeper = null;
+        }
+    }
+
+    public Connection borrow() throws SQLException {
+        if (closed) {
+            throw new SQLException("Connection pool is closed.");
+        }
+        long start = System.nanoTime();
+        boolean acquired;
+        waitingThreads.incrementAndGet();
+        try {
+            acquired = permits.tryAcquire(maxWaitMillis, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrupted while waiting for a pooled connection.", e);
+        } finally {
+            waitingThreads.decrementAndGet();
+        }
+        recordWait(System.nanoTime() - start);
+
+        if (!acquired) {
+            timeouts.increment();
+            throw new SQLTimeoutException("Timed out after " + maxWaitMillis + " ms waiting for a pooled connection (" + maxSize + " in use).");
+        }
+
+        try {
+            Connection physical = takeValidIdle();
+            if (physical == null) {
+                physical = factory.create();
+                totalCreated.increment();
+            }
+            totalBorrows.increment();
+            return lease(physical);
+        } catch (SQLException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    public PoolStats getStats() {
+        long borrows = totalBorrows.sum();
+        double avgWaitMillis = borrows == 0 ? 0.0 : totalWaitNanos.sum() / 1_000_000.0 / borrows;
+        return new PoolStats(maxSize, leased.size(), idle.size(), waitingThreads.get(), borrows,
+                totalCreated.sum(), timeouts.sum(), leaksDetected.sum(), avgWaitMillis, maxWaitNanos.get() / 1_000_000.0);
+    }
+
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    public void runHousekeeping() {
+        evictIdle();
+        detectLeaks();
+    }
+
+    private void evictIdle() {
+        if (idleTimeoutMillis <= 0) return;
+        long now = System.nanoTime();
+        for (IdleConnection entry : idle) {
+            if (TimeUnit.NANOSECONDS.toMillis(now - entry.returnedAt) >= idleTimeoutMillis && idle.remove(entry)) {
+                closeQuietly(entry.physical);
+            }
+        }
+    }
+
+    private void detectLeaks() {
+        if (leakThresholdMillis <= 0) return;
+        long now = System.nanoTime();
+        for (PooledConnectionHandler handler : leased.keySet()) {
+            long heldMillis = TimeUnit.NANOSECONDS.toMillis(now - handler.borrowedAt);
+            if (heldMillis >= leakThresholdMillis && handler.leakReported.compareAndSet(false, true)) {
+                leaksDetected.increment();
+                System.err.println("⚠️ Possible connection leak: connection borrowed by thread '" + handler.borrowerThread
+                        + "' has not been returned after " + heldMillis + " ms. Borrowed at:");
+                if (handler.borrowSite != null) {
+                    handler.borrowSite.printStackTrace();
+                }
+            }
+        }
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        if (housekeeper != null) {
+            housekeeper.shutdownNow();
+        }
+        IdleConnection entry;
+        while ((entry = idle.pollFirst()) != null) {
+            closeQuietly(entry.physical);
+        }
+    }
+
+    private Connection takeValidIdle() {
+        IdleConnection entry;
+        while ((entry = idle.pollFirst()) != null) {
+            try {
+                if (entry.physical.isValid(VALIDATION_TIMEOUT_SECONDS)) {
+                    return entry.physical;
+                }
+            } catch (SQLException ignored) {
+            }
+            closeQuietly(entry.physical);
+        }
+        return null;
+    }
+
+    private Connection lease(Connection physical) {
+        PooledConnectionHandler handler = new PooledConnectionHandler(physical, leakThresholdMillis > 0);
+        leased.put(handler, Boolean.TRUE);
+        return (Connection) Proxy.newProxyInstance(ConnectionPool.class.getClassLoader(),
+                new Class<?>[]{Connection.class}, handler);
+    }
+
+    private void release(PooledConnectionHandler handler) {
+        leased.remove(handler);
+        Connection physical = handler.physical;
+        try {
+            if (closed || physical.isClosed()) {
+                closeQuietly(physical);
+            } else {
+                if (!physical.getAutoCommit()) {
+                    physical.rollback();
+                    physical.setAutoCommit(true);
+                }
+                idle.offerFirst(new IdleConnection(physical, System.nanoTime()));
+            }
+        } catch (SQLException e) {
+            closeQuietly(physical);
+        } finally {
+            permits.release();
+        }
+    }
+
+    private void recordWait(long nanos) {
+        totalWaitNanos.add(nanos);
+        maxWaitNanos.accumulateAndGet(nanos, Math::max);
+    }
+
+    private static void closeQuietly(Connection conn) {
+        try {
+            conn.close();
+        } catch (SQLException ignored) {
+        }
+    }
+
+    private static final class IdleConnection {
+        final Connection physical;
+        final long returnedAt;
+
+        IdleConnection(Connection physical, long returnedAt) {
+            this.physical = physical;
+            this.returnedAt = returnedAt;
+        }
+    }
+
+    private final class PooledConnectionHandler implements InvocationHandler {
+        final Connection physical;
+        final long borrowedAt = System.nanoTime();
+        final String borrowerThread = Thread.currentThread().getName();
+        final Throwable borrowSite;
+        final AtomicBoolean returned = new AtomicBoolean();
+        final AtomicBoolean leakReported = new AtomicBoolean();
+
+        PooledConnectionHandler(Connection physical, boolean captureBorrowSite) {
+            this.physical = physical;
+            this.borrowSite = captureBorrowSite ? new Throwable("Connection borrow site") : null;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "close":
+                    if (returned.compareAndSet(false, true)) {
+                        release(this);
+                    }
+                    return null;
+                case "isClosed":
+                    return returned.get() || physical.isClosed();
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return "PooledConnection[" + physical + "]";
+                default:
+                    if (returned.get()) {
+                        throw new SQLException("Connection has already been returned to the pool.");
+                    }
+                    try {
+                        return method.invoke(physical, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getCause();
+                    }
+            }
+        }
+    }
+}
@@ -5,16 +5,72 @@ import java.sql.DriverManager;
 import java.sql.SQLException;
 
 public class DBConnection {
-    private static final String JDBC_URL = "jdbc:mysql://localhost:3306/inventory_db?allowPublicKeyRetrieval=true&useSSL=false&serverTimezone=UTC";
+    private static final String JDBC_URL = "jdbc:mysql://localhost:3306/inventory_db?allowPublicKeyRetrieval=true&useSSL=false&serverTimezone=UTC&rewriteBatchedStatements=true";
     private static final String DB_USER = "app_user";
     private static final String DB_PASSWORD = "app_password";
 
+    private static final int POOL_MAX_SIZE = 10;
+    private static final long POOL_MAX_WAIT_MILLIS = 5_000;
+    private static final long POOL_IDLE_TIMEOUT_MILLIS = 300_000;
+    private static final long POOL_LEAK_THRESHOLD_MILLIS = 60_000;
+
+    private static volatile ConnectionPool pool;
+    private static volatile boolean driverLoaded;
+
     public static Connection getConnection() throws SQLException {
-        try {
-            Class.forName("com.mysql.cj.jdbc.Driver");
-        } catch (ClassNotFoundException e) {
-            System.err.println("❌ MySQL JDBC Driver not found.");
-            throw new SQLException("JDBC Driver not found.", e);
+        return pool().borrow();
+    }
+
+    public static PoolStats getPoolStats() {
+        return pool().getStats();
+    }
+
+    public static int getMaxPoolSize() {
+        return pool().getMaxSize();
+    }
+
+    /**
+     * Replaces the active pool, e.g. with one backed by an embedded database in tests.
+     */
+    public static synchronized void usePool(ConnectionPool newPool) {
+        ConnectionPool old = pool;
+        pool = newPool;
+        if (old != null && old != newPool) {
+            old.close();
+        }
+    }
+
+    public static synchronized void shutdown() {
+        if (pool != null) {
+            pool.close();
+            pool = null;
+        }
+    }
+
+    private static ConnectionPool pool() {
+        ConnectionPool current = pool;
+        if (current == null) {
+            synchronized (DBConnection.class) {
+                current = pool;
+                if (current == null) {
+                    current = new ConnectionPool(DBConnection::openPhysicalConnection, POOL_MAX_SIZE,
+                            POOL_MAX_WAIT_MILLIS, POOL_IDLE_TIMEOUT_MILLIS, POOL_LEAK_THRESHOLD_MILLIS);
+                    pool = current;
+                }
+            }
+        }
+        return current;
+    }
+
+    private static Connection openPhysicalConnection() throws SQLException {
+        if (!driverLoaded) {
+            try {
+                Class.forName("com.mysql.cj.jdbc.Driver");
+                driverLoaded = true;
+            } catch (ClassNotFoundException e) {
+                System.err.println("❌ MySQL JDBC Driver not found.");
+                throw new SQLException("JDBC Driver not found.", e);
+            }
         }
         return DriverManager.getConnection(JDBC_URL, DB_USER, DB_PASSWORD);
     }
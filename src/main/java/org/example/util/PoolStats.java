@@ -0,0 +1,45 @@
+package org.example.util;
+
+public class PoolStats {
+    private final int maxSize;
+    private final int active;
+    private final int idle;
+    private final int waitingThreads;
+    private final long totalBorrows;
+    private final long totalCreated;
+    private final long timeouts;
+    private final long leaksDetected;
+    private final double averageWaitMillis;
+    private final double maxWaitMillis;
+
+    public PoolStats(int maxSize, int active, int idle, int waitingThreads, long totalBorrows, long totalCreated,
+                     long timeouts, long leaksDetected, double averageWaitMillis, double maxWaitMillis) {
+        this.maxSize = maxSize;
+        this.active = active;
+        this.idle = idle;
+        this.waitingThreads = waitingThreads;
+        this.totalBorrows = totalBorrows;
+        this.totalCreated = totalCreated;
+        this.timeouts = timeouts;
+        this.leaksDetected = leaksDetected;
+        this.averageWaitMillis = averageWaitMillis;
+        this.maxWaitMillis = maxWaitMillis;
+    }
+
+    public int getMaxSize() { return maxSize; }
+    public int getActive() { return active; }
+    public int getIdle() { return idle; }
+    public int getWaitingThreads() { return waitingThreads; }
+    public long getTotalBorrows() { return totalBorrows; }
+    public long getTotalCreated() { return totalCreated; }
+    public long getTimeouts() { return timeouts; }
+    public long getLeaksDetected() { return leaksDetected; }
+    public double getAverageWaitMillis() { return averageWaitMillis; }
+    public double getMaxWaitMillis() { return maxWaitMillis; }
+
+    @Override
+    public String toString() {
+        return String.format("active=%d/%d, idle=%d, waiting=%d, borrows=%d, created=%d, timeouts=%d, leaks=%d, avgWait=%.3fms, maxWait=%.3fms",
+                active, maxSize, idle, waitingThreads, totalBorrows, totalCreated, timeouts, leaksDetected, averageWaitMillis, maxWaitMillis);
+    }
+}
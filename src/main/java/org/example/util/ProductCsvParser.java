@@ -0,0 +1,382 @@
+package org.example.util;
+
+import org.example.model.Product;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Streaming RFC 4180 parser for the UTF-8 product CSV (ID, Name, Category, Price, Quantity,
+ * Date, Supplier, after one header row). Reads straight from a {@link ByteBuffer}, typically a
+ * memory-mapped file: fields are tokenized as offsets into the buffer, and price, quantity and
+ * ISO dates are parsed from the bytes without building strings. Only the ID and name become new
+ * strings per row; categories and suppliers repeat and are decoded once each. Quoted fields may
+ * hold commas, line breaks and doubled quotes; spaces around fields are trimmed as before.
+ * A bad row is reported on System.err with the line it starts on and skipped.
+ */
+public final class ProductCsvParser {
+
+    private static final int FIELDS = 7;
+    private static final int MAX_INTERNED = 4096;
+    private static final double[] POWERS_OF_TEN = new double[23];
+
+    static {
+        POWERS_OF_TEN[0] = 1;
+        for (int i = 1; i < POWERS_OF_TEN.length; i++) {
+            POWERS_OF_TEN[i] = POWERS_OF_TEN[i - 1] * 10;
+        }
+    }
+
+    private final ByteBuffer data;
+    private final int limit;
+    private int pos;
+    private int line = 1;
+    private int fieldCount;
+    private final int[] starts = new int[FIELDS];
+    private final int[] ends = new int[FIELDS];
+    private final boolean[] escaped = new boolean[FIELDS];
+    private byte[] scratch = new byte[128];
+    private final StringTable categories = new StringTable();
+    private final StringTable suppliers = new StringTable();
+
+    private ProductCsvParser(ByteBuffer data) {
+        this.data = data;
+        this.pos = data.position();
+        this.limit = data.limit();
+    }
+
+    /**
+     * Maps the file read-only and parses it. Files over 2 GB cannot be mapped in one piece.
+     */
+    public static List<Product> parse(Path file) throws IOException {
+        MappedByteBuffer mapped;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            if (channel.size() > Integer.MAX_VALUE) {
+                throw new IOException("❌ " + file + " is too large to map (" + channel.size() + " bytes).");
+            }
+            mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+        return parse(mapped);
+    }
+
+    public static List<Product> parse(ByteBuffer data) {
+        List<Product> products = new ArrayList<>();
+        parse(data, products::add);
+        return products;
+    }
+
+    /**
+     * Hands each good row to {@code sink} in file order and returns how many rows were rejected.
+     * Reads from the buffer's position to its limit without moving either.
+     */
+    public static int parse(ByteBuffer data, Consumer<Product> sink) {
+        return new ProductCsvParser(data).run(sink);
+    }
+
+    private int run(Consumer<Product> sink) {
+        skipByteOrderMark();
+        if (pos < limit && readRecord() != null) {
+            skipRestOfLine();
+        }
+        int rejected = 0;
+        while (pos < limit) {
+            int rowLine = line;
+            String problem = readRecord();
+            if (problem != null) {
+                skipRestOfLine();
+            } else if (isBlankLine()) {
+                continue;
+            } else if (fieldCount < FIELDS) {
+                problem = "expected " + FIELDS + " fields but found " + fieldCount;
+            } else {
+                problem = emit(sink);
+            }
+            if (problem != null) {
+                System.err.println("❌ CSV line " + rowLine + ": " + problem + "; row skipped.");
+                rejected++;
+            }
+        }
+        return rejected;
+    }
+
+    // Tokenizes one record into starts/ends and leaves pos at the start of the next. Returns
+    // null on success, or what is wrong with the record.
+    private String readRecord() {
+        fieldCount = 0;
+        while (true) {
+            skipSpaces();
+            int start;
+            int end;
+            boolean hasEscapes = false;
+            if (pos < limit && data.get(pos) == '"') {
+                start = ++pos;
+                while (true) {
+                    if (pos >= limit) return "quoted field is never closed";
+                    byte b = data.get(pos);
+                    if (b == '"') {
+                        if (pos + 1 < limit && data.get(pos + 1) == '"') {
+                            hasEscapes = true;
+                            pos += 2;
+                            continue;
+                        }
+                        break;
+                    }
+                    if (b == '\n') line++;
+                    pos++;
+                }
+                end = pos++;
+                skipSpaces();
+                if (pos < limit && !isDelimiter(data.get(pos))) return "unexpected text after a closing quote";
+            } else {
+                start = pos;
+                while (pos < limit) {
+                    byte b = data.get(pos);
+                    if (isDelimiter(b)) break;
+                    if (b == '"') return "quote inside an unquoted field";
+                    pos++;
+                }
+                end = pos;
+                while (end > start && isSpace(data.get(end - 1))) {
+                    end--;
+                }
+            }
+            if (fieldCount < FIELDS) {
+                starts[fieldCount] = start;
+                ends[fieldCount] = end;
+                escaped[fieldCount] = hasEscapes;
+            }
+            fieldCount++;
+
+            if (pos >= limit) return null;
+            byte b = data.get(pos++);
+            if (b == ',') continue;
+            if (b == '\r' && pos < limit && data.get(pos) == '\n') pos++;
+            line++;
+            return null;
+        }
+    }
+
+    private String emit(Consumer<Product> sink) {
+        double price;
+        int quantity;
+        LocalDate date;
+        try {
+            price = parseDouble(3);
+        } catch (NumberFormatException e) {
+            return "price '" + text(3) + "' is not a number";
+        }
+        try {
+            quantity = parseInt(4);
+        } catch (NumberFormatException e) {
+            return "quantity '" + text(4) + "' is not a whole number";
+        }
+        try {
+            date = parseDate(5);
+        } catch (DateTimeException e) {
+            return "date '" + text(5) + "' is not a valid yyyy-MM-dd date";
+        }
+        sink.accept(new Product(text(0), text(1), categories.get(2), price, quantity, date, suppliers.get(6)));
+        return null;
+    }
+
+    // Exact for up to 15 significant digits and 22 decimals, since both the digits and the power
+    // of ten are exact doubles and one division rounds correctly. Anything else goes to the JDK.
+    private double parseDouble(int field) {
+        int i = starts[field];
+        int end = ends[field];
+        boolean negative = false;
+        if (i < end && (data.get(i) == '-' || data.get(i) == '+')) {
+            negative = data.get(i) == '-';
+            i++;
+        }
+        long digits = 0;
+        int significant = 0;
+        int decimals = 0;
+        boolean seenDigit = false;
+        boolean seenPoint = false;
+        for (; i < end; i++) {
+            byte b = data.get(i);
+            if (b >= '0' && b <= '9') {
+                seenDigit = true;
+                if (digits != 0 || b != '0') significant++;
+                if (significant > 15) return Double.parseDouble(text(field));
+                digits = digits * 10 + (b - '0');
+                if (seenPoint) decimals++;
+            } else if (b == '.' && !seenPoint) {
+                seenPoint = true;
+            } else {
+                return Double.parseDouble(text(field));
+            }
+        }
+        if (!seenDigit) throw new NumberFormatException();
+        if (decimals >= POWERS_OF_TEN.length) return Double.parseDouble(text(field));
+        double value = digits / POWERS_OF_TEN[decimals];
+        return negative ? -value : value;
+    }
+
+    private int parseInt(int field) {
+        int i = starts[field];
+        int end = ends[field];
+        boolean negative = false;
+        if (i < end && (data.get(i) == '-' || data.get(i) == '+')) {
+            negative = data.get(i) == '-';
+            i++;
+        }
+        if (i == end) throw new NumberFormatException();
+        long value = 0;
+        for (; i < end; i++) {
+            byte b = data.get(i);
+            if (b < '0' || b > '9') throw new NumberFormatException();
+            value = value * 10 + (b - '0');
+            if (value > (long) Integer.MAX_VALUE + 1) throw new NumberFormatException();
+        }
+        if (negative) value = -value;
+        if (value > Integer.MAX_VALUE) throw new NumberFormatException();
+        return (int) value;
+    }
+
+    private LocalDate parseDate(int field) {
+        int s = starts[field];
+        if (ends[field] - s == 10 && data.get(s + 4) == '-' && data.get(s + 7) == '-') {
+            int year = digits(s, 4);
+            int month = digits(s + 5, 2);
+            int day = digits(s + 8, 2);
+            if (year >= 0 && month >= 0 && day >= 0) return LocalDate.of(year, month, day);
+        }
+        // Rarer ISO forms, such as years beyond 9999, and errors.
+        return LocalDate.parse(text(field));
+    }
+
+    // The number in the next {@code count} bytes, or -1 if any of them is not a digit.
+    private int digits(int from, int count) {
+        int value = 0;
+        for (int i = from; i < from + count; i++) {
+            byte b = data.get(i);
+            if (b < '0' || b > '9') return -1;
+            value = value * 10 + (b - '0');
+        }
+        return value;
+    }
+
+    private String text(int field) {
+        int start = starts[field];
+        int length = ends[field] - start;
+        if (scratch.length < length) {
+            scratch = new byte[Math.max(length, scratch.length * 2)];
+        }
+        if (!escaped[field]) {
+            data.get(start, scratch, 0, length);
+            return new String(scratch, 0, length, StandardCharsets.UTF_8);
+        }
+        int n = 0;
+        for (int i = start; i < ends[field]; i++) {
+            byte b = data.get(i);
+            scratch[n++] = b;
+            if (b == '"') i++; // the second quote of a doubled pair
+        }
+        return new String(scratch, 0, n, StandardCharsets.UTF_8);
+    }
+
+    private boolean isBlankLine() {
+        return fieldCount == 1 && starts[0] == ends[0] && (starts[0] == 0 || data.get(starts[0] - 1) != '"');
+    }
+
+    private void skipByteOrderMark() {
+        if (limit - pos >= 3 && data.get(pos) == (byte) 0xEF && data.get(pos + 1) == (byte) 0xBB && data.get(pos + 2) == (byte) 0xBF) {
+            pos += 3;
+        }
+    }
+
+    private void skipSpaces() {
+        while (pos < limit && isSpace(data.get(pos))) {
+            pos++;
+        }
+    }
+
+    private void skipRestOfLine() {
+        while (pos < limit) {
+            if (data.get(pos++) == '\n') {
+                line++;
+                return;
+            }
+        }
+    }
+
+    private static boolean isDelimiter(byte b) {
+        return b == ',' || b == '\n' || b == '\r';
+    }
+
+    private static boolean isSpace(byte b) {
+        return b == ' ' || b == '\t';
+    }
+
+    // Small open-addressed map from a field's bytes to its decoded string, so a column with few
+    // distinct values costs one lookup per row instead of a new string. Stops growing past
+    // MAX_INTERNED entries, after which unseen values are decoded every time.
+    private final class StringTable {
+        private byte[][] keys = new byte[64][];
+        private String[] values = new String[64];
+        private int size;
+
+        String get(int field) {
+            if (escaped[field]) return text(field);
+            int start = starts[field];
+            int length = ends[field] - start;
+            int hash = 0;
+            for (int i = start; i < start + length; i++) {
+                hash = 31 * hash + data.get(i);
+            }
+            int mask = keys.length - 1;
+            int slot = (hash ^ (hash >>> 16)) & mask;
+            while (keys[slot] != null) {
+                if (matches(keys[slot], start, length)) return values[slot];
+                slot = (slot + 1) & mask;
+            }
+            String value = text(field);
+            if (size >= MAX_INTERNED) return value;
+            keys[slot] = new byte[length];
+            data.get(start, keys[slot], 0, length);
+            values[slot] = value;
+            if (++size * 2 > keys.length) grow();
+            return value;
+        }
+
+        private boolean matches(byte[] key, int start, int length) {
+            if (key.length != length) return false;
+            for (int i = 0; i < length; i++) {
+                if (key[i] != data.get(start + i)) return false;
+            }
+            return true;
+        }
+
+        private void grow() {
+            byte[][] oldKeys = keys;
+            String[] oldValues = values;
+            keys = new byte[oldKeys.length * 2][];
+            values = new String[oldKeys.length * 2];
+            int mask = keys.length - 1;
+            for (int i = 0; i < oldKeys.length; i++) {
+                if (oldKeys[i] == null) continue;
+                int hash = 0;
+                for (byte b : oldKeys[i]) {
+                    hash = 31 * hash + b;
+                }
+                int slot = (hash ^ (hash >>> 16)) & mask;
+                while (keys[slot] != null) {
+                    slot = (slot + 1) & mask;
+                }
+                keys[slot] = oldKeys[i];
+                values[slot] = oldValues[i];
+            }
+        }
+    }
+}
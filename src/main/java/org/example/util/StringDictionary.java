@@ -0,0 +1,70 @@
+package org.example.util;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Thread-safe mapping between a small set of recurring strings and dense int codes. Each
+ * distinct value is stored once and keeps its code for the life of the JVM, so fields holding
+ * codes compare and group as ints. Only meant for low-cardinality values such as categories
+ * and suppliers: entries are never removed.
+ */
+public final class StringDictionary {
+
+    public static final StringDictionary CATEGORIES = new StringDictionary();
+    public static final StringDictionary SUPPLIERS = new StringDictionary();
+
+    /** Code of a null value. */
+    public static final int NULL_CODE = -1;
+    /** Returned by {@link #codeOf} for a value that has never been encoded; equals no stored code. */
+    public static final int ABSENT = Integer.MIN_VALUE;
+
+    private final Map<String, Integer> codes = new ConcurrentHashMap<>();
+    private volatile String[] values = new String[16];
+    private int size;
+
+    public int encode(String value) {
+        if (value == null) return NULL_CODE;
+        Integer code = codes.get(value);
+        return code != null ? code : add(value);
+    }
+
+    /**
+     * Looks a value up without adding it.
+     */
+    public int codeOf(String value) {
+        if (value == null) return NULL_CODE;
+        Integer code = codes.get(value);
+        return code != null ? code : ABSENT;
+    }
+
+    public String decode(int code) {
+        return code == NULL_CODE ? null : values[code];
+    }
+
+    /**
+     * Returns the dictionary's own instance of {@code value}, so duplicates can be dropped.
+     */
+    public String intern(String value) {
+        return decode(encode(value));
+    }
+
+    public int size() {
+        return codes.size();
+    }
+
+    private synchronized int add(String value) {
+        Integer existing = codes.get(value);
+        if (existing != null) return existing;
+        String[] current = values;
+        if (size == current.length) {
+            current = Arrays.copyOf(current, size * 2);
+        }
+        current[size] = value;
+        values = current;
+        // Publish the code only after its value is readable through the volatile array.
+        codes.put(value, size);
+        return size++;
+    }
+}
@@ -0,0 +1,60 @@
+package org.example.benchmark;
+
+import org.example.model.Product;
+import org.example.service.GroupAggregate;
+import org.example.service.InventoryAggregator;
+import org.example.service.InventoryAggregator.Dimension;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.stream.Collectors;
+
+/**
+ * Group-by time of {@link InventoryAggregator} over a multi-million-row product list, for one,
+ * two and three grouping dimensions, next to the same report built with
+ * Collectors.groupingBy (which allocates a key and a list entry per row).
+ * Run with -Djava.util.concurrent.ForkJoinPool.common.parallelism=N to compare core counts.
+ * Usage: AggregationBenchmark [rows]
+ */
+public class AggregationBenchmark {
+
+    public static void main(String[] args) {
+        int rows = args.length > 0 ? Integer.parseInt(args[0]) : 3_000_000;
+        List<Product> products = new ArrayList<>(rows);
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        for (int i = 0; i < rows; i++) {
+            products.add(new Product("BENCH-" + i, "Item", "Category " + random.nextInt(40), random.nextInt(100_000) / 100.0,
+                    random.nextInt(10_000), LocalDate.of(2015 + random.nextInt(10), 1 + random.nextInt(12), 1), "Supplier " + random.nextInt(300)));
+        }
+        System.out.printf("%,d rows, common pool parallelism %d%n", rows, ForkJoinPool.getCommonPoolParallelism());
+
+        Dimension[][] groupings = {
+                {Dimension.CATEGORY},
+                {Dimension.CATEGORY, Dimension.SUPPLIER},
+                {Dimension.CATEGORY, Dimension.SUPPLIER, Dimension.MONTH}};
+        for (Dimension[] groupBy : groupings) {
+            long best = Long.MAX_VALUE;
+            int groups = 0;
+            for (int run = 0; run < 5; run++) {
+                long begin = System.nanoTime();
+                List<GroupAggregate> result = InventoryAggregator.aggregate(products.stream(), groupBy);
+                best = Math.min(best, System.nanoTime() - begin);
+                groups = result.size();
+            }
+            System.out.printf("%-28s %,8d groups in %6.1f ms%n", List.of(groupBy), groups, best / 1e6);
+        }
+
+        long best = Long.MAX_VALUE;
+        for (int run = 0; run < 3; run++) {
+            long begin = System.nanoTime();
+            Map<String, Long> quantities = products.parallelStream().collect(Collectors.groupingByConcurrent(
+                    p -> p.getCategory() + "|" + p.getSupplier(), Collectors.summingLong(Product::getQuantity)));
+            best = Math.min(best, System.nanoTime() - begin);
+            if (quantities.isEmpty()) throw new AssertionError();
+        }
+        System.out.printf("%-28s %8s        in %6.1f ms (sum of quantity only)%n", "groupingBy category+supplier", "", best / 1e6);
+    }
+}
@@ -0,0 +1,113 @@
+package org.example.benchmark;
+
+import org.example.model.Product;
+import org.example.service.EmailUtil;
+import org.example.service.InventoryChangeListener;
+import org.example.service.InventoryJournal;
+import org.example.service.InventoryManager;
+import org.example.service.Mutation;
+import org.example.service.StockAlertService;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.stream.Stream;
+
+/**
+ * Applies the same stream of updates and stock adjustments once item by item and once through
+ * applyBatch, first on a bare in-memory manager and then with an InventoryJournal attached,
+ * where the per-item loop pays one fsync per change and a batch pays one in total.
+ * Usage: ApplyBatchBenchmark [products] [batchSize] [inMemoryChanges] [journaledChanges]
+ */
+public class ApplyBatchBenchmark {
+
+    public static void main(String[] args) throws IOException {
+        int products = args.length > 0 ? Integer.parseInt(args[0]) : 100_000;
+        int batchSize = args.length > 1 ? Integer.parseInt(args[1]) : 500;
+        int inMemory = args.length > 2 ? Integer.parseInt(args[2]) : 1_000_000;
+        int journaled = args.length > 3 ? Integer.parseInt(args[3]) : 20_000;
+
+        List<Mutation> changes = changes(products, inMemory);
+        for (int round = 0; round < 2; round++) {
+            System.out.println(round == 0 ? "-- warm-up --" : "-- measured --");
+            run("in-memory", products, batchSize, changes, null);
+        }
+        Path dir = Files.createTempDirectory("batch-bench");
+        try {
+            run("journaled", products, batchSize, changes.subList(0, journaled), dir);
+        } finally {
+            try (Stream<Path> files = Files.walk(dir)) {
+                for (Path p : files.sorted(Comparator.reverseOrder()).toList()) {
+                    Files.deleteIfExists(p);
+                }
+            }
+        }
+    }
+
+    private static void run(String label, int products, int batchSize, List<Mutation> changes, Path dir) throws IOException {
+        InventoryManager loop = manager(products, dir == null ? null : dir.resolve("loop"));
+        long start = System.nanoTime();
+        for (Mutation m : changes) {
+            if (m.getType() == Mutation.Type.UPDATE) {
+                loop.updateProduct(m.getProductId(), m.getPrice(), m.getQuantity());
+            } else {
+                loop.adjustQuantity(m.getProductId(), m.getQuantity());
+            }
+        }
+        long loopNanos = System.nanoTime() - start;
+        loop.shutdown();
+
+        InventoryManager batched = manager(products, dir == null ? null : dir.resolve("batch"));
+        start = System.nanoTime();
+        int failed = 0;
+        for (int from = 0; from < changes.size(); from += batchSize) {
+            failed += batched.applyBatch(changes.subList(from, Math.min(from + batchSize, changes.size())), false).getFailureCount();
+        }
+        long batchNanos = System.nanoTime() - start;
+        batched.shutdown();
+
+        System.out.printf("%-10s per-item: %,11.0f changes/s   applyBatch(%d): %,11.0f changes/s   speedup %.1fx, %d refused%n",
+                label, changes.size() / (loopNanos / 1e9), batchSize, changes.size() / (batchNanos / 1e9),
+                (double) loopNanos / batchNanos, failed);
+        if (loop.getTotalQuantity() != batched.getTotalQuantity() || loop.getTotalValueCents() != batched.getTotalValueCents()) {
+            System.out.println("❌ Both runs should end with the same inventory.");
+        }
+    }
+
+    private static InventoryManager manager(int products, Path journalDir) throws IOException {
+        List<InventoryChangeListener> listeners = new ArrayList<>();
+        if (journalDir != null) {
+            Files.createDirectories(journalDir);
+            listeners.add(new InventoryJournal(journalDir, Long.MAX_VALUE));
+        }
+        InventoryManager manager = new InventoryManager(new StockAlertService(new EmailUtil()),
+                listeners.toArray(new InventoryChangeListener[0]));
+        LocalDate today = LocalDate.now();
+        List<Mutation> adds = new ArrayList<>(products);
+        for (int i = 0; i < products; i++) {
+            adds.add(Mutation.add(new Product("BENCH-" + i, "Item " + i, "Category " + (i % 40), 10 + i % 1000,
+                    1_000_000, today, "Supplier " + (i % 300))));
+        }
+        manager.applyBatch(adds);
+        return manager;
+    }
+
+    // Quantities stay far above the low-stock threshold so no alert e-mails are attempted.
+    private static List<Mutation> changes(int products, int count) {
+        SplittableRandom random = new SplittableRandom(42);
+        List<Mutation> changes = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            String id = "BENCH-" + random.nextInt(products);
+            if (random.nextInt(4) == 0) {
+                changes.add(Mutation.update(id, 10 + random.nextInt(1000), 500_000 + random.nextInt(1_000_000)));
+            } else {
+                changes.add(Mutation.adjust(id, random.nextInt(-50, 50)));
+            }
+        }
+        return changes;
+    }
+}
@@ -0,0 +1,123 @@
+package org.example.benchmark;
+
+import org.example.dao.AsyncProductDAO;
+import org.example.dao.MappedProductDAO;
+import org.example.dao.ProductDAO;
+import org.example.dao.ProductDAOImpl;
+import org.example.model.Product;
+import org.example.util.DBConnection;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Sequential point reads versus {@link AsyncProductDAO} at rising concurrency limits, plus one
+ * chunked multi-get. Without "jdbc" the delegate is the mapped store with a simulated round trip
+ * of {@code latencyMicros} per call.
+ * Usage: AsyncProductDAOBenchmark [rows] [latencyMicros] [jdbc]
+ */
+public class AsyncProductDAOBenchmark {
+
+    private static final int[] CONCURRENCY_LEVELS = {1, 2, 4, 8, 16, 32};
+
+    public static void main(String[] args) throws Exception {
+        int rows = args.length > 0 ? Integer.parseInt(args[0]) : 2_000;
+        long latencyMicros = args.length > 1 ? Long.parseLong(args[1]) : 1_000;
+        boolean useJdbc = args.length > 2 && args[2].equalsIgnoreCase("jdbc");
+
+        List<Product> products = new ArrayList<>(rows);
+        List<String> ids = new ArrayList<>(rows);
+        LocalDate today = LocalDate.now();
+        for (int i = 0; i < rows; i++) {
+            products.add(new Product("ASYNC-" + i, "Item " + i, "Category " + (i % 40), 10 + i % 1000, 1_000, today, "Supplier " + (i % 300)));
+            ids.add("ASYNC-" + i);
+        }
+
+        Path file = Files.createTempFile("async-bench", ".dat");
+        Files.delete(file);
+        MappedProductDAO mapped = new MappedProductDAO(file, rows);
+        ProductDAO dao = useJdbc ? new ProductDAOImpl() : new SlowProductDAO(mapped, latencyMicros);
+        try {
+            dao.addProducts(products);
+
+            long start = System.nanoTime();
+            for (String id : ids) {
+                dao.getProductById(id);
+            }
+            report("sequential", rows, System.nanoTime() - start);
+
+            for (int level : CONCURRENCY_LEVELS) {
+                try (AsyncProductDAO async = new AsyncProductDAO(dao, level, 60_000, 500)) {
+                    List<CompletableFuture<Optional<Product>>> calls = new ArrayList<>(rows);
+                    start = System.nanoTime();
+                    for (String id : ids) {
+                        calls.add(async.getProductById(id));
+                    }
+                    CompletableFuture.allOf(calls.toArray(new CompletableFuture<?>[0])).join();
+                    report("async x" + level, rows, System.nanoTime() - start);
+                }
+            }
+
+            try (AsyncProductDAO async = new AsyncProductDAO(dao, 8, 60_000, 500)) {
+                start = System.nanoTime();
+                Map<String, Product> found = async.getProductsByIds(ids).join();
+                System.out.printf("%-12s %d ids in %d chunks: %8.1f ms (%d found)%n", "multi-get", rows,
+                        (rows + 499) / 500, (System.nanoTime() - start) / 1e6, found.size());
+            }
+        } finally {
+            if (useJdbc) {
+                dao.deleteProducts(ids);
+                DBConnection.shutdown();
+            }
+            mapped.close();
+            Files.deleteIfExists(file);
+        }
+    }
+
+    private static void report(String label, int operations, long nanos) {
+        System.out.printf("%-12s %d reads: %8.1f ms (%.0f ops/s)%n", label, operations, nanos / 1e6, operations / (nanos / 1e9));
+    }
+
+    /**
+     * Adds a fixed delay per call to stand in for a database round trip; a multi-get pays it once.
+     */
+    /**
+     * Adds a fixed delay per call to stand in for a database round trip; a multi-get pays it once.
+     */
+    private static final class SlowProductDAO implements ProductDAO {
+        private final ProductDAO delegate;
+        private final long latencyNanos;
+
+        SlowProductDAO(ProductDAO delegate, long latencyMicros) {
+            this.delegate = delegate;
+            this.latencyNanos = latencyMicros * 1_000;
+        }
+
+        private void roundTrip() {
+            long deadline = System.nanoTime() + latencyNanos;
+            while (System.nanoTime() < deadline) {
+                try {
+                    Thread.sleep(0, (int) Math.min(999_999, Math.max(0, deadline - System.nanoTime())));
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+
+        @Override public boolean addProduct(Product product) { return delegate.addProduct(product); }
+        @Override public Optional<Product> getProductById(String id) { roundTrip(); return delegate.getProductById(id); }
+        @Override public List<Product> getAllProducts() { roundTrip(); return delegate.getAllProducts(); }
+        @Override public boolean updateProduct(String id, double newPrice, int newQuantity) { roundTrip(); return delegate.updateProduct(id, newPrice, newQuantity); }
+        @Override public boolean deleteProduct(String id) { roundTrip(); return delegate.deleteProduct(id); }
+        @Override public boolean compareAndSetQuantity(String id, long expectedVersion, int newQuantity) { roundTrip(); return delegate.compareAndSetQuantity(id, expectedVersion, newQuantity); }
+        @Override public Map<String, Product> getProductsByIds(Collection<String> ids) { roundTrip(); return delegate.getProductsByIds(ids); }
+    }
+}
@@ -0,0 +1,71 @@
+package org.example.benchmark;
+
+import org.example.dao.ColumnarProductDAO;
+import org.example.model.Product;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Retained heap of N products held as Product objects in a HashMap (the InventoryManager layout)
+ * versus the struct-of-arrays {@link ColumnarProductDAO}, measured as the used-heap difference
+ * after full GCs, plus a full scan of each. Category and supplier strings are created per row,
+ * as the CSV and JDBC loaders do.
+ * Usage: ColumnarHeapBenchmark [products]
+ */
+public class ColumnarHeapBenchmark {
+
+    public static void main(String[] args) {
+        int products = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        LocalDate base = LocalDate.of(2025, 1, 1);
+
+        long before = usedHeap();
+        Map<String, Product> map = new HashMap<>();
+        for (int i = 0; i < products; i++) {
+            Product p = product(i, base);
+            map.put(p.getId(), p);
+        }
+        long mapBytes = usedHeap() - before;
+        long start = System.nanoTime();
+        long mapQuantity = 0;
+        for (Product p : map.values()) {
+            mapQuantity += p.getQuantity();
+        }
+        long mapScanNanos = System.nanoTime() - start;
+        map = null;
+
+        before = usedHeap();
+        ColumnarProductDAO columnar = new ColumnarProductDAO(products);
+        for (int i = 0; i < products; i++) {
+            columnar.addProduct(product(i, base));
+        }
+        long columnarBytes = usedHeap() - before;
+        long[] columnarQuantity = new long[1];
+        start = System.nanoTime();
+        columnar.forEach(p -> columnarQuantity[0] += p.getQuantity());
+        long columnarScanNanos = System.nanoTime() - start;
+
+        report("HashMap<Product>", products, mapBytes, mapScanNanos, mapQuantity);
+        report("columnar", products, columnarBytes, columnarScanNanos, columnarQuantity[0]);
+        System.out.printf("columnar uses %.0f%% of the object layout's heap (%d rows kept alive)%n",
+                100.0 * columnarBytes / mapBytes, columnar.size());
+    }
+
+    private static Product product(int i, LocalDate base) {
+        return new Product("SKU-" + i, "Item " + i, new String("Category " + (i % 40)), 10 + i % 1000, i % 5000,
+                base.plusDays(i % 365), new String("Supplier " + (i % 300)));
+    }
+
+    private static void report(String label, int products, long bytes, long scanNanos, long checksum) {
+        System.out.printf("%-17s %,d products: %8.1f MB retained (%5.1f bytes/product) | full scan %6.1f ms (sum %d)%n",
+                label, products, bytes / 1e6, (double) bytes / products, scanNanos / 1e6, checksum);
+    }
+
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
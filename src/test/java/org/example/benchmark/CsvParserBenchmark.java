@@ -0,0 +1,107 @@
+package org.example.benchmark;
+
+import org.example.model.Product;
+import org.example.util.ProductCsvParser;
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.FileReader;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.SplittableRandom;
+import java.util.function.Consumer;
+
+/**
+ * Loads the same generated product CSV with the old BufferedReader + String.split loader (kept
+ * here verbatim, minus its error printing) and with the mapped-buffer {@link ProductCsvParser},
+ * reporting rows per second and bytes allocated per row on the loading thread. Every row becomes
+ * a Product in both, so the allocation figures include the products themselves.
+ * Usage: CsvParserBenchmark [rows] [rounds]
+ */
+public class CsvParserBenchmark {
+
+    public static void main(String[] args) throws IOException {
+        int rows = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        int rounds = args.length > 1 ? Integer.parseInt(args[1]) : 5;
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+        Path file = Files.createTempFile("products-bench", ".csv");
+        try {
+            write(file, rows);
+            System.out.printf("%,d rows, %.1f MB%n", rows, Files.size(file) / 1e6);
+            for (int round = 1; round <= rounds; round++) {
+                long[] count = new long[1];
+                Consumer<Product> sink = p -> count[0] += p.getQuantity();
+
+                long allocated = threads.getCurrentThreadAllocatedBytes();
+                long start = System.nanoTime();
+                int legacyRows = loadLegacy(file, sink);
+                double legacySeconds = (System.nanoTime() - start) / 1e9;
+                long legacyBytes = threads.getCurrentThreadAllocatedBytes() - allocated;
+
+                allocated = threads.getCurrentThreadAllocatedBytes();
+                start = System.nanoTime();
+                int rejected = ProductCsvParser.parse(map(file), sink);
+                double parserSeconds = (System.nanoTime() - start) / 1e9;
+                long parserBytes = threads.getCurrentThreadAllocatedBytes() - allocated;
+
+                System.out.printf("round %d  split: %,10.0f rows/s %5.0f B/row   ProductCsvParser: %,10.0f rows/s %5.0f B/row   speedup %.1fx (%d/%d rows bad)%n",
+                        round, legacyRows / legacySeconds, (double) legacyBytes / rows,
+                        rows / parserSeconds, (double) parserBytes / rows, legacySeconds / parserSeconds,
+                        rows - legacyRows, rejected);
+            }
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    private static ByteBuffer map(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file)) {
+            return channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+    }
+
+    // No quoted fields, so the split loader reads every row correctly too.
+    private static void write(Path file, int rows) throws IOException {
+        SplittableRandom random = new SplittableRandom(7);
+        LocalDate base = LocalDate.of(2020, 1, 1);
+        try (BufferedWriter out = Files.newBufferedWriter(file)) {
+            out.write("ID,Name,Category,Price,Quantity,Date,Supplier\n");
+            for (int i = 0; i < rows; i++) {
+                out.write("SKU-" + i + ",Product number " + i + ",Category " + random.nextInt(40) + ","
+                        + random.nextInt(100_000) / 100.0 + "," + random.nextInt(5_000) + ","
+                        + base.plusDays(random.nextInt(2_000)) + ",Supplier " + random.nextInt(300) + "\n");
+            }
+        }
+    }
+
+    private static int loadLegacy(Path file, Consumer<Product> sink) throws IOException {
+        int loaded = 0;
+        try (BufferedReader br = new BufferedReader(new FileReader(file.toFile()))) {
+            String line;
+            br.readLine(); // Skip header row
+            while ((line = br.readLine()) != null) {
+                String[] values = line.split(",");
+                if (values.length < 7) continue;
+                try {
+                    String id = values[0].trim();
+                    String name = values[1].trim();
+                    String category = values[2].trim();
+                    double price = Double.parseDouble(values[3].trim());
+                    int quantity = Integer.parseInt(values[4].trim());
+                    LocalDate date = LocalDate.parse(values[5].trim());
+                    String supplier = values[6].trim();
+                    sink.accept(new Product(id, name, category, price, quantity, date, supplier));
+                    loaded++;
+                } catch (NumberFormatException | DateTimeParseException ignored) {
+                }
+            }
+        }
+        return loaded;
+    }
+}
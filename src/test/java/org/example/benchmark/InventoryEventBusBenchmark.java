@@ -0,0 +1,80 @@
+package org.example.benchmark;
+
+import org.example.service.EventBusStats;
+import org.example.service.InventoryEvent;
+import org.example.service.InventoryEventBus;
+import org.example.service.InventoryEventHandler;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+/**
+ * Publishing throughput of {@link InventoryEventBus} for each wait strategy, with several
+ * producer threads and a fan-out to several consumers, plus the bytes each producer thread
+ * allocated per event (expected to be ~0 once warmed up).
+ * Usage: InventoryEventBusBenchmark [eventsPerProducer] [producers] [consumers] [capacity]
+ */
+public class InventoryEventBusBenchmark {
+
+    public static void main(String[] args) throws InterruptedException {
+        int events = args.length > 0 ? Integer.parseInt(args[0]) : 2_000_000;
+        int producers = args.length > 1 ? Integer.parseInt(args[1]) : 2;
+        int consumers = args.length > 2 ? Integer.parseInt(args[2]) : 3;
+        int capacity = args.length > 3 ? Integer.parseInt(args[3]) : 1 << 14;
+
+        for (InventoryEventBus.WaitStrategy strategy : InventoryEventBus.WaitStrategy.values()) {
+            // First pass warms up the JIT; the second is reported.
+            run(strategy, events / 10, producers, consumers, capacity);
+            run(strategy, events, producers, consumers, capacity);
+        }
+    }
+
+    private static void run(InventoryEventBus.WaitStrategy strategy, int events, int producers, int consumers, int capacity)
+            throws InterruptedException {
+        InventoryEventHandler[] handlers = new InventoryEventHandler[consumers];
+        long[] sums = new long[consumers];
+        for (int c = 0; c < consumers; c++) {
+            int consumer = c;
+            handlers[c] = (event, endOfBatch) -> sums[consumer] += event.getQuantityDelta();
+        }
+        InventoryEventBus bus = new InventoryEventBus(capacity, strategy, handlers);
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long[] allocated = new long[producers];
+
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> workers = new ArrayList<>(producers);
+        for (int p = 0; p < producers; p++) {
+            int producer = p;
+            Thread worker = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                long before = threads.getCurrentThreadAllocatedBytes();
+                for (int i = 0; i < events; i++) {
+                    bus.publish(InventoryEvent.Type.UPDATE, "BENCH-1", 10.0, i, 10.0, i + 1);
+                }
+                allocated[producer] = threads.getCurrentThreadAllocatedBytes() - before;
+            });
+            worker.start();
+            workers.add(worker);
+        }
+        long begin = System.nanoTime();
+        start.countDown();
+        for (Thread worker : workers) {
+            worker.join();
+        }
+        bus.close();
+        double seconds = (System.nanoTime() - begin) / 1e9;
+
+        EventBusStats stats = bus.getStats();
+        long totalAllocated = 0;
+        for (long bytes : allocated) {
+            totalAllocated += bytes;
+        }
+        System.out.printf("%-9s %,12.0f events/s to %d consumers, %.3f B/event allocated by producers, %s%n",
+                strategy, producers * (double) events / seconds, consumers, (double) totalAllocated / ((long) producers * events), stats);
+    }
+}
@@ -0,0 +1,69 @@
+package org.example.benchmark;
+
+import org.example.model.Product;
+import org.example.service.InventoryEvent;
+import org.example.service.InventoryJournal;
+import org.example.service.JournalStats;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.Comparator;
+import java.util.stream.Stream;
+
+/**
+ * Measures journal write throughput (and how many records share each fsync) as writer threads
+ * increase, then the time to recover the resulting log.
+ * Usage: InventoryJournalBenchmark [recordsPerThread] [maxThreads]
+ */
+public class InventoryJournalBenchmark {
+
+    public static void main(String[] args) throws Exception {
+        int perThread = args.length > 0 ? Integer.parseInt(args[0]) : 2_000;
+        int maxThreads = args.length > 1 ? Integer.parseInt(args[1]) : 16;
+        LocalDate today = LocalDate.now();
+
+        for (int threads = 1; threads <= maxThreads; threads *= 2) {
+            Path dir = Files.createTempDirectory("journal-bench");
+            InventoryJournal journal = new InventoryJournal(dir, Long.MAX_VALUE);
+            Thread[] writers = new Thread[threads];
+            long start = System.nanoTime();
+            for (int t = 0; t < threads; t++) {
+                int offset = t;
+                writers[t] = new Thread(() -> {
+                    for (int i = 0; i < perThread; i++) {
+                        String id = "SKU-" + offset + "-" + i;
+                        journal.beforeChange(InventoryEvent.Type.ADD, id, new Product(id, "Item " + i, "Electronics", 99.5, i, today, "Key Ltd."));
+                        journal.afterChange();
+                    }
+                });
+                writers[t].start();
+            }
+            for (Thread w : writers) {
+                w.join();
+            }
+            long elapsed = System.nanoTime() - start;
+            journal.close();
+            JournalStats stats = journal.getStats();
+            System.out.printf("threads=%2d  %9.0f records/s  %6.1f records/fsync  (%d records in %.1f ms)%n",
+                    threads, stats.getRecordsAppended() / (elapsed / 1e9), stats.getRecordsPerCommit(),
+                    stats.getRecordsAppended(), elapsed / 1e6);
+
+            if (threads * 2 > maxThreads) {
+                InventoryJournal reopened = new InventoryJournal(dir, Long.MAX_VALUE);
+                System.out.printf("recovery of %d records: %.1f ms%n", reopened.getStats().getRecordsReplayed(),
+                        reopened.getStats().getRecoveryMillis());
+                reopened.close();
+            }
+            deleteRecursively(dir);
+        }
+    }
+
+    private static void deleteRecursively(Path dir) throws IOException {
+        try (Stream<Path> files = Files.walk(dir)) {
+            for (Path p : files.sorted(Comparator.reverseOrder()).toList()) {
+                Files.deleteIfExists(p);
+            }
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package org.example.benchmark;
+
+import org.example.model.Product;
+import org.example.service.EmailUtil;
+import org.example.service.InventoryManager;
+import org.example.service.StockAlertService;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Mixed read/adjust/update throughput of the lock-striped {@link InventoryManager} from one
+ * thread up to the core count, next to the same workload behind a single global lock.
+ * Usage: InventoryManagerBenchmark [products] [operationsPerThread]
+ */
+public class InventoryManagerBenchmark {
+
+    public static void main(String[] args) throws InterruptedException {
+        int products = args.length > 0 ? Integer.parseInt(args[0]) : 10_000;
+        int operations = args.length > 1 ? Integer.parseInt(args[1]) : 500_000;
+        int cores = Runtime.getRuntime().availableProcessors();
+
+        InventoryManager manager = new InventoryManager(new StockAlertService(new EmailUtil()));
+        List<String> ids = new ArrayList<>(products);
+        LocalDate today = LocalDate.now();
+        for (int i = 0; i < products; i++) {
+            ids.add("BENCH-" + i);
+            manager.addProduct(new Product("BENCH-" + i, "Item " + i, "Category " + (i % 40), 10 + i % 1000, 1_000_000, today, "Supplier " + (i % 300)));
+        }
+
+        Object globalLock = new Object();
+        for (int threads = 1; threads <= cores; threads *= 2) {
+            double striped = run(threads, operations, () -> mixedOperation(manager, ids));
+            double global = run(threads, operations, () -> {
+                synchronized (globalLock) {
+                    mixedOperation(manager, ids);
+                }
+            });
+            System.out.printf("%2d threads: striped %,12.0f ops/s | global lock %,12.0f ops/s%n", threads, striped, global);
+            if (threads < cores && threads * 2 > cores) threads = cores / 2;
+        }
+    }
+
+    // 80% reads, 15% stock adjustments, 5% price/quantity updates; quantities stay far above the alert threshold.
+    private static void mixedOperation(InventoryManager manager, List<String> ids) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        String id = ids.get(random.nextInt(ids.size()));
+        int roll = random.nextInt(100);
+        if (roll < 80) {
+            manager.searchProduct(id);
+        } else if (roll < 95) {
+            manager.adjustQuantity(id, random.nextBoolean() ? 1 : -1);
+        } else {
+            manager.updateProduct(id, 10 + random.nextInt(1000), 1_000_000);
+        }
+    }
+
+    private static double run(int threads, int operations, Runnable operation) throws InterruptedException {
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> workers = new ArrayList<>(threads);
+        for (int t = 0; t < threads; t++) {
+            Thread worker = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                for (int i = 0; i < operations; i++) {
+                    operation.run();
+                }
+            });
+            worker.start();
+            workers.add(worker);
+        }
+        long begin = System.nanoTime();
+        start.countDown();
+        for (Thread worker : workers) {
+            worker.join();
+        }
+        return (double) threads * operations / ((System.nanoTime() - begin) / 1e9);
+    }
+}
@@ -0,0 +1,76 @@
+package org.example.benchmark;
+
+import org.example.dao.MappedProductDAO;
+import org.example.dao.ProductDAO;
+import org.example.dao.ProductDAOImpl;
+import org.example.model.Product;
+import org.example.util.DBConnection;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Random point reads and in-place quantity updates against the memory-mapped store and, when
+ * "jdbc" is passed, the MySQL-backed DAO.
+ * Usage: MappedProductDAOBenchmark [rows] [operations] [jdbc]
+ */
+public class MappedProductDAOBenchmark {
+
+    public static void main(String[] args) throws IOException {
+        int rows = args.length > 0 ? Integer.parseInt(args[0]) : 100_000;
+        int operations = args.length > 1 ? Integer.parseInt(args[1]) : 200_000;
+        boolean includeJdbc = args.length > 2 && args[2].equalsIgnoreCase("jdbc");
+
+        List<Product> products = new ArrayList<>(rows);
+        LocalDate today = LocalDate.now();
+        for (int i = 0; i < rows; i++) {
+            products.add(new Product("BENCH-" + i, "Item " + i, "Category " + (i % 40), 10 + i % 1000, 1_000, today, "Supplier " + (i % 300)));
+        }
+
+        Path file = Files.createTempFile("products-bench", ".dat");
+        Files.delete(file);
+        try (MappedProductDAO mapped = new MappedProductDAO(file, rows)) {
+            run("mapped", mapped, products, operations);
+            long start = System.nanoTime();
+            mapped.checkpoint();
+            System.out.printf("mapped  checkpoint: %.1f ms, file size %.1f MB%n", (System.nanoTime() - start) / 1e6, Files.size(file) / 1e6);
+        } finally {
+            Files.deleteIfExists(file);
+        }
+
+        if (includeJdbc) {
+            ProductDAO jdbc = new ProductDAOImpl();
+            run("jdbc", jdbc, products, Math.min(operations, 20_000));
+            jdbc.deleteProducts(products.stream().map(Product::getId).toList());
+            DBConnection.shutdown();
+        }
+    }
+
+    private static void run(String label, ProductDAO dao, List<Product> products, int operations) {
+        long start = System.nanoTime();
+        dao.addProducts(products);
+        long loadNanos = System.nanoTime() - start;
+
+        Random random = new Random(42);
+        start = System.nanoTime();
+        long found = 0;
+        for (int i = 0; i < operations; i++) {
+            if (dao.getProductById(products.get(random.nextInt(products.size())).getId()).isPresent()) found++;
+        }
+        long readNanos = System.nanoTime() - start;
+
+        start = System.nanoTime();
+        for (int i = 0; i < operations; i++) {
+            dao.adjustQuantity(products.get(random.nextInt(products.size())).getId(), -1);
+        }
+        long updateNanos = System.nanoTime() - start;
+
+        System.out.printf("%-7s load %d rows: %8.1f ms | %d reads: %8.1f ms (%.2f µs/op, %d hits) | %d updates: %8.1f ms (%.2f µs/op)%n",
+                label, products.size(), loadNanos / 1e6, operations, readNanos / 1e6, readNanos / 1e3 / operations, found,
+                operations, updateNanos / 1e6, updateNanos / 1e3 / operations);
+    }
+}
@@ -0,0 +1,74 @@
+package org.example.benchmark;
+
+import org.example.dao.BatchResult;
+import org.example.dao.ProductDAO;
+import org.example.dao.ProductDAOImpl;
+import org.example.model.Product;
+import org.example.util.DBConnection;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Compares the single-row DAO loop with the batched bulk API against the configured database.
+ * Usage: ProductDAOBatchBenchmark [rows] [batchSize]
+ */
+public class ProductDAOBatchBenchmark {
+
+    public static void main(String[] args) throws SQLException {
+        int rows = args.length > 0 ? Integer.parseInt(args[0]) : 20_000;
+        int batchSize = args.length > 1 ? Integer.parseInt(args[1]) : 500;
+
+        ProductDAO dao = new ProductDAOImpl(batchSize);
+        List<Product> products = new ArrayList<>(rows);
+        List<Product> updates = new ArrayList<>(rows);
+        List<String> ids = new ArrayList<>(rows);
+        LocalDate today = LocalDate.now();
+        for (int i = 0; i < rows; i++) {
+            String id = "BENCH-" + i;
+            ids.add(id);
+            products.add(new Product(id, "Item " + i, "Category " + (i % 40), 10 + i % 1000, 100, today, "Supplier " + (i % 300)));
+            updates.add(new Product(id, "Item " + i, "Category " + (i % 40), 20 + i % 1000, 50, today, "Supplier " + (i % 300)));
+        }
+
+        System.out.println("Rows: " + rows + ", batch size: " + batchSize);
+
+        clearTable();
+        long loopInsert = time(() -> products.forEach(dao::addProduct));
+        long loopUpdate = time(() -> updates.forEach(p -> dao.updateProduct(p.getId(), p.getPrice(), p.getQuantity())));
+        long loopDelete = time(() -> ids.forEach(dao::deleteProduct));
+
+        clearTable();
+        BatchResult[] results = new BatchResult[3];
+        long batchInsert = time(() -> results[0] = dao.addProducts(products));
+        long batchUpdate = time(() -> results[1] = dao.updateProducts(updates));
+        long batchDelete = time(() -> results[2] = dao.deleteProducts(ids));
+
+        report("insert", loopInsert, batchInsert, rows, results[0]);
+        report("update", loopUpdate, batchUpdate, rows, results[1]);
+        report("delete", loopDelete, batchDelete, rows, results[2]);
+        System.out.println("Pool: " + DBConnection.getPoolStats());
+        DBConnection.shutdown();
+    }
+
+    private static long time(Runnable action) {
+        long start = System.nanoTime();
+        action.run();
+        return System.nanoTime() - start;
+    }
+
+    private static void report(String op, long loopNanos, long batchNanos, int rows, BatchResult result) {
+        System.out.printf("%-7s loop: %8.1f ms (%9.0f rows/s) | batch: %8.1f ms (%9.0f rows/s) | speedup x%.1f | %s%n",
+                op, loopNanos / 1e6, rows / (loopNanos / 1e9), batchNanos / 1e6, rows / (batchNanos / 1e9),
+                (double) loopNanos / batchNanos, result);
+    }
+
+    private static void clearTable() throws SQLException {
+        try (Connection conn = DBConnection.getConnection(); Statement stmt = conn.createStatement()) {
+            stmt.executeUpdate("DELETE FROM products WHERE productId LIKE 'BENCH-%'");
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package org.example.benchmark;
+
+import org.example.service.ProductNameIndex;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Builds a {@link ProductNameIndex} over generated product names, then reports index heap
+ * footprint and query latency for exact, prefix, typo and multi-word queries.
+ * Usage: ProductNameSearchBenchmark [products] [queriesPerKind]
+ */
+public class ProductNameSearchBenchmark {
+
+    private static final String[] ADJECTIVES = {"Wireless", "Mechanical", "Ergonomic", "Portable", "Compact", "Premium",
+            "Smart", "Heavy", "Silent", "Rugged", "Slim", "Digital", "Classic", "Modular", "Adjustable", "Foldable"};
+    private static final String[] NOUNS = {"Keyboard", "Laptop", "Mouse", "Monitor", "Chair", "Desk", "Headphones",
+            "Speaker", "Cable", "Charger", "Router", "Printer", "Scanner", "Webcam", "Microphone", "Tablet", "Lamp",
+            "Drawer", "Cabinet", "Shelf", "Projector", "Adapter", "Battery", "Stand"};
+    private static final String[] BRANDS = {"Kabi", "Keyline", "Nordica", "Altura", "Vexor", "Lumina", "Orbis", "Zentro"};
+
+    public static void main(String[] args) {
+        int products = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        int queries = args.length > 1 ? Integer.parseInt(args[1]) : 2_000;
+
+        Random random = new Random(42);
+        long heapBefore = usedHeap();
+        long start = System.nanoTime();
+        ProductNameIndex index = new ProductNameIndex();
+        for (int i = 0; i < products; i++) {
+            index.add("SKU-" + i, ADJECTIVES[random.nextInt(ADJECTIVES.length)] + " " + NOUNS[random.nextInt(NOUNS.length)]
+                    + " " + BRANDS[random.nextInt(BRANDS.length)] + " M" + random.nextInt(50_000));
+        }
+        long buildNanos = System.nanoTime() - start;
+        long heapAfter = usedHeap();
+        System.out.printf("indexed %,d names in %.1f ms: %,d distinct tokens, ~%.1f MB heap (%.0f bytes/name)%n",
+                products, buildNanos / 1e6, index.distinctTokens(), (heapAfter - heapBefore) / 1e6, (double) (heapAfter - heapBefore) / products);
+
+        measure(index, "exact", queries, random, () -> NOUNS[random.nextInt(NOUNS.length)]);
+        measure(index, "prefix", queries, random, () -> NOUNS[random.nextInt(NOUNS.length)].substring(0, 4));
+        measure(index, "typo", queries, random, () -> transpose(NOUNS[random.nextInt(NOUNS.length)], random));
+        measure(index, "two words", queries, random, () -> ADJECTIVES[random.nextInt(ADJECTIVES.length)].substring(0, 4)
+                + " " + NOUNS[random.nextInt(NOUNS.length)]);
+        measure(index, "model no.", queries, random, () -> "m" + random.nextInt(50_000));
+    }
+
+    private interface QuerySource {
+        String next();
+    }
+
+    private static void measure(ProductNameIndex index, String label, int queries, Random random, QuerySource source) {
+        for (int i = 0; i < queries / 10; i++) {
+            index.search(source.next(), 10);
+        }
+        long[] latencies = new long[queries];
+        long hits = 0;
+        for (int i = 0; i < queries; i++) {
+            String query = source.next();
+            long start = System.nanoTime();
+            List<String> results = index.search(query, 10);
+            latencies[i] = System.nanoTime() - start;
+            hits += results.size();
+        }
+        Arrays.sort(latencies);
+        System.out.printf("%-10s p50 %7.1f µs | p99 %7.1f µs | max %8.1f µs | avg %.1f results%n", label,
+                latencies[queries / 2] / 1e3, latencies[(int) (queries * 0.99)] / 1e3, latencies[queries - 1] / 1e3, (double) hits / queries);
+    }
+
+    private static String transpose(String word, Random random) {
+        int i = 1 + random.nextInt(word.length() - 2);
+        char[] chars = word.toCharArray();
+        char swap = chars[i];
+        chars[i] = chars[i + 1];
+        chars[i + 1] = swap;
+        return new String(chars);
+    }
+
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
@@ -0,0 +1,44 @@
+package org.example.benchmark;
+
+import org.example.model.Product;
+import org.example.service.EmailUtil;
+import org.example.service.InventoryManager;
+import org.example.service.ReorderPlan;
+import org.example.service.ReorderPlanner;
+import org.example.service.StockAlertService;
+import java.time.LocalDate;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Full-catalogue reorder planning time with fork/join pools of 1 up to the core count. Demand is
+ * synthetic (derived from the SKU's hash) so the run measures the planner rather than history
+ * decoding; roughly a third of the SKUs end up on a purchase order.
+ * Usage: ReorderPlannerBenchmark [products] [suppliers]
+ */
+public class ReorderPlannerBenchmark {
+
+    public static void main(String[] args) {
+        int products = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        int suppliers = args.length > 1 ? Integer.parseInt(args[1]) : 300;
+        int cores = Runtime.getRuntime().availableProcessors();
+
+        InventoryManager manager = new InventoryManager(new StockAlertService(new EmailUtil()));
+        LocalDate today = LocalDate.now();
+        for (int i = 0; i < products; i++) {
+            manager.addProduct(new Product("BENCH-" + i, "Item " + i, "Category " + (i % 40), 10 + i % 1000, 25 + i % 400, today, "Supplier " + (i % suppliers)));
+        }
+        ReorderPlanner planner = new ReorderPlanner(p -> (p.getId().hashCode() & 0x7FFFFFFF) % 30, 7, 3, 30, 20);
+
+        for (int threads = 1; threads <= cores; threads *= 2) {
+            ForkJoinPool pool = new ForkJoinPool(threads);
+            ReorderPlan plan = planner.plan(manager, pool);
+            double best = plan.getElapsedMillis();
+            for (int run = 0; run < 4; run++) {
+                best = Math.min(best, planner.plan(manager, pool).getElapsedMillis());
+            }
+            System.out.printf("%2d threads: best %.0f ms | %s%n", threads, best, plan);
+            pool.shutdown();
+            if (threads < cores && threads * 2 > cores) threads = cores / 2;
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package org.example.benchmark;
+
+import org.example.model.Product;
+import org.example.service.EmailUtil;
+import org.example.service.InventoryManager;
+import org.example.service.StockAlertService;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Reserve-then-commit throughput for multi-line orders from one thread up to the core count.
+ * Half of every order's lines hit a handful of hot SKUs, so the same stripes are contended by
+ * every thread; the rest spread over the catalogue. Reports committed orders per second and
+ * how many reservations were refused for lack of stock.
+ * Usage: ReservationBenchmark [products] [hotSkus] [ordersPerThread] [linesPerOrder]
+ */
+public class ReservationBenchmark {
+
+    public static void main(String[] args) throws InterruptedException {
+        int products = args.length > 0 ? Integer.parseInt(args[0]) : 10_000;
+        int hotSkus = args.length > 1 ? Integer.parseInt(args[1]) : 8;
+        int orders = args.length > 2 ? Integer.parseInt(args[2]) : 200_000;
+        int lines = args.length > 3 ? Integer.parseInt(args[3]) : 4;
+        int cores = Runtime.getRuntime().availableProcessors();
+
+        InventoryManager manager = new InventoryManager(new StockAlertService(new EmailUtil()));
+        List<String> ids = new ArrayList<>(products);
+        LocalDate today = LocalDate.now();
+        for (int i = 0; i < products; i++) {
+            ids.add("BENCH-" + i);
+            manager.addProduct(new Product("BENCH-" + i, "Item " + i, "Category " + (i % 40), 10 + i % 1000, 100_000_000, today, "Supplier " + (i % 300)));
+        }
+
+        AtomicLong orderIds = new AtomicLong();
+        for (int threads = 1; threads <= cores; threads *= 2) {
+            AtomicLong refused = new AtomicLong();
+            double rate = run(threads, orders, () -> {
+                String orderId = "ORDER-" + orderIds.incrementAndGet();
+                if (manager.reserve(orderId, order(ids, hotSkus, lines))) {
+                    manager.commit(orderId);
+                } else {
+                    refused.incrementAndGet();
+                }
+            });
+            System.out.printf("%2d threads: %,12.0f orders/s (%d lines, %d hot SKUs), %d refused%n", threads, rate, lines, hotSkus, refused.get());
+            if (threads < cores && threads * 2 > cores) threads = cores / 2;
+        }
+        System.out.println("Aggregates consistent: " + manager.verifyAggregates());
+        manager.shutdown();
+    }
+
+    private static Map<String, Integer> order(List<String> ids, int hotSkus, int lines) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        Map<String, Integer> order = new HashMap<>();
+        while (order.size() < lines) {
+            int index = order.size() % 2 == 0 ? random.nextInt(hotSkus) : random.nextInt(ids.size());
+            order.put(ids.get(index), 1 + random.nextInt(3));
+        }
+        return order;
+    }
+
+    private static double run(int threads, int operations, Runnable operation) throws InterruptedException {
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> workers = new ArrayList<>(threads);
+        for (int t = 0; t < threads; t++) {
+            Thread worker = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                for (int i = 0; i < operations; i++) {
+                    operation.run();
+                }
+            });
+            worker.start();
+            workers.add(worker);
+        }
+        long begin = System.nanoTime();
+        start.countDown();
+        for (Thread worker : workers) {
+            worker.join();
+        }
+        return (double) threads * operations / ((System.nanoTime() - begin) / 1e9);
+    }
+}
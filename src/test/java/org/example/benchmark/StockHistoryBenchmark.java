@@ -0,0 +1,78 @@
+package org.example.benchmark;
+
+import org.example.service.HistoryStats;
+import org.example.service.StockHistory;
+import org.example.service.StockPoint;
+import org.example.service.StockRollup;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Memory and decode speed of {@link StockHistory} on synthetic years of data: each SKU changes
+ * about {@code changesPerDay} times a day at irregular times, with sales, restocks and
+ * occasional price changes. Reports bytes per point against 20 raw bytes (long + int + double),
+ * full-history decode throughput, 30-day range latency and a year of daily rollups.
+ * Usage: StockHistoryBenchmark [skus] [years] [changesPerDay]
+ */
+public class StockHistoryBenchmark {
+
+    private static final long DAY = 86_400_000L;
+
+    public static void main(String[] args) {
+        int skus = args.length > 0 ? Integer.parseInt(args[0]) : 500;
+        int years = args.length > 1 ? Integer.parseInt(args[1]) : 3;
+        int changesPerDay = args.length > 2 ? Integer.parseInt(args[2]) : 24;
+
+        StockHistory history = new StockHistory();
+        Random random = new Random(7);
+        long start = 1_600_000_000_000L;
+        long end = start + years * 365L * DAY;
+        long meanGap = DAY / changesPerDay;
+        long loadBegin = System.nanoTime();
+        for (int s = 0; s < skus; s++) {
+            String id = "SKU-" + s;
+            int quantity = 500;
+            double price = 5 + random.nextInt(2_000) / 10.0;
+            for (long t = start; t < end; t += 1 + (long) (random.nextDouble() * 2 * meanGap)) {
+                quantity = quantity < 50 ? quantity + 500 : quantity - 1 - random.nextInt(5);
+                if (random.nextInt(200) == 0) price = Math.round(price * (0.9 + random.nextDouble() * 0.2) * 100) / 100.0;
+                history.record(id, t, quantity, price);
+            }
+        }
+        double loadSeconds = (System.nanoTime() - loadBegin) / 1e9;
+
+        HistoryStats stats = history.getStats();
+        System.out.println(stats);
+        System.out.printf("Raw 20 B/point would be %,d bytes; compressed is %.1fx smaller. Loaded %,.0f points/s.%n",
+                stats.getPoints() * 20, 20 / stats.getBytesPerPoint(), stats.getPoints() / loadSeconds);
+
+        for (int pass = 0; pass < 3; pass++) {
+            long begin = System.nanoTime();
+            long decoded = 0;
+            for (int s = 0; s < skus; s++) {
+                decoded += history.range("SKU-" + s, start, end).size();
+            }
+            double seconds = (System.nanoTime() - begin) / 1e9;
+            System.out.printf("Full decode pass %d: %,.0f points/s%n", pass + 1, decoded / seconds);
+        }
+
+        int queries = 20_000;
+        long sink = 0;
+        long begin = System.nanoTime();
+        for (int q = 0; q < queries; q++) {
+            long from = start + (long) (random.nextDouble() * (end - start - 30 * DAY));
+            List<StockPoint> points = history.range("SKU-" + random.nextInt(skus), from, from + 30 * DAY);
+            sink += points.size();
+        }
+        System.out.printf("30-day range: %.1f us/query (%d points on average)%n",
+                (System.nanoTime() - begin) / 1e3 / queries, sink / queries);
+
+        begin = System.nanoTime();
+        for (int q = 0; q < 1_000; q++) {
+            long from = start + (long) (random.nextDouble() * (end - start - 365 * DAY));
+            List<StockRollup> rollups = history.rollup("SKU-" + random.nextInt(skus), from, from + 365 * DAY, DAY);
+            sink += rollups.size();
+        }
+        System.out.printf("1-year daily rollup: %.1f us/query%n", (System.nanoTime() - begin) / 1e3 / 1_000);
+    }
+}
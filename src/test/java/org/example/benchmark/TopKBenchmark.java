@@ -0,0 +1,69 @@
+package org.example.benchmark;
+
+import org.example.model.Product;
+import org.example.service.EmailUtil;
+import org.example.service.InventoryManager;
+import org.example.service.StockAlertService;
+import java.time.LocalDate;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.stream.Collectors;
+
+/**
+ * Reads of the incrementally maintained top-K views (lowest stock, most valuable, fastest
+ * moving) against getAllProducts() followed by a sort, on a catalogue under a steady trickle of
+ * sales. Also reports the cost of a mutation, which now keeps those indexes up to date.
+ * Usage: TopKBenchmark [products] [k]
+ */
+public class TopKBenchmark {
+
+    public static void main(String[] args) {
+        int products = args.length > 0 ? Integer.parseInt(args[0]) : 200_000;
+        int k = args.length > 1 ? Integer.parseInt(args[1]) : 50;
+
+        InventoryManager manager = new InventoryManager(new StockAlertService(new EmailUtil()));
+        LocalDate today = LocalDate.now();
+        for (int i = 0; i < products; i++) {
+            manager.addProduct(new Product("BENCH-" + i, "Item " + i, "Category " + (i % 40), 10 + i % 1000, 1_000 + i % 100_000, today, "Supplier " + (i % 300)));
+        }
+
+        int sales = 250_000;
+        for (int pass = 0; pass < 2; pass++) {
+            long begin = System.nanoTime();
+            for (int i = 0; i < sales; i++) {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                // Skewed so a few SKUs clearly move fastest.
+                int sku = random.nextInt(10) == 0 ? random.nextInt(100) : random.nextInt(products);
+                manager.adjustQuantity("BENCH-" + sku, -1);
+            }
+            System.out.printf("Sale with index upkeep, pass %d: %.2f us/op%n", pass + 1, (System.nanoTime() - begin) / 1e3 / sales);
+        }
+
+        Comparator<Product> lowest = Comparator.comparingInt(Product::getQuantity);
+        Comparator<Product> valuable = Comparator.comparingDouble((Product p) -> p.getPrice() * p.getQuantity()).reversed();
+        for (int pass = 0; pass < 3; pass++) {
+            double incremental = time(() -> {
+                manager.lowestStock(k);
+                manager.mostValuable(k);
+                manager.fastestMoving(k);
+            }, 2_000);
+            double sortOnRead = time(() -> {
+                List<Product> all = manager.getAllProducts();
+                all.stream().sorted(lowest).limit(k).collect(Collectors.toList());
+                all.stream().sorted(valuable).limit(k).collect(Collectors.toList());
+            }, 5);
+            System.out.printf("Pass %d, %,d products, k=%d: top-K views %.1f us | sort on read (two views) %.1f us (%.0fx)%n",
+                    pass + 1, products, k, incremental, sortOnRead, sortOnRead / incremental);
+        }
+        System.out.println("Fastest moving: " + manager.fastestMoving(5).stream().map(Product::getId).collect(Collectors.toList()));
+    }
+
+    private static double time(Runnable query, int repetitions) {
+        long begin = System.nanoTime();
+        for (int i = 0; i < repetitions; i++) {
+            query.run();
+        }
+        return (System.nanoTime() - begin) / 1e3 / repetitions;
+    }
+}
@@ -0,0 +1,113 @@
+package org.example.dao;
+
+import org.example.model.Product;
+import org.junit.jupiter.api.Test;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AsyncProductDAOTest {
+
+    @Test
+    void testConcurrency_IsCappedByLimiter() throws Exception {
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger peak = new AtomicInteger();
+        ProductDAO slow = new MappedProductDAO(tempStore()) {
+            @Override
+            public Optional<Product> getProductById(String id) {
+                peak.accumulateAndGet(running.incrementAndGet(), Math::max);
+                try {
+                    Thread.sleep(5);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                running.decrementAndGet();
+                return super.getProductById(id);
+            }
+        };
+        try (AsyncProductDAO async = new AsyncProductDAO(slow, 3, 5_000, 100)) {
+            List<CompletableFuture<Optional<Product>>> calls = new ArrayList<>();
+            for (int i = 0; i < 30; i++) {
+                calls.add(async.getProductById("P" + i));
+            }
+            CompletableFuture.allOf(calls.toArray(new CompletableFuture<?>[0])).get();
+        }
+        assertTrue(peak.get() <= 3, "No more than maxConcurrency calls should reach the delegate at once.");
+    }
+
+    @Test
+    void testGetProductsByIds_MergesChunksAndTimesOut() throws Exception {
+        MappedProductDAO store = new MappedProductDAO(tempStore());
+        for (int i = 0; i < 25; i++) {
+            store.addProduct(new Product("P" + i, "Item " + i, "Electronics", 10, i, LocalDate.of(2025, 10, 10), "Kabi ltd"));
+        }
+        List<String> ids = new ArrayList<>();
+        for (int i = 0; i < 30; i++) {
+            ids.add("P" + i);
+        }
+        try (AsyncProductDAO async = new AsyncProductDAO(store, 4, 5_000, 7)) {
+            Map<String, Product> found = async.getProductsByIds(ids).get();
+            assertEquals(25, found.size());
+        }
+
+        ProductDAO stuck = new MappedProductDAO(tempStore()) {
+            @Override
+            public boolean deleteProduct(String id) {
+                try {
+                    Thread.sleep(1_000);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return false;
+            }
+        };
+        try (AsyncProductDAO async = new AsyncProductDAO(stuck, 1, 20, 10)) {
+            ExecutionException e = assertThrows(ExecutionException.class, () -> async.deleteProduct("P1").get());
+            assertTrue(e.getCause() instanceof TimeoutException);
+        }
+    }
+
+    @Test
+    void testTimedOutCalls_GiveBackTheirPermits() throws Exception {
+        ProductDAO stuck = new MappedProductDAO(tempStore()) {
+            @Override
+            public Optional<Product> getProductById(String id) {
+                try {
+                    Thread.sleep(10_000);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return Optional.empty();
+            }
+        };
+        try (AsyncProductDAO async = new AsyncProductDAO(stuck, 1, 50, 10)) {
+            List<CompletableFuture<Optional<Product>>> calls = new ArrayList<>();
+            for (int i = 0; i < 5; i++) {
+                calls.add(async.getProductById("P" + i));
+            }
+            for (CompletableFuture<Optional<Product>> call : calls) {
+                ExecutionException e = assertThrows(ExecutionException.class, call::get);
+                assertTrue(e.getCause() instanceof TimeoutException);
+            }
+            Product p = new Product("P1", "Item", "Electronics", 10, 1, LocalDate.of(2025, 10, 10), "Kabi ltd");
+            assertTrue(async.addProduct(p).get(), "The only permit must be free again once the stuck calls time out.");
+        }
+    }
+
+    private static Path tempStore() throws Exception {
+        Path file = Files.createTempFile("async-products", ".dat");
+        Files.delete(file);
+        file.toFile().deleteOnExit();
+        return file;
+    }
+}
@@ -0,0 +1,147 @@
+package org.example.dao;
+
+import org.example.model.Product;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CachingProductDAOTest {
+
+    private CountingProductDAO backend;
+    private CachingProductDAO cachingDAO;
+
+    @BeforeEach
+    public void setup() {
+        backend = new CountingProductDAO();
+        backend.addProduct(product("P1", 10));
+        backend.addProduct(product("P2", 20));
+        backend.addProduct(product("P3", 30));
+        cachingDAO = new CachingProductDAO(backend, 2, 60_000);
+    }
+
+    private static Product product(String id, int quantity) {
+        return new Product(id, "Item " + id, "Electronics", 100, quantity, LocalDate.of(2025, 10, 10), "Kabi ltd");
+    }
+
+    @Test
+    void testGetProductById_SecondReadIsServedFromCache() {
+        cachingDAO.getProductById("P1");
+        Optional<Product> again = cachingDAO.getProductById("P1");
+        assertTrue(again.isPresent());
+        assertEquals(1, backend.loads.get(), "The second read should not reach the backing DAO.");
+        assertEquals(1, cachingDAO.getStats().getHits());
+        assertEquals(1, cachingDAO.getStats().getMisses());
+    }
+
+    @Test
+    void testUpdateProduct_InvalidatesEntry() {
+        cachingDAO.getProductById("P1");
+        cachingDAO.updateProduct("P1", 50.0, 3);
+        assertEquals(3, cachingDAO.getProductById("P1").get().getQuantity(), "A write must not leave a stale cached row.");
+        assertEquals(2, backend.loads.get());
+    }
+
+    @Test
+    void testCachedInstance_IsNotSharedWithCallers() {
+        cachingDAO.getProductById("P1").get().setQuantity(999);
+        assertEquals(10, cachingDAO.getProductById("P1").get().getQuantity());
+    }
+
+    @Test
+    void testEviction_BoundsSizeToLeastRecentlyUsed() {
+        cachingDAO.getProductById("P1");
+        cachingDAO.getProductById("P2");
+        cachingDAO.getProductById("P1");
+        cachingDAO.getProductById("P3");
+        assertEquals(2, cachingDAO.getStats().getSize());
+        assertEquals(1, cachingDAO.getStats().getEvictions());
+        cachingDAO.getProductById("P1");
+        assertEquals(3, backend.loads.get(), "P1 was used recently and should have survived eviction.");
+    }
+
+    @Test
+    void testTtl_ExpiresEntries() throws InterruptedException {
+        CachingProductDAO shortLived = new CachingProductDAO(backend, 10, 1);
+        shortLived.getProductById("P1");
+        Thread.sleep(5);
+        shortLived.getProductById("P1");
+        assertEquals(2, backend.loads.get());
+        assertEquals(1, shortLived.getStats().getExpirations());
+    }
+
+    @Test
+    void testConcurrentMisses_TriggerSingleLoad() throws InterruptedException {
+        backend.gate = new CountDownLatch(1);
+        List<Thread> readers = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            Thread t = new Thread(() -> assertTrue(cachingDAO.getProductById("P2").isPresent()));
+            readers.add(t);
+            t.start();
+        }
+        while (cachingDAO.getStats().getMisses() < 8) {
+            Thread.sleep(1);
+        }
+        backend.gate.countDown();
+        for (Thread t : readers) {
+            t.join();
+        }
+        assertEquals(1, backend.loads.get(), "Concurrent misses on one key should share a single load.");
+    }
+
+    private static final class CountingProductDAO implements ProductDAO {
+        final Map<String, Product> rows = new ConcurrentHashMap<>();
+        final AtomicInteger loads = new AtomicInteger();
+        volatile CountDownLatch gate;
+
+        @Override
+        public boolean addProduct(Product product) {
+            return rows.putIfAbsent(product.getId(), product) == null;
+        }
+
+        @Override
+        public Optional<Product> getProductById(String id) {
+            loads.incrementAndGet();
+            if (gate != null) {
+                try {
+                    gate.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            return Optional.ofNullable(rows.get(id)).map(p -> product(p.getId(), p.getQuantity()));
+        }
+
+        @Override
+        public List<Product> getAllProducts() {
+            return new ArrayList<>(rows.values());
+        }
+
+        @Override
+        public boolean updateProduct(String id, double newPrice, int newQuantity) {
+            Product p = rows.get(id);
+            if (p == null) return false;
+            p.update(newPrice, newQuantity);
+            return true;
+        }
+
+        @Override
+        public boolean deleteProduct(String id) {
+            return rows.remove(id) != null;
+        }
+
+        @Override
+        public boolean compareAndSetQuantity(String id, long expectedVersion, int newQuantity) {
+            Product p = rows.get(id);
+            return p != null && p.compareAndSetQuantity(expectedVersion, newQuantity);
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package org.example.dao;
+import org.example.model.Product;
+import org.junit.jupiter.api.Test;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ColumnarProductDAOTest extends ProductDAOContract {
+
+    private ColumnarProductDAO columnarDAO;
+
+    @Override
+    protected ProductDAO createEmptyDAO() {
+        columnarDAO = new ColumnarProductDAO(2);
+        return columnarDAO;
+    }
+
+    @Test
+    void testDeleteAndGrow_KeepIndexConsistent() {
+        for (int i = 0; i < 500; i++) {
+            productDAO.addProduct(new Product("P" + i, "Item " + i, "Category " + (i % 3), i, i, LocalDate.of(2025, 10, 10), "Kabi ltd"));
+        }
+        for (int i = 0; i < 500; i += 2) {
+            assertTrue(productDAO.deleteProduct("P" + i));
+        }
+        for (int i = 0; i < 500; i++) {
+            assertEquals(i % 2 == 1, productDAO.getProductById("P" + i).isPresent(), "Lookup of P" + i + " after deletes");
+        }
+        productDAO.addProduct(new Product("NEW", "Reused row", "Category 0", 1, 1, LocalDate.of(2025, 10, 10), "Kabi ltd"));
+        assertEquals(251, columnarDAO.size());
+        assertEquals(84, productDAO.findByCategory("Category 0", null, 1_000).getItems().size());
+    }
+
+    @Test
+    void testPaging_WalksIdOrderAcrossWrites() {
+        for (int i = 999; i >= 0; i--) {
+            productDAO.addProduct(new Product(String.format("P%04d", i), "Item " + i, "Category " + (i % 3), i, i, LocalDate.of(2025, 10, 10), "Kabi ltd"));
+        }
+        List<String> seen = new ArrayList<>();
+        String cursor = null;
+        Page<Product> page;
+        do {
+            page = productDAO.findByCategory("Category 1", cursor, 50);
+            page.getItems().forEach(p -> seen.add(p.getId()));
+            cursor = page.getNextCursor();
+            // Writes between pages must not disturb the walk.
+            productDAO.deleteProduct(String.format("P%04d", seen.size() * 3));
+            productDAO.addProduct(new Product("A" + seen.size(), "Early", "Category 1", 1, 1, LocalDate.of(2025, 10, 10), "Kabi ltd"));
+        } while (page.hasMore());
+
+        assertEquals(Integer.valueOf(333), Integer.valueOf(seen.size()));
+        for (int i = 0; i < seen.size(); i++) {
+            assertEquals(String.format("P%04d", 3 * i + 1), seen.get(i));
+        }
+    }
+
+    @Test
+    void testForEach_HandsOutReadOnlyFlyweight() {
+        productDAO.addProduct(TEST_PRODUCT_SIMPLE);
+        productDAO.addProduct(new Product("P2", "Mouse", "Electronics", 1500, 40, LocalDate.of(2025, 10, 10), "Kabi ltd"));
+        List<Product> seen = new ArrayList<>();
+        List<Product> copies = new ArrayList<>();
+        columnarDAO.forEach(p -> {
+            seen.add(p);
+            copies.add(p.copy());
+        });
+        assertSame(seen.get(0), seen.get(1), "One view should be reused for every row.");
+        assertEquals("Laptop", copies.get(0).getName());
+        assertEquals(40, copies.get(1).getQuantity());
+        assertThrows(UnsupportedOperationException.class, () -> seen.get(0).setQuantity(1));
+    }
+}
@@ -0,0 +1,82 @@
+package org.example.dao;
+import org.example.model.Product;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MappedProductDAOTest extends ProductDAOContract {
+
+    private Path storeFile;
+    private MappedProductDAO mappedDAO;
+
+    @Override
+    protected ProductDAO createEmptyDAO() {
+        try {
+            storeFile = Files.createTempFile("products", ".dat");
+            Files.delete(storeFile);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        mappedDAO = new MappedProductDAO(storeFile, 2);
+        return mappedDAO;
+    }
+
+    @AfterEach
+    public void tearDown() throws IOException {
+        mappedDAO.close();
+        Files.deleteIfExists(storeFile);
+    }
+
+    @Test
+    void testReopen_RebuildsIndexAndFreeList() {
+        for (int i = 0; i < 5; i++) {
+            productDAO.addProduct(new Product("P" + i, "Item " + i, "Electronics", 10 * i, i, LocalDate.of(2025, 10, 10), "Kabi ltd"));
+        }
+        productDAO.deleteProduct("P2");
+        productDAO.updateProduct("P4", 99.5, 44);
+        mappedDAO.close();
+
+        mappedDAO = new MappedProductDAO(storeFile);
+        assertEquals(4, mappedDAO.size());
+        assertFalse(mappedDAO.getProductById("P2").isPresent());
+        Product p4 = mappedDAO.getProductById("P4").get();
+        assertEquals(44, p4.getQuantity());
+        assertEquals(99.5, p4.getPrice(), 0.001);
+        assertEquals(LocalDate.of(2025, 10, 10), p4.getLastUpdated());
+
+        mappedDAO.addProduct(new Product("P9", "Reused", "Furniture", 1, 1, LocalDate.of(2025, 1, 1), "Key Ltd."));
+        assertEquals(5, mappedDAO.getAllProducts().size());
+        assertEquals("Reused", mappedDAO.getAllProducts().get(2).getName(), "The deleted slot should be reused first.");
+    }
+
+    @Test
+    void testAddProduct_RejectsOversizedFields() {
+        String longName = "x".repeat(200);
+        assertFalse(productDAO.addProduct(new Product("P1", longName, "Electronics", 1, 1, LocalDate.of(2025, 1, 1), "Kabi ltd")));
+    }
+
+    @Test
+    void testOpen_RejectsTruncatedOrCorruptFiles() throws IOException {
+        productDAO.addProduct(new Product("P1", "Item", "Electronics", 1, 1, LocalDate.of(2025, 1, 1), "Kabi ltd"));
+        mappedDAO.close();
+        byte[] bytes = Files.readAllBytes(storeFile);
+
+        Files.write(storeFile, Arrays.copyOf(bytes, 10));
+        assertThrows(UncheckedIOException.class, () -> new MappedProductDAO(storeFile));
+        Files.write(storeFile, Arrays.copyOf(bytes, bytes.length - 7));
+        assertThrows(UncheckedIOException.class, () -> new MappedProductDAO(storeFile));
+        bytes[8] = (byte) 0x80; // negative record count in the header
+        Files.write(storeFile, bytes);
+        assertThrows(UncheckedIOException.class, () -> new MappedProductDAO(storeFile));
+
+        Files.delete(storeFile);
+        mappedDAO = new MappedProductDAO(storeFile, 2);
+    }
+}
@@ -0,0 +1,184 @@
+package org.example.dao;
+import org.example.model.Product;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Behaviour every {@link ProductDAO} backend must share. Subclasses supply an empty store.
+ */
+abstract class ProductDAOContract {
+
+    protected ProductDAO productDAO;
+    protected final Product TEST_PRODUCT_SIMPLE = new Product(
+            "P1", "Laptop", "Electronics", 300000, 10,
+            LocalDate.of(2025, 10, 10), "Kabi ltd"
+    );
+
+    protected abstract ProductDAO createEmptyDAO();
+
+    @BeforeEach
+    public void setup() {
+        productDAO = createEmptyDAO();
+    }
+
+    @Test
+    void testAddProduct_SuccessAndRetrieval() {
+        boolean result = productDAO.addProduct(TEST_PRODUCT_SIMPLE);
+        assertTrue(result, "Adding the product should return true.");
+        Optional<Product> retrieved = productDAO.getProductById(TEST_PRODUCT_SIMPLE.getId  ());
+        assertTrue(retrieved.isPresent(), "Product must be successfully retrieved by ID after insertion.");
+        assertEquals(TEST_PRODUCT_SIMPLE.getName(), retrieved.get().getName());
+        assertEquals(TEST_PRODUCT_SIMPLE.getQuantity(), retrieved.get().getQuantity());
+        assertEquals(300000.0, retrieved.get().getPrice(), 0.001);
+    }
+
+    @Test
+    void testAddProduct_DuplicateIdFailure() {
+        productDAO.addProduct(TEST_PRODUCT_SIMPLE);
+        boolean result = productDAO.addProduct(TEST_PRODUCT_SIMPLE);
+        assertFalse(result, "Adding a product with a duplicate ID should return false due to SQL constraint.");
+    }
+
+    @Test
+    void testGetProductById_NotFound() {
+        Optional<Product> retrieved = productDAO.getProductById("SKU999");
+        assertFalse(retrieved.isPresent(), "Should not find a product with a non-existent ID.");
+    }
+
+    @Test
+    void testUpdateProduct_Success() {
+        productDAO.addProduct(TEST_PRODUCT_SIMPLE); // Original price: 300000, quantity: 10
+
+        double newPrice = 315000.99;
+        int newQuantity = 5;
+        boolean result = productDAO.updateProduct(TEST_PRODUCT_SIMPLE.getId(), newPrice, newQuantity);
+        assertTrue(result, "Update operation should return true.");
+        Optional<Product> updated = productDAO.getProductById(TEST_PRODUCT_SIMPLE.getId());
+        assertTrue(updated.isPresent());
+        assertEquals(newPrice, updated.get().getPrice(), 0.001, "Price should be updated.");
+        assertEquals(newQuantity, updated.get().getQuantity(), "Quantity should be updated.");
+    }
+
+    @Test
+    void testUpdateProduct_NotFound() {
+        boolean result = productDAO.updateProduct("NON_EXISTENT_ID", 50.0, 50);
+        assertFalse(result, "Updating a non-existent product should return false.");
+    }
+
+    @Test
+    void testDeleteProduct_Success() {
+        productDAO.addProduct(TEST_PRODUCT_SIMPLE);
+        boolean result = productDAO.deleteProduct(TEST_PRODUCT_SIMPLE.getId());
+        assertTrue(result, "Delete operation should return true.");
+        Optional<Product> deleted = productDAO.getProductById(TEST_PRODUCT_SIMPLE.getId());
+        assertFalse(deleted.isPresent(), "Product should not be found after successful deletion.");
+    }
+
+    @Test
+    void testDeleteProduct_NonExistent() {
+        boolean result = productDAO.deleteProduct("DUMMY_ID_TO_DELETE");
+        assertFalse(result, "Deleting a non-existent product should return false.");
+    }
+    @Test
+    void verifySetup_TableIsEmpty() {
+        List<Product> products = productDAO.getAllProducts();
+        assertTrue(products.isEmpty(), "Table must be empty after @BeforeEach cleanup.");
+    }
+
+    @Test
+    void testAddProducts_ReportsPerRowResults() {
+        productDAO.addProduct(TEST_PRODUCT_SIMPLE);
+        Product second = new Product("P2", "Mouse", "Electronics", 1500, 40, LocalDate.of(2025, 10, 10), "Kabi ltd");
+        BatchResult result = productDAO.addProducts(List.of(second, TEST_PRODUCT_SIMPLE));
+        assertTrue(result.isSuccess(0), "The new product should be inserted.");
+        assertFalse(result.isSuccess(1), "The duplicate ID should be reported as failed.");
+        assertEquals(List.of("P1"), result.getFailedIds());
+        assertTrue(productDAO.getProductById("P2").isPresent(), "A failing row must not roll back the rest of the batch.");
+    }
+
+    @Test
+    void testUpdateAndDeleteProducts_Batch() {
+        productDAO.addProduct(TEST_PRODUCT_SIMPLE);
+        Product repriced = new Product("P1", "Laptop", "Electronics", 250000, 3, LocalDate.of(2025, 10, 10), "Kabi ltd");
+        BatchResult updated = productDAO.updateProducts(List.of(repriced));
+        assertTrue(updated.isAllSuccessful());
+        assertEquals(3, productDAO.getProductById("P1").get().getQuantity());
+
+        BatchResult deleted = productDAO.deleteProducts(Arrays.asList("P1", "MISSING"));
+        assertTrue(deleted.isSuccess(0));
+        assertFalse(deleted.isSuccess(1), "Deleting a missing ID should be reported as failed.");
+    }
+
+    @Test
+    void testScanAfter_PagesInIdOrder() {
+        for (String id : List.of("P3", "P1", "P2")) {
+            productDAO.addProduct(new Product(id, "Item " + id, "Electronics", 100, 5, LocalDate.of(2025, 10, 10), "Kabi ltd"));
+        }
+        Page<Product> first = productDAO.scanAfter(null, 2);
+        assertEquals(List.of("P1", "P2"), first.getItems().stream().map(Product::getId).collect(Collectors.toList()));
+        assertTrue(first.hasMore());
+        Page<Product> second = productDAO.scanAfter(first.getNextCursor(), 2);
+        assertEquals(List.of("P3"), second.getItems().stream().map(Product::getId).collect(Collectors.toList()));
+        assertFalse(second.hasMore(), "The last page should report no further rows.");
+        assertEquals(3, productDAO.streamProducts().count(), "Streaming should visit every row exactly once.");
+    }
+
+    @Test
+    void testAdjustQuantity_PreventsOversell() {
+        productDAO.addProduct(TEST_PRODUCT_SIMPLE); // quantity: 10
+        assertTrue(productDAO.adjustQuantity("P1", -4));
+        assertFalse(productDAO.adjustQuantity("P1", -7), "A decrement below zero must be rejected.");
+        assertEquals(6, productDAO.getProductById("P1").get().getQuantity());
+        assertFalse(productDAO.adjustQuantity("MISSING", 1));
+    }
+
+    @Test
+    void testCompareAndSetQuantity_RejectsStaleVersion() {
+        productDAO.addProduct(TEST_PRODUCT_SIMPLE);
+        long version = productDAO.getProductById("P1").get().getVersion();
+        assertTrue(productDAO.compareAndSetQuantity("P1", version, 8));
+        assertFalse(productDAO.compareAndSetQuantity("P1", version, 2), "A write based on a stale version must fail.");
+        Product current = productDAO.getProductById("P1").get();
+        assertEquals(8, current.getQuantity());
+        assertEquals(version + 1, current.getVersion());
+    }
+
+    @Test
+    void testFinders_FilterAndPage() {
+        productDAO.addProduct(new Product("P1", "Laptop", "Electronics", 120000, 45, LocalDate.of(2025, 1, 10), "ViewTech Inc."));
+        productDAO.addProduct(new Product("P2", "Keyboard", "Electronics", 4000, 12, LocalDate.of(2025, 3, 5), "Key Ltd."));
+        productDAO.addProduct(new Product("P3", "Chair", "Furnitures", 4500, 8, LocalDate.of(2024, 11, 20), "Vasanthan Co."));
+        productDAO.addProduct(new Product("P4", "Mouse", "Electronics", 1500, 60, LocalDate.of(2025, 6, 1), "Key Ltd."));
+
+        Page<Product> electronics = productDAO.findByCategory("Electronics", null, 2);
+        assertEquals(List.of("P1", "P2"), ids(electronics));
+        assertTrue(electronics.hasMore());
+        assertEquals(List.of("P4"), ids(productDAO.findByCategory("Electronics", electronics.getNextCursor(), 2)));
+
+        assertEquals(List.of("P2", "P4"), ids(productDAO.findBySupplier("Key Ltd.", null, 10)));
+        assertEquals(List.of("P2", "P3"), ids(productDAO.findLowStock(20, null, 10)));
+        assertEquals(List.of("P2", "P3"), ids(productDAO.findByPriceRange(4000, 5000, null, 10)));
+        assertEquals(List.of("P1", "P2"), ids(productDAO.findManufacturedBetween(LocalDate.of(2025, 1, 1), LocalDate.of(2025, 3, 31), null, 10)));
+    }
+
+    @Test
+    void testGetProductsByIds_ReturnsOnlyExisting() {
+        productDAO.addProduct(TEST_PRODUCT_SIMPLE);
+        productDAO.addProduct(new Product("P2", "Mouse", "Electronics", 1500, 40, LocalDate.of(2025, 10, 10), "Kabi ltd"));
+        Map<String, Product> found = productDAO.getProductsByIds(List.of("P1", "P2", "MISSING", "P1"));
+        assertEquals(2, found.size());
+        assertEquals("Mouse", found.get("P2").getName());
+    }
+
+    private static List<String> ids(Page<Product> page) {
+        return page.getItems().stream().map(Product::getId).collect(Collectors.toList());
+    }
+}
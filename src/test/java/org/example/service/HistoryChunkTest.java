@@ -0,0 +1,63 @@
+package org.example.service;
+
+import org.junit.jupiter.api.Test;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HistoryChunkTest {
+
+    @Test
+    void testRoundTrip_PreservesEveryPointExactly() {
+        Random random = new Random(42);
+        long[] timestamps = new long[HistoryChunk.CAPACITY];
+        int[] quantities = new int[HistoryChunk.CAPACITY];
+        double[] prices = new double[HistoryChunk.CAPACITY];
+        timestamps[0] = 1_700_000_000_000L;
+        quantities[0] = 500;
+        prices[0] = 19.99;
+        for (int i = 1; i < timestamps.length; i++) {
+            // Mostly regular ticks with occasional irregular gaps, flat runs, big swings and odd prices.
+            timestamps[i] = timestamps[i - 1] + (random.nextInt(4) == 0 ? random.nextInt(10_000_000) : 60_000);
+            quantities[i] = random.nextInt(3) == 0 ? quantities[i - 1] : random.nextInt(5) == 0 ? random.nextInt() : quantities[i - 1] - random.nextInt(20);
+            prices[i] = random.nextInt(3) == 0 ? prices[i - 1] : random.nextInt(10) == 0 ? random.nextDouble() * 1e9 : Math.round(random.nextDouble() * 10_000) / 100.0;
+        }
+        prices[7] = Double.MAX_VALUE;
+        prices[8] = -0.0;
+        prices[9] = Double.NaN;
+
+        HistoryChunk chunk = new HistoryChunk(timestamps[0], quantities[0], prices[0]);
+        for (int i = 1; i < timestamps.length; i++) {
+            chunk.append(timestamps[i], quantities[i], prices[i]);
+        }
+        assertTrue(chunk.isFull());
+        chunk.seal();
+
+        List<long[]> decoded = new ArrayList<>();
+        chunk.forEach((timestamp, quantity, price) -> decoded.add(new long[]{timestamp, quantity, Double.doubleToRawLongBits(price)}));
+        assertEquals(timestamps.length, decoded.size());
+        for (int i = 0; i < timestamps.length; i++) {
+            assertEquals(timestamps[i], decoded.get(i)[0], "timestamp " + i);
+            assertEquals(quantities[i], (int) decoded.get(i)[1], "quantity " + i);
+            assertEquals(Double.doubleToRawLongBits(prices[i]), decoded.get(i)[2], "price " + i);
+        }
+        assertEquals(timestamps[timestamps.length - 1], chunk.getLastTimestamp());
+        assertEquals(quantities[quantities.length - 1], chunk.getLastQuantity());
+    }
+
+    @Test
+    void testRegularFlatSeries_CostsAboutThreeBitsPerPoint() {
+        HistoryChunk chunk = new HistoryChunk(0, 100, 9.99);
+        for (int i = 1; i < HistoryChunk.CAPACITY; i++) {
+            chunk.append(i * 3_600_000L, 100, 9.99);
+        }
+        chunk.seal();
+        assertTrue(chunk.sizeInBytes() <= 8 * 28, "Unchanged ticks should cost one bit per field, got " + chunk.sizeInBytes() + " bytes");
+
+        int[] visited = {0};
+        chunk.forEach((timestamp, quantity, price) -> ++visited[0] < 3);
+        assertEquals(3, visited[0], "Returning false stops decoding.");
+    }
+}
@@ -0,0 +1,90 @@
+package org.example.service;
+
+import org.example.dao.ColumnarProductDAO;
+import org.example.model.Product;
+import org.example.service.InventoryAggregator.Dimension;
+import org.junit.jupiter.api.Test;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class InventoryAggregatorTest {
+
+    private static Product product(String id, String category, String supplier, double price, int quantity, LocalDate made) {
+        return new Product(id, "Item " + id, category, price, quantity, made, supplier);
+    }
+
+    @Test
+    void testGroupByCategoryAndMonth_ComputesEveryMeasure() {
+        List<Product> products = List.of(
+                product("P1", "Electronics", "Kabi ltd", 10, 5, LocalDate.of(2025, 1, 3)),
+                product("P2", "Electronics", "Key Ltd.", 2.5, 40, LocalDate.of(2025, 1, 30)),
+                product("P3", "Electronics", "Kabi ltd", 100, 1, LocalDate.of(2025, 2, 1)),
+                product("P4", "Furniture", "Key Ltd.", 0.1, 3, LocalDate.of(2025, 1, 15)));
+
+        List<GroupAggregate> groups = InventoryAggregator.aggregate(products.stream(), Dimension.CATEGORY, Dimension.MONTH);
+        assertEquals(3, groups.size());
+        GroupAggregate january = groups.get(0);
+        assertEquals("Electronics", january.getCategory());
+        assertEquals(YearMonth.of(2025, 1), january.getMonth());
+        assertNull(january.getSupplier());
+        assertEquals(2, january.getCount());
+        assertEquals(45, january.getTotalQuantity());
+        assertEquals(5, january.getMinQuantity());
+        assertEquals(40, january.getMaxQuantity());
+        assertEquals(15_000, january.getTotalValueCents());
+        assertEquals(5_000, january.getMinValueCents());
+        assertEquals(10_000, january.getMaxValueCents());
+        assertEquals(YearMonth.of(2025, 2), groups.get(1).getMonth());
+        assertEquals(30, groups.get(2).getTotalValueCents(), "0.1 x 3 is exactly 30 cents.");
+
+        List<GroupAggregate> total = InventoryAggregator.aggregate(products.stream());
+        assertEquals(1, total.size());
+        assertEquals(49, total.get(0).getTotalQuantity());
+        assertTrue(InventoryAggregator.aggregate(new ArrayList<Product>().stream(), Dimension.SUPPLIER).isEmpty());
+    }
+
+    @Test
+    void testParallelAggregation_MatchesGroupingByOnLargeInput() {
+        Random random = new Random(5);
+        List<Product> products = new ArrayList<>();
+        for (int i = 0; i < 200_000; i++) {
+            products.add(product("P" + i, "Category " + random.nextInt(30), "Supplier " + random.nextInt(200),
+                    random.nextInt(100_000) / 100.0, random.nextInt(1_000), LocalDate.of(2020 + random.nextInt(5), 1 + random.nextInt(12), 1)));
+        }
+        List<GroupAggregate> groups = InventoryAggregator.aggregate(products.stream(), Dimension.SUPPLIER, Dimension.CATEGORY);
+
+        Map<String, List<Product>> expected = products.stream().collect(Collectors.groupingBy(p -> p.getCategory() + "|" + p.getSupplier()));
+        assertEquals(expected.size(), groups.size());
+        for (GroupAggregate g : groups) {
+            List<Product> members = expected.get(g.getCategory() + "|" + g.getSupplier());
+            assertEquals(members.size(), g.getCount());
+            assertEquals(members.stream().mapToLong(Product::getQuantity).sum(), g.getTotalQuantity());
+            assertEquals(members.stream().mapToInt(Product::getQuantity).max().getAsInt(), g.getMaxQuantity());
+            assertEquals(members.stream().mapToLong(p -> Math.round(p.getPrice() * 100) * p.getQuantity()).sum(), g.getTotalValueCents());
+            assertEquals(members.stream().mapToLong(p -> Math.round(p.getPrice() * 100) * p.getQuantity()).min().getAsLong(), g.getMinValueCents());
+        }
+    }
+
+    @Test
+    void testAggregatesManagerAndDaoSources() {
+        InventoryManager manager = new InventoryManager(new StockAlertService(new EmailUtil()));
+        ColumnarProductDAO dao = new ColumnarProductDAO();
+        for (int i = 0; i < 100; i++) {
+            Product p = product("P" + i, i % 2 == 0 ? "Toys" : "Books", "Kabi ltd", 1, i, LocalDate.of(2025, 10, 10));
+            manager.addProduct(p);
+            dao.addProduct(p.copy());
+        }
+        List<GroupAggregate> fromManager = InventoryAggregator.aggregate(manager, Dimension.CATEGORY);
+        List<GroupAggregate> fromDao = InventoryAggregator.aggregate(dao, Dimension.CATEGORY);
+        assertEquals(List.of("Books", "Toys"), fromManager.stream().map(GroupAggregate::getCategory).collect(Collectors.toList()));
+        assertEquals(Long.valueOf(2_500), Long.valueOf(fromManager.get(0).getTotalQuantity()));
+        assertEquals(fromManager.toString(), fromDao.toString());
+    }
+}
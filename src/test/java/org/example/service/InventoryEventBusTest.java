@@ -0,0 +1,116 @@
+package org.example.service;
+
+import org.example.model.Product;
+import org.junit.jupiter.api.Test;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class InventoryEventBusTest {
+
+    // Copies each event out of its slot, since slots are reused.
+    private static final class Recorder implements InventoryEventHandler {
+        final List<String> events = Collections.synchronizedList(new ArrayList<>());
+        final AtomicInteger batchEnds = new AtomicInteger();
+        final long delayMillis;
+
+        Recorder(long delayMillis) {
+            this.delayMillis = delayMillis;
+        }
+
+        @Override
+        public void onEvent(InventoryEvent event, boolean endOfBatch) throws Exception {
+            if (delayMillis > 0) Thread.sleep(delayMillis);
+            events.add(event.getType() + " " + event.getProductId() + " " + event.getOldQuantity() + "->" + event.getNewQuantity());
+            if (endOfBatch) batchEnds.incrementAndGet();
+        }
+    }
+
+    @Test
+    void testEveryConsumerSeesEveryEventInOrder_AllWaitStrategies() {
+        for (InventoryEventBus.WaitStrategy strategy : InventoryEventBus.WaitStrategy.values()) {
+            Recorder first = new Recorder(0);
+            Recorder second = new Recorder(0);
+            InventoryEventBus bus = new InventoryEventBus(8, strategy, first, second);
+            for (int i = 0; i < 1_000; i++) {
+                bus.publish(InventoryEvent.Type.UPDATE, "P1", 1, i, 1, i + 1);
+            }
+            bus.close();
+
+            for (Recorder recorder : List.of(first, second)) {
+                assertEquals(1_000, recorder.events.size(), strategy + " must deliver every event");
+                for (int i = 0; i < 1_000; i++) {
+                    assertEquals("UPDATE P1 " + i + "->" + (i + 1), recorder.events.get(i));
+                }
+            }
+            assertEquals(0, bus.getStats().getBacklog());
+        }
+    }
+
+    @Test
+    void testSlowConsumer_GetsBatchesAndHoldsBackProducersWhenRingIsFull() {
+        Recorder fast = new Recorder(0);
+        Recorder slow = new Recorder(1);
+        InventoryEventBus bus = new InventoryEventBus(4, InventoryEventBus.WaitStrategy.SLEEPING, fast, slow);
+        for (int i = 0; i < 40; i++) {
+            bus.publish(InventoryEvent.Type.ADD, "P" + i, 0, 0, 1, i);
+        }
+        bus.close();
+
+        assertEquals(40, slow.events.size(), "A full ring must make the producer wait, never overwrite.");
+        assertEquals(fast.events, slow.events);
+        EventBusStats stats = bus.getStats();
+        assertEquals(40, stats.getPublished());
+        assertTrue(stats.getProducerWaits() > 0);
+        assertTrue(slow.batchEnds.get() < 40, "Events that pile up behind a slow consumer arrive as batches.");
+    }
+
+    @Test
+    void testFailingHandler_DoesNotStopTheBus() {
+        Recorder recorder = new Recorder(0);
+        InventoryEventBus bus = new InventoryEventBus(16, InventoryEventBus.WaitStrategy.YIELDING, (event, endOfBatch) -> {
+            if (event.getSequence() % 2 == 0) throw new IllegalStateException("boom");
+            recorder.onEvent(event, endOfBatch);
+        });
+        for (int i = 0; i < 10; i++) {
+            bus.publish(InventoryEvent.Type.UPDATE, "P1", 1, i, 1, i + 1);
+        }
+        bus.close();
+
+        assertEquals(5, recorder.events.size());
+        assertEquals(5, bus.getStats().getHandlerFailures());
+        bus.publish(InventoryEvent.Type.REMOVE, "P1", 1, 1, 0, 0);
+        assertEquals(5, recorder.events.size(), "Events after close are dropped, not thrown back at the writer.");
+        assertEquals(1, bus.getStats().getDroppedAfterClose());
+    }
+
+    @Test
+    void testManagerPublishesBeforeAndAfterValues() throws Exception {
+        Recorder recorder = new Recorder(0);
+        CountDownLatch removed = new CountDownLatch(1);
+        InventoryEventBus bus = new InventoryEventBus(64, InventoryEventBus.WaitStrategy.BLOCKING, recorder, (event, endOfBatch) -> {
+            if (event.getType() == InventoryEvent.Type.REMOVE) removed.countDown();
+        });
+        InventoryManager manager = new InventoryManager(new StockAlertService(new EmailUtil()), bus);
+        manager.addProduct(new Product("P1", "Laptop", "Electronics", 1000, 50, LocalDate.of(2025, 10, 10), "Kabi ltd"));
+        manager.adjustQuantity("P1", -5);
+        manager.updateProduct("P1", 900, 60);
+        manager.removeProduct("P1");
+
+        assertTrue(removed.await(5, TimeUnit.SECONDS), "A blocked consumer must be woken by new events.");
+        manager.shutdown();
+        assertEquals(List.of("ADD P1 0->50", "UPDATE P1 50->45", "UPDATE P1 45->60", "REMOVE P1 60->0"), recorder.events);
+
+        Product late = new Product("P2", "Mouse", "Electronics", 10, 5, LocalDate.of(2025, 10, 10), "Kabi ltd");
+        assertThrows(IllegalStateException.class, () -> manager.addProduct(late));
+        assertThrows(IllegalStateException.class, () -> manager.applyBatch(List.of(Mutation.add(late))));
+        assertFalse(manager.searchProduct("P2").isPresent(), "A change refused at shutdown must not be applied.");
+        assertEquals(0, bus.getStats().getDroppedAfterClose());
+    }
+}
@@ -0,0 +1,147 @@
+package org.example.service;
+
+import org.example.model.Product;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class InventoryJournalTest {
+
+    private Path directory;
+    private final StockAlertService alerts = new StockAlertService(new EmailUtil());
+
+    @BeforeEach
+    public void setup() throws IOException {
+        directory = Files.createTempDirectory("journal");
+    }
+
+    @AfterEach
+    public void tearDown() throws IOException {
+        try (Stream<Path> files = Files.walk(directory)) {
+            for (Path p : files.sorted(Comparator.reverseOrder()).toList()) {
+                Files.deleteIfExists(p);
+            }
+        }
+    }
+
+    private static Product product(String id, int quantity) {
+        return new Product(id, "Item " + id, "Electronics", 100, quantity, LocalDate.of(2025, 10, 10), "Kabi ltd");
+    }
+
+    @Test
+    void testReopen_ReplaysLog() {
+        InventoryManager manager = new InventoryManager(alerts, new InventoryJournal(directory, Long.MAX_VALUE));
+        manager.addProduct(product("P1", 50));
+        manager.addProduct(product("P2", 60));
+        manager.updateProduct("P1", 120.5, 45);
+        manager.adjustQuantity("P2", -10);
+        manager.removeProduct("P2");
+        manager.addProduct(product("P3", 70));
+        manager.shutdown();
+
+        InventoryJournal journal = new InventoryJournal(directory, Long.MAX_VALUE);
+        InventoryManager recovered = new InventoryManager(alerts, journal);
+        assertEquals(2, recovered.getTotalProducts());
+        assertEquals(45, recovered.searchProduct("P1").get().getQuantity());
+        assertEquals(120.5, recovered.searchProduct("P1").get().getPrice(), 0.001);
+        assertFalse(recovered.searchProduct("P2").isPresent());
+        assertEquals(6, journal.getStats().getRecordsReplayed());
+        recovered.shutdown();
+    }
+
+    @Test
+    void testSnapshot_CompactsOldSegments() throws IOException {
+        InventoryJournal journal = new InventoryJournal(directory, 2_000);
+        InventoryManager manager = new InventoryManager(alerts, journal);
+        for (int i = 0; i < 20; i++) {
+            manager.addProduct(product("P" + i, 100));
+        }
+        for (int round = 0; round < 10; round++) {
+            for (int i = 0; i < 20; i++) {
+                manager.updateProduct("P" + i, 100, 100 + round);
+            }
+        }
+        manager.shutdown();
+
+        assertTrue(journal.getStats().getSnapshots() > 0, "Crossing the threshold should trigger a snapshot.");
+        assertTrue(Files.exists(directory.resolve("snapshot.bin")));
+        try (Stream<Path> files = Files.list(directory)) {
+            assertTrue(files.filter(f -> f.getFileName().toString().endsWith(".log")).count() <= 2,
+                    "Segments covered by the snapshot should be deleted.");
+        }
+
+        InventoryManager recovered = new InventoryManager(alerts, new InventoryJournal(directory, 2_000));
+        assertEquals(20, recovered.getTotalProducts());
+        assertEquals(109, recovered.searchProduct("P7").get().getQuantity());
+        recovered.shutdown();
+    }
+
+    @Test
+    void testRecovery_IgnoresTornTail() throws IOException {
+        InventoryManager manager = new InventoryManager(alerts, new InventoryJournal(directory, Long.MAX_VALUE));
+        manager.addProduct(product("P1", 50));
+        manager.shutdown();
+
+        Path segment;
+        try (Stream<Path> files = Files.list(directory)) {
+            segment = files.filter(f -> f.getFileName().toString().endsWith(".log")).sorted().findFirst().get();
+        }
+        long intactSize = Files.size(segment);
+        Files.write(segment, new byte[]{0, 0, 0, 40, 2, 7}, StandardOpenOption.APPEND);
+
+        InventoryManager recovered = new InventoryManager(alerts, new InventoryJournal(directory, Long.MAX_VALUE));
+        assertEquals(1, recovered.getTotalProducts());
+        assertEquals(intactSize, Files.size(segment), "The partial frame should be truncated away.");
+        recovered.shutdown();
+    }
+
+    @Test
+    void testRefusedAppend_LeavesMemoryUnchanged() {
+        InventoryJournal journal = new InventoryJournal(directory, Long.MAX_VALUE);
+        InventoryManager manager = new InventoryManager(alerts, journal);
+        manager.addProduct(product("P1", 50));
+        journal.close();
+
+        assertThrows(IllegalStateException.class, () -> manager.adjustQuantity("P1", -10));
+        assertThrows(IllegalStateException.class, () -> manager.addProduct(product("P2", 5)));
+        assertThrows(IllegalStateException.class, () -> manager.applyBatch(List.of(Mutation.remove("P1"))));
+        assertEquals(Integer.valueOf(50), Integer.valueOf(manager.searchProduct("P1").get().getQuantity()));
+        assertFalse(manager.searchProduct("P2").isPresent());
+        assertEquals(50, manager.getTotalQuantity());
+        assertEquals(1, journal.getStats().getRecordsAppended(), "Only the accepted change was logged.");
+    }
+
+    @Test
+    void testConcurrentAppends_ShareFsyncs() throws InterruptedException {
+        InventoryJournal journal = new InventoryJournal(directory, Long.MAX_VALUE);
+        Thread[] writers = new Thread[8];
+        for (int t = 0; t < writers.length; t++) {
+            int offset = t;
+            writers[t] = new Thread(() -> {
+                for (int i = 0; i < 50; i++) {
+                    String id = "T" + offset + "-" + i;
+                    journal.beforeChange(InventoryEvent.Type.ADD, id, product(id, i));
+                    journal.afterChange();
+                }
+            });
+            writers[t].start();
+        }
+        for (Thread t : writers) {
+            t.join();
+        }
+        journal.close();
+        JournalStats stats = journal.getStats();
+        assertEquals(400, stats.getRecordsAppended());
+        assertTrue(stats.getGroupCommits() <= stats.getRecordsAppended());
+    }
+}
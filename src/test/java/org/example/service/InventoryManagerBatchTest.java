@@ -0,0 +1,145 @@
+package org.example.service;
+
+import org.example.dao.BatchResult;
+import org.example.model.Product;
+import org.junit.jupiter.api.Test;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class InventoryManagerBatchTest {
+
+    private final StockAlertService alerts = new StockAlertService(new EmailUtil());
+
+    private static Product product(String id, int quantity) {
+        return new Product(id, "Item " + id, "Electronics", 100, quantity, LocalDate.of(2025, 10, 10), "Kabi ltd");
+    }
+
+    private InventoryManager managerWith(int quantity, String... ids) {
+        InventoryManager manager = new InventoryManager(alerts);
+        for (String id : ids) {
+            manager.addProduct(product(id, quantity));
+        }
+        return manager;
+    }
+
+    @Test
+    void testAtomicBatch_RejectsEverythingWhenOneFails() {
+        InventoryManager manager = managerWith(50, "P1", "P2");
+        long sequence = manager.snapshot().getSequence();
+
+        BatchResult invalid = manager.applyBatch(List.of(
+                Mutation.update("P1", 90, 40),
+                Mutation.update("P2", -1, 40)));
+        assertEquals(2, invalid.getFailureCount(), "A negative price fails validation before anything is locked.");
+
+        BatchResult shortStock = manager.applyBatch(List.of(
+                Mutation.adjust("P1", -10),
+                Mutation.add(product("P3", 5)),
+                Mutation.adjust("P2", -51)));
+        assertEquals(3, shortStock.getFailureCount());
+
+        assertEquals(50, manager.searchProduct("P1").get().getQuantity());
+        assertFalse(manager.searchProduct("P3").isPresent());
+        assertEquals(100, manager.getTotalQuantity());
+        assertEquals(sequence, manager.snapshot().getSequence(), "A rejected batch publishes nothing.");
+    }
+
+    @Test
+    void testBestEffortBatch_ReportsEachItemAgainstEarlierOnes() {
+        InventoryManager manager = managerWith(50, "P1", "P2");
+        BatchResult result = manager.applyBatch(List.of(
+                Mutation.add(product("P3", 10)),
+                Mutation.adjust("P3", -4),
+                Mutation.add(product("P1", 1)),
+                Mutation.remove("P2"),
+                Mutation.adjust("P2", 5),
+                Mutation.add(product("P2", 7)),
+                Mutation.update("P1", 120, 30),
+                Mutation.adjust("P1", -31),
+                Mutation.update("", 1, 1)), false);
+
+        boolean[] expected = {true, true, false, true, false, true, true, false, false};
+        for (int i = 0; i < expected.length; i++) {
+            assertEquals(expected[i], result.isSuccess(i), "Outcome of mutation " + i);
+        }
+        assertEquals(Integer.valueOf(6), Integer.valueOf(manager.searchProduct("P3").get().getQuantity()));
+        assertEquals(Integer.valueOf(7), Integer.valueOf(manager.searchProduct("P2").get().getQuantity()));
+        assertEquals(120, manager.searchProduct("P1").get().getPrice(), 0.001);
+        assertEquals(43, manager.getTotalQuantity());
+        assertEquals(43, manager.snapshot().getTotalQuantity());
+        assertEquals(3, manager.snapshot().size());
+        assertTrue(manager.verifyAggregates());
+    }
+
+    @Test
+    void testBatch_RespectsReservations() {
+        InventoryManager manager = managerWith(50, "P1", "P2");
+        assertTrue(manager.reserve("O1", Map.of("P1", 30)));
+
+        BatchResult result = manager.applyBatch(List.of(
+                Mutation.adjust("P1", -20),
+                Mutation.adjust("P1", -1),
+                Mutation.remove("P1"),
+                Mutation.update("P2", 100, 0)), false);
+
+        assertTrue(result.isSuccess(0));
+        assertFalse(result.isSuccess(1), "Only 20 units of P1 were unreserved.");
+        assertFalse(result.isSuccess(2));
+        assertTrue(result.isSuccess(3));
+        assertTrue(manager.commit("O1"));
+        assertEquals(0, manager.searchProduct("P1").get().getQuantity());
+    }
+
+    @Test
+    void testBatch_ListenersSeeOneBatchBracket() {
+        List<String> calls = new ArrayList<>();
+        InventoryManager manager = new InventoryManager(alerts, new InventoryChangeListener() {
+            @Override public void onAdd(Product product) { calls.add("add " + product.getId()); }
+            @Override public void onUpdate(Product product) { calls.add("update " + product.getId()); }
+            @Override public void onRemove(String id) { calls.add("remove " + id); }
+            @Override public void onBatchStart() { calls.add("start"); }
+            @Override public void onBatchEnd() { calls.add("end"); }
+        });
+        manager.applyBatch(List.of(Mutation.add(product("P1", 5)), Mutation.adjust("P1", 2), Mutation.remove("P1")));
+
+        assertEquals(List.of("start", "add P1", "update P1", "remove P1", "end"), calls);
+    }
+
+    @Test
+    void testBatch_IsOneJournalCommitAndReplays() throws IOException {
+        Path directory = Files.createTempDirectory("journal");
+        try {
+            InventoryJournal journal = new InventoryJournal(directory, Long.MAX_VALUE);
+            InventoryManager manager = new InventoryManager(alerts, journal);
+            List<Mutation> batch = new ArrayList<>();
+            for (int i = 0; i < 100; i++) {
+                batch.add(Mutation.add(product("P" + i, 10)));
+                batch.add(Mutation.adjust("P" + i, i));
+            }
+            assertTrue(manager.applyBatch(batch).isAllSuccessful());
+            assertEquals(200, journal.getStats().getRecordsAppended());
+            assertEquals(1, journal.getStats().getGroupCommits());
+            manager.shutdown();
+
+            InventoryManager recovered = new InventoryManager(alerts, new InventoryJournal(directory, Long.MAX_VALUE));
+            assertEquals(100, recovered.getTotalProducts());
+            assertEquals(Integer.valueOf(109), Integer.valueOf(recovered.searchProduct("P99").get().getQuantity()));
+            recovered.shutdown();
+        } finally {
+            try (Stream<Path> files = Files.walk(directory)) {
+                for (Path p : files.sorted(Comparator.reverseOrder()).toList()) {
+                    Files.deleteIfExists(p);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,231 @@
+package org.example.service;
+
+import org.example.model.Product;
+import org.junit.jupiter.api.Test;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class InventoryManagerConcurrencyTest {
+
+    private static final int THREADS = 8;
+    private final StockAlertService alerts = new StockAlertService(new EmailUtil());
+
+    private static Product product(String id, int quantity) {
+        return new Product(id, "Item " + id, "Electronics", 100, quantity, LocalDate.of(2025, 10, 10), "Kabi ltd");
+    }
+
+    @Test
+    void testAdjustQuantity_NoLostUpdates() throws Exception {
+        InventoryManager manager = new InventoryManager(alerts);
+        for (int i = 0; i < 16; i++) {
+            manager.addProduct(product("P" + i, 1_000_000));
+        }
+        runConcurrently(() -> {
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            for (int i = 0; i < 20_000; i++) {
+                String id = "P" + random.nextInt(16);
+                // Paired +3/-3 adjustments keep every product's total unchanged.
+                assertTrue(manager.adjustQuantity(id, 3));
+                assertTrue(manager.adjustQuantity(id, -3));
+            }
+        });
+        assertEquals(16 * 1_000_000, manager.getTotalQuantity(), "Concurrent adjustments must not lose updates.");
+    }
+
+    @Test
+    void testAddAndRemove_ExactlyOneWinnerPerRound() throws Exception {
+        InventoryManager manager = new InventoryManager(alerts);
+        AtomicInteger added = new AtomicInteger();
+        AtomicInteger removed = new AtomicInteger();
+        runConcurrently(() -> {
+            for (int round = 0; round < 5_000; round++) {
+                if (manager.addProduct(product("R" + round, 500))) added.incrementAndGet();
+                if (manager.removeProduct("R" + round)) removed.incrementAndGet();
+            }
+        });
+        assertEquals(0, manager.getTotalProducts());
+        assertEquals(added.get(), removed.get(), "Every successful add should be matched by exactly one successful remove.");
+        assertTrue(added.get() >= 5_000);
+    }
+
+    @Test
+    void testUpdateProduct_ReadersNeverSeeTornPriceAndQuantity() throws Exception {
+        InventoryManager manager = new InventoryManager(alerts);
+        manager.addProduct(product("P1", 50));
+        AtomicInteger torn = new AtomicInteger();
+        runConcurrently(() -> {
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            for (int i = 0; i < 20_000; i++) {
+                if (random.nextBoolean()) {
+                    int quantity = 100 + random.nextInt(1_000);
+                    manager.updateProduct("P1", quantity * 2.0, quantity);
+                } else {
+                    Product copy = manager.searchProduct("P1").get().copy();
+                    if (copy.getPrice() != copy.getQuantity() * 2.0) torn.incrementAndGet();
+                }
+            }
+        });
+        assertEquals(0, torn.get(), "Price and quantity set together must be read together.");
+    }
+
+    @Test
+    void testListeners_SeeEachProductsChangesInOrder() throws Exception {
+        Map<String, Integer> lastSeen = new ConcurrentHashMap<>();
+        InventoryChangeListener mirror = new InventoryChangeListener() {
+            @Override
+            public void onAdd(Product product) {
+                lastSeen.put(product.getId(), product.getQuantity());
+            }
+
+            @Override
+            public void onUpdate(Product product) {
+                lastSeen.put(product.getId(), product.getQuantity());
+            }
+
+            @Override
+            public void onRemove(String id) {
+                lastSeen.remove(id);
+            }
+        };
+        InventoryManager manager = new InventoryManager(alerts, mirror);
+        for (int i = 0; i < 8; i++) {
+            manager.addProduct(product("P" + i, 1_000));
+        }
+        runConcurrently(() -> {
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            for (int i = 0; i < 10_000; i++) {
+                String id = "P" + random.nextInt(8);
+                if (random.nextBoolean()) {
+                    manager.adjustQuantity(id, random.nextInt(11) - 5);
+                } else {
+                    manager.updateProduct(id, 100, 500 + random.nextInt(1_000));
+                }
+            }
+        });
+        for (Product p : manager.getAllProducts()) {
+            assertEquals(Integer.valueOf(p.getQuantity()), lastSeen.get(p.getId()), "The last notification must carry the final state of " + p.getId());
+        }
+    }
+
+    @Test
+    void testAggregates_StayConsistentUnderConcurrentMutations() throws Exception {
+        InventoryManager manager = new InventoryManager(alerts);
+        runConcurrently(() -> {
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            for (int i = 0; i < 10_000; i++) {
+                String id = "P" + random.nextInt(32);
+                switch (random.nextInt(4)) {
+                    case 0:
+                        manager.addProduct(new Product(id, "Item", "Electronics", 0.1 * random.nextInt(10_000), 500, LocalDate.of(2025, 10, 10), "Kabi ltd"));
+                        break;
+                    case 1:
+                        manager.updateProduct(id, 0.01 * random.nextInt(100_000), 100 + random.nextInt(1_000));
+                        break;
+                    case 2:
+                        manager.adjustQuantity(id, random.nextInt(21) - 10);
+                        break;
+                    default:
+                        manager.removeProduct(id);
+                }
+            }
+        });
+        long quantity = manager.getTotalQuantity();
+        long valueCents = manager.getTotalValueCents();
+        assertTrue(manager.verifyAggregates(), "Running totals should match a full recount.");
+        assertEquals(manager.streamProducts().mapToLong(Product::getQuantity).sum(), quantity);
+        assertEquals(manager.streamProducts().mapToLong(p -> Math.round(p.getPrice() * 100) * p.getQuantity()).sum(), valueCents);
+        List<String> lowStock = manager.findLowStock(300).stream().map(Product::getId).sorted().toList();
+        assertEquals(manager.streamProducts().filter(p -> p.getQuantity() <= 300).map(Product::getId).sorted().toList(), lowStock,
+                "The quantity index should agree with a full scan.");
+    }
+
+    @Test
+    void testVerifyAggregates_DetectsAndRepairsDrift() {
+        InventoryManager manager = new InventoryManager(alerts);
+        manager.addProduct(product("P1", 50));
+        manager.updateProduct("P1", 0.1, 30);
+        manager.adjustQuantity("P1", 3);
+        assertEquals(330, manager.getTotalValueCents(), "0.1 x 33 should be exactly 330 cents.");
+
+        manager.searchProduct("P1").get().setQuantity(40);
+        assertFalse(manager.verifyAggregates(), "A change made behind the manager's back should be detected.");
+        assertEquals(40, manager.getTotalQuantity());
+        assertTrue(manager.verifyAggregates());
+    }
+
+    @Test
+    void testSnapshot_IsStableAndInternallyConsistentDuringWrites() throws Exception {
+        InventoryManager manager = new InventoryManager(alerts);
+        for (int i = 0; i < 64; i++) {
+            manager.addProduct(product("P" + i, 1_000));
+        }
+        InventorySnapshot before = manager.snapshot();
+        AtomicInteger inconsistent = new AtomicInteger();
+        runConcurrently(() -> {
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            for (int i = 0; i < 5_000; i++) {
+                if (random.nextInt(4) == 0) {
+                    InventorySnapshot snapshot = manager.snapshot();
+                    long quantity = snapshot.stream().mapToLong(Product::getQuantity).sum();
+                    if (quantity != snapshot.getTotalQuantity() || snapshot.stream().count() != snapshot.size()) {
+                        inconsistent.incrementAndGet();
+                    }
+                } else {
+                    manager.updateProduct("P" + random.nextInt(64), 50, 100 + random.nextInt(1_000));
+                }
+            }
+        });
+        assertEquals(0, inconsistent.get(), "A snapshot's products and totals must come from the same instant.");
+        assertEquals(64_000, before.getTotalQuantity(), "An earlier snapshot must not see later writes.");
+        assertTrue(before.stream().allMatch(p -> p.getQuantity() == 1_000));
+        assertEquals(manager.getTotalQuantity(), manager.snapshot().getTotalQuantity());
+        assertTrue(manager.snapshot().getSequence() > before.getSequence());
+    }
+
+    @Test
+    void testWrites_ReplaceVersionsInsteadOfCopyingThem() {
+        InventoryManager manager = new InventoryManager(alerts);
+        manager.addProduct(product("P1", 50));
+        Product stored = manager.searchProduct("P1").get();
+        InventorySnapshot before = manager.snapshot();
+        assertSame(stored, before.get("P1").get(), "A snapshot shares the stored version rather than copying it.");
+
+        manager.adjustQuantity("P1", -5);
+        Product next = manager.searchProduct("P1").get();
+        assertEquals(50, stored.getQuantity(), "A version already handed out is never changed.");
+        assertEquals(45, next.getQuantity());
+        assertEquals(stored.getVersion() + 1, next.getVersion());
+        assertSame(stored, before.get("P1").get());
+        assertSame(next, manager.snapshot().get("P1").get());
+    }
+
+    private static void runConcurrently(Runnable task) throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            futures.add(pool.submit(() -> {
+                start.await();
+                task.run();
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(60, TimeUnit.SECONDS);
+        }
+        pool.shutdown();
+    }
+}
@@ -0,0 +1,135 @@
+package org.example.service;
+
+import org.example.model.Product;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import java.time.LocalDate;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class InventoryManagerIndexTest {
+
+    private InventoryManager manager;
+
+    @BeforeEach
+    public void setup() {
+        manager = new InventoryManager(new StockAlertService(new EmailUtil()));
+        manager.addProduct(new Product("P1", "Laptop", "Electronics", 1200, 40, LocalDate.of(2025, 10, 10), "Kabi ltd"));
+        manager.addProduct(new Product("P2", "Mouse", "Electronics", 15.5, 300, LocalDate.of(2025, 10, 10), "Key Ltd."));
+        manager.addProduct(new Product("P3", "Desk", "Furniture", 250, 25, LocalDate.of(2025, 10, 10), "Key Ltd."));
+        manager.addProduct(new Product("P4", "Chair", "Furniture", 99.99, 60, LocalDate.of(2025, 10, 10), "Kabi ltd"));
+    }
+
+    private static List<String> ids(List<Product> products) {
+        return products.stream().map(Product::getId).sorted().toList();
+    }
+
+    @Test
+    void testFindByCategoryAndSupplier() {
+        assertEquals(List.of("P1", "P2"), ids(manager.findByCategory("Electronics")));
+        assertEquals(List.of("P2", "P3"), ids(manager.findBySupplier("Key Ltd.")));
+        assertTrue(manager.findByCategory("Toys").isEmpty());
+    }
+
+    @Test
+    void testRangeQueries_AreSortedAndInclusive() {
+        List<Product> byQuantity = manager.findByQuantityRange(25, 60);
+        assertEquals(List.of("P3", "P1", "P4"), byQuantity.stream().map(Product::getId).toList(), "Lowest stock should come first.");
+        List<Product> byPrice = manager.findByPriceRange(15.5, 250);
+        assertEquals(List.of("P2", "P4", "P3"), byPrice.stream().map(Product::getId).toList(), "Cheapest should come first.");
+    }
+
+    @Test
+    void testIndexes_FollowUpdatesAdjustmentsAndRemovals() {
+        manager.updateProduct("P2", 5, 10);
+        manager.adjustQuantity("P1", -35);
+        manager.removeProduct("P3");
+
+        assertEquals(List.of("P1", "P2"), ids(manager.findLowStock(20)));
+        assertEquals(List.of("P2"), ids(manager.findByPriceRange(0, 10)));
+        assertEquals(List.of("P2"), ids(manager.findBySupplier("Key Ltd.")));
+        assertEquals(List.of("P4"), ids(manager.findByCategory("Furniture")));
+
+        manager.removeProduct("P4");
+        assertTrue(manager.findByCategory("Furniture").isEmpty());
+    }
+
+    @Test
+    void testTopKViews_FollowEveryMutation() {
+        assertEquals(List.of("P3", "P1"), manager.lowestStock(2).stream().map(Product::getId).toList());
+        // Stock values: P1 48000, P2 4650, P3 6250, P4 5999.40.
+        assertEquals(List.of("P1", "P3", "P4"), manager.mostValuable(3).stream().map(Product::getId).toList());
+
+        manager.updateProduct("P2", 15.5, 1_000);
+        manager.adjustQuantity("P1", -39);
+        manager.removeProduct("P3");
+        assertEquals(List.of("P1", "P4", "P2"), manager.lowestStock(10).stream().map(Product::getId).toList());
+        assertEquals(List.of("P2", "P4"), manager.mostValuable(2).stream().map(Product::getId).toList());
+        assertTrue(manager.mostValuable(0).isEmpty());
+    }
+
+    @Test
+    void testFastestMoving_RanksByDecayedUnitsSold() {
+        manager.adjustQuantity("P2", -50);
+        manager.adjustQuantity("P4", -10);
+        manager.adjustQuantity("P4", -15);
+        manager.adjustQuantity("P1", 5); // Restocks are not sales.
+
+        assertEquals(List.of("P2", "P4"), manager.fastestMoving(5).stream().map(Product::getId).toList());
+        // Units sold just now, spread over the one-week lifetime of the decay.
+        assertEquals(50 / 7.0, manager.getSalesRate("P2"), 0.01);
+        assertEquals(25 / 7.0, manager.getSalesRate("P4"), 0.01);
+        assertEquals(0.0, manager.getSalesRate("P1"));
+
+        manager.removeProduct("P2");
+        assertEquals(List.of("P4"), manager.fastestMoving(5).stream().map(Product::getId).toList());
+    }
+
+    @Test
+    void testTopKViews_MatchSortOnRead() {
+        Random random = new Random(11);
+        for (int i = 0; i < 2_000; i++) {
+            String id = "R" + random.nextInt(300);
+            switch (random.nextInt(4)) {
+                case 0:
+                    manager.addProduct(new Product(id, "Item", "Toys", 0.01 * random.nextInt(100_000), random.nextInt(1_000), LocalDate.of(2025, 10, 10), "Kabi ltd"));
+                    break;
+                case 1:
+                    manager.updateProduct(id, 0.01 * random.nextInt(100_000), random.nextInt(1_000));
+                    break;
+                case 2:
+                    manager.adjustQuantity(id, random.nextInt(41) - 20);
+                    break;
+                default:
+                    manager.removeProduct(id);
+            }
+        }
+        Comparator<Product> byQuantity = Comparator.comparingInt(Product::getQuantity).thenComparing(Product::getId);
+        Comparator<Product> byValue = Comparator.comparingLong((Product p) -> Math.round(p.getPrice() * 100) * p.getQuantity())
+                .thenComparing(Product::getId).reversed();
+        assertEquals(manager.getAllProducts().stream().sorted(byQuantity).limit(50).map(Product::getId).toList(),
+                manager.lowestStock(50).stream().map(Product::getId).toList());
+        assertEquals(manager.getAllProducts().stream().sorted(byValue).limit(50).map(Product::getId).toList(),
+                manager.mostValuable(50).stream().map(Product::getId).toList());
+    }
+
+    @Test
+    void testFastestMoving_KeepsOnlyItsCapacityAndRefillsAfterRemoval() {
+        InventoryManager bounded = new InventoryManager(new StockAlertService(new EmailUtil()), 2);
+        for (int i = 1; i <= 4; i++) {
+            bounded.addProduct(new Product("S" + i, "Item", "Toys", 1, 1_000, LocalDate.of(2025, 10, 10), "Kabi ltd"));
+            bounded.adjustQuantity("S" + i, -10 * i);
+        }
+        assertEquals(List.of("S4", "S3"), bounded.fastestMoving(10).stream().map(Product::getId).toList());
+
+        bounded.adjustQuantity("S1", -100);
+        assertEquals(List.of("S1", "S4"), bounded.fastestMoving(10).stream().map(Product::getId).toList());
+
+        bounded.removeProduct("S1");
+        assertEquals(List.of("S4", "S3"), bounded.fastestMoving(10).stream().map(Product::getId).toList(),
+                "S3 did not sell again but must take the freed place.");
+    }
+}
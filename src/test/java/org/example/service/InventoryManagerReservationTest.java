@@ -0,0 +1,158 @@
+package org.example.service;
+
+import org.example.model.Product;
+import org.junit.jupiter.api.Test;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class InventoryManagerReservationTest {
+
+    private static final int THREADS = 8;
+    private final StockAlertService alerts = new StockAlertService(new EmailUtil());
+
+    private static Product product(String id, int quantity) {
+        return new Product(id, "Item " + id, "Electronics", 100, quantity, LocalDate.of(2025, 10, 10), "Kabi ltd");
+    }
+
+    private InventoryManager managerWith(int quantity, String... ids) {
+        InventoryManager manager = new InventoryManager(alerts);
+        for (String id : ids) {
+            manager.addProduct(product(id, quantity));
+        }
+        return manager;
+    }
+
+    @Test
+    void testReserve_IsAllOrNothing() {
+        InventoryManager manager = managerWith(50, "P1", "P2");
+        assertTrue(manager.reserve("O1", Map.of("P1", 40)));
+
+        assertFalse(manager.reserve("O2", Map.of("P1", 20, "P2", 5)), "P1 has only 10 units left to reserve.");
+        assertEquals(0, manager.getReservedQuantity("P2"), "A failed order must not hold any of its other lines.");
+        assertFalse(manager.reserve("O3", Map.of("P2", 5, "MISSING", 1)));
+        assertFalse(manager.reserve("O1", Map.of("P2", 5)), "An order can hold only one reservation.");
+        assertFalse(manager.reserve("O4", Map.of("P2", 0)));
+
+        assertEquals(40, manager.getReservedQuantity("P1"));
+        assertEquals(50, manager.searchProduct("P1").get().getQuantity(), "Reserving does not take stock out yet.");
+    }
+
+    @Test
+    void testCommit_TakesStockAndReleaseGivesItBack() {
+        InventoryManager manager = managerWith(50, "P1", "P2");
+        assertTrue(manager.reserve("O1", Map.of("P1", 10, "P2", 20)));
+        assertTrue(manager.reserve("O2", Map.of("P1", 30)));
+
+        assertTrue(manager.commit("O1"));
+        assertEquals(40, manager.searchProduct("P1").get().getQuantity());
+        assertEquals(30, manager.searchProduct("P2").get().getQuantity());
+        assertEquals(70, manager.getTotalQuantity());
+        assertFalse(manager.commit("O1"), "A reservation can be committed only once.");
+
+        assertTrue(manager.release("O2"));
+        assertFalse(manager.release("O2"));
+        assertEquals(0, manager.getReservedQuantity("P1"));
+        assertEquals(0, manager.getActiveReservations());
+        assertTrue(manager.verifyAggregates());
+    }
+
+    @Test
+    void testReservedStock_IsProtectedFromOtherWrites() {
+        InventoryManager manager = managerWith(50, "P1");
+        assertTrue(manager.reserve("O1", Map.of("P1", 30)));
+
+        assertFalse(manager.adjustQuantity("P1", -25), "Only 20 units are unreserved.");
+        assertTrue(manager.adjustQuantity("P1", -20));
+        assertFalse(manager.updateProduct("P1", 100, 10));
+        assertFalse(manager.removeProduct("P1"));
+
+        assertTrue(manager.commit("O1"));
+        assertEquals(0, manager.searchProduct("P1").get().getQuantity());
+        assertTrue(manager.removeProduct("P1"));
+    }
+
+    @Test
+    void testExpireReservations_ReleasesOnlyLapsedOrders() throws Exception {
+        InventoryManager manager = managerWith(50, "P1");
+        assertTrue(manager.reserve("SHORT", Map.of("P1", 10), 1));
+        assertTrue(manager.reserve("LONG", Map.of("P1", 10)));
+        Thread.sleep(5);
+
+        assertEquals(1, manager.expireReservations());
+        assertEquals(10, manager.getReservedQuantity("P1"));
+        assertFalse(manager.commit("SHORT"), "An expired reservation cannot be committed.");
+        assertTrue(manager.commit("LONG"));
+        assertEquals(40, manager.searchProduct("P1").get().getQuantity());
+        manager.shutdown();
+    }
+
+    @Test
+    void testConcurrentOrdersOnHotSkus_NeverOversell() throws Exception {
+        String[] hot = {"H1", "H2", "H3"};
+        InventoryManager manager = managerWith(2_000, hot);
+        AtomicInteger sold = new AtomicInteger();
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            int thread = t;
+            futures.add(pool.submit(() -> {
+                start.await();
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                for (int i = 0; i < 2_000; i++) {
+                    String orderId = thread + "-" + i;
+                    // Each order takes one unit of two different hot SKUs, locked in varying orders.
+                    String first = hot[random.nextInt(3)];
+                    String second = hot[(List.of(hot).indexOf(first) + 1 + random.nextInt(2)) % 3];
+                    if (!manager.reserve(orderId, Map.of(first, 1, second, 1))) continue;
+                    if (random.nextInt(4) == 0) {
+                        manager.release(orderId);
+                    } else if (manager.commit(orderId)) {
+                        sold.addAndGet(2);
+                    }
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(60, TimeUnit.SECONDS);
+        }
+        pool.shutdown();
+
+        assertEquals(6_000 - sold.get(), manager.getTotalQuantity(), "Every committed unit, and only those, must leave stock.");
+        for (String id : hot) {
+            assertTrue(manager.searchProduct(id).get().getQuantity() >= 0);
+            assertEquals(0, manager.getReservedQuantity(id));
+        }
+        assertEquals(0, manager.getActiveReservations());
+        assertTrue(manager.verifyAggregates());
+    }
+
+    @Test
+    void testReserve_AfterShutdownHoldsNothingAndStartsNoSweeper() {
+        InventoryManager manager = managerWith(10, "P1");
+        manager.shutdown();
+        long sweepers = sweeperThreads();
+
+        assertFalse(manager.reserve("O1", Map.of("P1", 2)));
+        assertEquals(0, manager.getReservedQuantity("P1"));
+        assertEquals(0, manager.getActiveReservations());
+        assertEquals(sweepers, sweeperThreads(), "A stopped manager must not start a reservation sweeper.");
+    }
+
+    private static long sweeperThreads() {
+        return Thread.getAllStackTraces().keySet().stream().filter(t -> t.getName().equals("reservation-sweeper")).count();
+    }
+}
@@ -0,0 +1,72 @@
+package org.example.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ProductNameIndexTest {
+
+    private ProductNameIndex index;
+
+    @BeforeEach
+    public void setup() {
+        index = new ProductNameIndex();
+        index.add("P1", "Laptop Pro 15");
+        index.add("P2", "Wireless Keyboard");
+        index.add("P3", "Mechanical Keyboard");
+        index.add("P4", "Laptop Stand");
+        index.add("P5", "Key Ring");
+    }
+
+    @Test
+    void testSearch_PrefixMatchesPartialWords() {
+        assertEquals(List.of("P1", "P4"), sorted(index.search("lapt", 10)));
+        assertEquals(List.of("P5", "P2", "P3"), index.search("key", 10), "The exact word should outrank longer completions.");
+    }
+
+    @Test
+    void testSearch_ToleratesTyposAndRequiresEveryTerm() {
+        assertEquals(List.of("P2", "P3"), sorted(index.search("keybaord", 10)));
+        assertEquals(List.of("P2"), index.search("wireles keyb", 10));
+        assertTrue(index.search("laptop keyboard", 10).isEmpty());
+    }
+
+    @Test
+    void testRemove_DropsNameAndUnusedTokens() {
+        index.remove("P3", "Mechanical Keyboard");
+        index.remove("P5", "Key Ring");
+        assertEquals(List.of("P2"), index.search("keyboard", 10));
+        assertTrue(index.search("mechanical", 10).isEmpty());
+        assertTrue(index.search("ring", 10).isEmpty());
+
+        // A rename is a remove of the old name and an add of the new one.
+        index.remove("P4", "Laptop Stand");
+        index.add("P4", "Monitor Stand");
+        assertEquals(List.of("P1"), index.search("laptop", 10));
+        assertEquals(List.of("P4"), index.search("monitr", 10));
+    }
+
+    @Test
+    void testSearch_RespectsLimit() {
+        for (int i = 0; i < 100; i++) {
+            index.add("C" + i, "Cable " + i);
+        }
+        assertEquals(5, index.search("cable", 5).size());
+    }
+
+    @Test
+    void testSearch_PrefixKeepsTheShortestCompletions() {
+        for (int i = 0; i < 300; i++) {
+            index.add("Z" + i, String.format("Zeta%03d", i));
+        }
+        // Hundreds of longer completions sort before "zx"; the shorter word must still rank first.
+        index.add("P6", "Zx Spectrum");
+        assertEquals(List.of("P6"), index.search("z", 1));
+    }
+
+    private static List<String> sorted(List<String> ids) {
+        return ids.stream().sorted().toList();
+    }
+}
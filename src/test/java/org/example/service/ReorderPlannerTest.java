@@ -0,0 +1,136 @@
+package org.example.service;
+
+import org.example.model.Product;
+import org.junit.jupiter.api.Test;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReorderPlannerTest {
+
+    private final StockAlertService alerts = new StockAlertService(new EmailUtil());
+
+    private static Product product(String id, int quantity, String supplier) {
+        return new Product(id, "Item " + id, "Electronics", 10, quantity, LocalDate.of(2025, 10, 10), supplier);
+    }
+
+    @Test
+    void testPlan_ComputesReorderPointsAndGroupsBySupplier() {
+        InventoryManager manager = new InventoryManager(alerts);
+        manager.addProduct(product("A1", 50, "Acme"));   // 10/day: reorder point 100, order up to 400
+        manager.addProduct(product("A2", 101, "Acme"));  // 10/day, just above its reorder point
+        manager.addProduct(product("A3", 5, "Acme"));    // 2/day: reorder point 20, order up to 80
+        manager.addProduct(product("B1", 0, "Bolt"));    // no demand, under the minimum of 20
+        manager.addProduct(product("B2", 20, "Bolt"));   // no demand, already at the minimum
+        Map<String, Double> daily = Map.of("A1", 10.0, "A2", 10.0, "A3", 2.0);
+        ReorderPlanner planner = new ReorderPlanner(p -> daily.getOrDefault(p.getId(), 0.0), 7, 3, 30, 20);
+
+        ReorderPlan plan = planner.plan(manager);
+        assertEquals(5, plan.getSkusScanned());
+        assertEquals(2, plan.getOrders().size());
+        PurchaseOrder acme = plan.getOrders().get(0);
+        assertEquals("Acme", acme.getSupplier(), "Orders are sorted by value, largest first.");
+        assertEquals(List.of("A3", "A1"), acme.getLines().stream().map(ReorderLine::getProductId).collect(Collectors.toList()),
+                "A3 has 2.5 days of cover and A1 has 5, so A3 comes first.");
+        assertEquals(350, acme.getLines().get(1).getOrderQuantity());
+        assertEquals(100, acme.getLines().get(1).getReorderPoint());
+        assertEquals(75, acme.getLines().get(0).getOrderQuantity());
+        assertEquals(4_250.0, acme.getTotalCost(), 1e-9);
+
+        PurchaseOrder bolt = plan.getOrders().get(1);
+        assertEquals(1, bolt.getLines().size());
+        assertEquals(20, bolt.getLines().get(0).getOrderQuantity());
+    }
+
+    @Test
+    void testPlan_CountsReservedStockAsUnavailable() {
+        InventoryManager manager = new InventoryManager(alerts);
+        manager.addProduct(product("P1", 150, "Acme"));
+        ReorderPlanner planner = new ReorderPlanner(p -> 10.0, 7, 3, 30, 0);
+        assertTrue(planner.plan(manager).getOrders().isEmpty());
+
+        assertTrue(manager.reserve("O1", Map.of("P1", 60)));
+        ReorderLine line = planner.plan(manager).getOrders().get(0).getLines().get(0);
+        assertEquals(90, line.getAvailableQuantity());
+        assertEquals(310, line.getOrderQuantity());
+    }
+
+    @Test
+    void testPlan_UsesConsumptionFromStockHistory() {
+        StockHistory history = new StockHistory();
+        long now = System.currentTimeMillis();
+        long day = Duration.ofDays(1).toMillis();
+        history.record("P1", now - 40 * day, 900, 10);   // Before the lookback window.
+        history.record("P1", now - 20 * day, 600, 10);   // 300 sold inside the window...
+        history.record("P1", now - 15 * day, 1_000, 10); // ...a restock is not demand...
+        history.record("P1", now - 5 * day, 100, 10);    // ...and 900 more sold.
+        assertEquals(1_200, history.consumption("P1", now - 30 * day, now));
+
+        InventoryManager manager = new InventoryManager(alerts);
+        manager.addProduct(product("P1", 100, "Acme"));
+        ReorderPlanner planner = new ReorderPlanner(history.demandEstimator(Duration.ofDays(30)), 7, 3, 30, 20);
+        ReorderLine line = planner.plan(manager).getOrders().get(0).getLines().get(0);
+        assertEquals(40.0, line.getDailyDemand(), 1e-9);
+        assertEquals(400, line.getReorderPoint());
+        assertEquals(1_500, line.getOrderQuantity());
+    }
+
+    @Test
+    void testParallelPlan_MatchesSingleThreadedPlan() {
+        InventoryManager manager = new InventoryManager(alerts);
+        for (int i = 0; i < 50_000; i++) {
+            manager.addProduct(product("P" + i, i % 500, "Supplier " + (i % 37)));
+        }
+        ReorderPlanner planner = new ReorderPlanner(p -> p.getId().hashCode() % 13 & 0xF, 7, 3, 30, 20);
+
+        ReorderPlan sequential = planner.plan(manager, new ForkJoinPool(1));
+        ReorderPlan parallel = planner.plan(manager, new ForkJoinPool(4));
+        assertEquals(50_000, parallel.getSkusScanned());
+        assertEquals(sequential.getLineCount(), parallel.getLineCount());
+        assertEquals(sequential.getOrders().size(), parallel.getOrders().size());
+        for (int i = 0; i < sequential.getOrders().size(); i++) {
+            PurchaseOrder expected = sequential.getOrders().get(i);
+            PurchaseOrder actual = parallel.getOrders().get(i);
+            assertEquals(expected.getSupplier(), actual.getSupplier());
+            assertEquals(expected.getTotalUnits(), actual.getTotalUnits());
+            assertEquals(expected.getLines().stream().map(ReorderLine::getProductId).collect(Collectors.toList()),
+                    actual.getLines().stream().map(ReorderLine::getProductId).collect(Collectors.toList()));
+        }
+    }
+
+    @Test
+    void testParallelPlan_SpreadsTheScanOverWorkers() {
+        InventoryManager manager = new InventoryManager(alerts);
+        for (int i = 0; i < 20_000; i++) {
+            manager.addProduct(product("P" + i, 0, "Acme"));
+        }
+        // Each worker waits on its first product until a second one joins, so a single-threaded
+        // scan shows up as one worker instead of racing to finish first.
+        Set<Thread> workers = ConcurrentHashMap.newKeySet();
+        CountDownLatch secondWorker = new CountDownLatch(2);
+        ReorderPlanner planner = new ReorderPlanner(p -> {
+            if (workers.add(Thread.currentThread())) {
+                secondWorker.countDown();
+                try {
+                    secondWorker.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            return 1.0;
+        }, 7, 3, 30, 20);
+
+        ReorderPlan plan = planner.plan(manager, new ForkJoinPool(4));
+        assertEquals(20_000, plan.getSkusScanned());
+        assertTrue(workers.size() > 1, "Only " + workers.size() + " worker planned the scan.");
+    }
+}
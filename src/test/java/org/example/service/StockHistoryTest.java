@@ -0,0 +1,174 @@
+package org.example.service;
+
+import org.example.model.Product;
+import org.junit.jupiter.api.Test;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StockHistoryTest {
+
+    private static final long HOUR = 3_600_000L;
+    private static final long DAY = 24 * HOUR;
+
+    private static final class ManualClock extends Clock {
+        long millis;
+        long step;
+
+        ManualClock(long millis) {
+            this.millis = millis;
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            Instant now = Instant.ofEpochMilli(millis);
+            millis += step;
+            return now;
+        }
+    }
+
+    @Test
+    void testRange_StartsWithTheLevelCarriedIntoIt() {
+        StockHistory history = new StockHistory(new ManualClock(0));
+        // Enough points to span several chunks.
+        for (int i = 0; i < 2_000; i++) {
+            assertTrue(history.record("P1", i * HOUR, 1_000 - i % 100, 10.0 + i % 7));
+        }
+        List<StockPoint> points = history.range("P1", 1_000 * HOUR + 1, 1_010 * HOUR);
+        assertEquals(10, points.size());
+        assertEquals(1_000 * HOUR + 1, points.get(0).getTimestampMillis(), "The carried-in level is stamped at the range start.");
+        assertEquals(1_000, points.get(0).getQuantity());
+        assertEquals(1_001 * HOUR, points.get(1).getTimestampMillis());
+        assertEquals(999, points.get(1).getQuantity());
+        assertEquals(1_009 * HOUR, points.get(9).getTimestampMillis());
+
+        assertEquals(1, history.range("P1", 5_000 * HOUR, 6_000 * HOUR).size(), "After the last change only the current level remains.");
+        assertTrue(history.range("P1", -10 * HOUR, 0).isEmpty());
+        assertTrue(history.range("UNKNOWN", 0, HOUR).isEmpty());
+        assertTrue(history.getStats().getChunks() >= 4);
+    }
+
+    @Test
+    void testRecord_RejectsOutOfOrderPoints() {
+        StockHistory history = new StockHistory();
+        assertTrue(history.record("P1", 1_000, 5, 1));
+        assertTrue(history.record("P1", 1_000, 6, 1));
+        assertFalse(history.record("P1", 999, 7, 1));
+        assertTrue(history.record("P2", 10, 1, 1), "Ordering is per SKU.");
+    }
+
+    @Test
+    void testRollup_GivesTimeWeightedDailyLevels() {
+        ManualClock clock = new ManualClock(10 * DAY);
+        StockHistory history = new StockHistory(clock);
+        history.record("P1", 0, 100, 5.0);
+        history.record("P1", 6 * HOUR, 40, 5.0);
+        history.record("P1", 12 * HOUR, 70, 5.5);
+        // Nothing on day 1; day 2 starts at 70.
+        history.record("P1", 2 * DAY + 18 * HOUR, 10, 6.0);
+
+        List<StockRollup> days = history.rollup("P1", 0, 3 * DAY, DAY);
+        assertEquals(3, days.size());
+        StockRollup first = days.get(0);
+        assertEquals(40, first.getMinQuantity());
+        assertEquals(100, first.getMaxQuantity());
+        assertEquals(70, first.getCloseQuantity());
+        assertEquals(3, first.getChanges());
+        assertEquals((100 * 6 + 40 * 6 + 70 * 12) / 24.0, first.getAverageQuantity(), 1e-9);
+        assertEquals(5.5, first.getClosePrice(), 1e-9);
+
+        StockRollup quiet = days.get(1);
+        assertEquals(0, quiet.getChanges());
+        assertEquals(70, quiet.getMinQuantity());
+        assertEquals(70.0, quiet.getAverageQuantity(), 1e-9);
+
+        StockRollup last = days.get(2);
+        assertEquals(10, last.getMinQuantity());
+        assertEquals(70, last.getMaxQuantity());
+        assertEquals((70 * 18 + 10 * 6) / 24.0, last.getAverageQuantity(), 1e-9);
+
+        List<StockRollup> fromMidDay = history.rollup("P1", 3 * HOUR, 9 * HOUR, 3 * HOUR);
+        assertEquals(2, fromMidDay.size());
+        assertEquals(100, fromMidDay.get(0).getMaxQuantity(), "The level before the range opens the first bucket.");
+        assertEquals(0, fromMidDay.get(0).getChanges());
+        assertEquals(40, fromMidDay.get(1).getCloseQuantity());
+    }
+
+    @Test
+    void testRollup_OnlyAllocatesBucketsThatCanHoldData() {
+        ManualClock clock = new ManualClock(10 * DAY);
+        StockHistory history = new StockHistory(clock);
+        history.record("P1", 9 * DAY, 100, 5.0);
+        history.record("P1", 9 * DAY + 500, 40, 5.0);
+
+        List<StockRollup> seconds = history.rollup("P1", 0, clock.millis, 1000);
+        assertEquals(DAY / 1000, seconds.size(), "Only the day since the first point is rolled up.");
+        assertEquals(9 * DAY, seconds.get(0).getBucketStartMillis());
+        assertEquals(40, seconds.get(0).getCloseQuantity());
+        assertEquals(clock.millis, seconds.get(seconds.size() - 1).getBucketEndMillis());
+
+        List<StockRollup> all = history.rollup("P1", 0, Long.MAX_VALUE, Long.MAX_VALUE);
+        assertEquals(1, all.size());
+        assertEquals(Long.MAX_VALUE, all.get(0).getBucketEndMillis());
+        List<StockRollup> wide = history.rollup("P1", Long.MIN_VALUE, Long.MAX_VALUE, DAY);
+        assertFalse(wide.isEmpty());
+        assertTrue(wide.size() <= 2);
+        assertEquals(40, wide.get(wide.size() - 1).getCloseQuantity());
+
+        assertThrows(IllegalArgumentException.class, () -> history.rollup("P1", 0, clock.millis, 1));
+        assertTrue(history.rollup("P2", 0, Long.MAX_VALUE, 1).isEmpty());
+    }
+
+    @Test
+    void testRollup_ReadsTheClockOnce() {
+        ManualClock clock = new ManualClock(2 * DAY);
+        StockHistory history = new StockHistory(clock);
+        history.record("P1", 0, 100, 5.0);
+        history.record("P1", DAY, 40, 5.0);
+        // Moves a day forward on every read, as a slow rollup against a real clock could.
+        clock.step = DAY;
+
+        List<StockRollup> days = history.rollup("P1", 0, Long.MAX_VALUE, DAY);
+        assertEquals(2, days.size());
+        assertEquals(40.0, days.get(1).getAverageQuantity(), 1e-9);
+    }
+
+    @Test
+    void testListener_RecordsManagerChanges() {
+        ManualClock clock = new ManualClock(30 * DAY);
+        StockHistory history = new StockHistory(clock);
+        InventoryManager manager = new InventoryManager(new StockAlertService(new EmailUtil()), history);
+        manager.addProduct(new Product("P1", "Laptop", "Electronics", 1000, 50, LocalDate.of(2025, 10, 10), "Kabi ltd"));
+        clock.millis += DAY;
+        manager.adjustQuantity("P1", -20);
+        clock.millis += DAY;
+        manager.updateProduct("P1", 900, 45);
+        clock.millis += DAY;
+        manager.removeProduct("P1");
+
+        List<StockPoint> month = history.recent("P1", Duration.ofDays(30));
+        assertEquals(4, month.size());
+        assertEquals(50, month.get(0).getQuantity());
+        assertEquals(30, month.get(1).getQuantity());
+        assertEquals(45, month.get(2).getQuantity());
+        assertEquals(900.0, month.get(2).getPrice(), 1e-9);
+        assertEquals(0, month.get(3).getQuantity());
+        assertEquals(clock.millis, month.get(3).getTimestampMillis());
+    }
+}
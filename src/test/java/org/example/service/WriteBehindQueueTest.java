@@ -0,0 +1,191 @@
+package org.example.service;
+
+import org.example.dao.ProductDAO;
+import org.example.model.Product;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class WriteBehindQueueTest {
+
+    private RecordingProductDAO dao;
+    private WriteBehindQueue queue;
+    private InventoryManager manager;
+
+    @BeforeEach
+    public void setup() {
+        dao = new RecordingProductDAO();
+        queue = new WriteBehindQueue(dao, 100, 50, 60_000);
+        manager = new InventoryManager(new StockAlertService(new EmailUtil()), queue);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        queue.close();
+    }
+
+    private static Product product(String id, int quantity) {
+        return new Product(id, "Item " + id, "Electronics", 100, quantity, LocalDate.of(2025, 10, 10), "Kabi ltd");
+    }
+
+    @Test
+    void testRepeatedUpdates_CoalesceIntoOneWrite() {
+        manager.addProduct(product("P1", 100));
+        for (int i = 0; i < 10; i++) {
+            manager.updateProduct("P1", 200 + i, 90 - i);
+        }
+        queue.flush();
+        assertEquals(1, dao.writes.get(), "Eleven changes to one SKU should reach the DAO as a single write.");
+        assertEquals(81, dao.rows.get("P1").getQuantity());
+        assertEquals(209.0, dao.rows.get("P1").getPrice(), 0.001);
+        assertEquals(10, queue.getStats().getWritesCoalesced());
+    }
+
+    @Test
+    void testRemoveAndReAdd_ReplacesRow() {
+        manager.addProduct(product("P1", 5));
+        queue.flush();
+        manager.removeProduct("P1");
+        manager.addProduct(new Product("P1", "Renamed", "Furniture", 10, 7, LocalDate.of(2025, 10, 10), "Key Ltd."));
+        queue.flush();
+        assertEquals("Renamed", dao.rows.get("P1").getName());
+        manager.removeProduct("P1");
+        queue.flush();
+        assertFalse(dao.rows.containsKey("P1"));
+    }
+
+    @Test
+    void testClose_DrainsPendingWrites() {
+        for (int i = 0; i < 30; i++) {
+            manager.addProduct(product("P" + i, i));
+        }
+        manager.shutdown();
+        assertEquals(30, dao.rows.size(), "Shutdown must persist every pending change.");
+        assertEquals(0, queue.getStats().getPending());
+        assertThrows(IllegalStateException.class, () -> queue.recordDelete("P1"));
+    }
+
+    @Test
+    void testBatchSize_TriggersFlushWithoutWaitingForInterval() throws InterruptedException {
+        for (int i = 0; i < 50; i++) {
+            manager.addProduct(product("P" + i, i));
+        }
+        for (int i = 0; i < 200 && dao.rows.size() < 50; i++) {
+            Thread.sleep(5);
+        }
+        assertEquals(50, dao.rows.size(), "Reaching the batch size should flush before the interval elapses.");
+    }
+
+    @Test
+    void testFailedWrites_AreRetriedBehindNewerChanges() {
+        dao.addFailures = 2;
+        // The newer change arrives while the failing write is in flight and must not be lost to its retry.
+        dao.onFailedAdd = () -> manager.updateProduct("P1", 300, 9);
+        manager.addProduct(product("P1", 5));
+        queue.flush();
+        assertEquals(9, dao.rows.get("P1").getQuantity());
+        assertEquals(300.0, dao.rows.get("P1").getPrice(), 0.001);
+        assertTrue(queue.getStats().getFailedWrites() >= 2);
+        assertEquals(0, queue.getStats().getPending());
+    }
+
+    @Test
+    void testFullQueue_DoesNotBlockUnderTheManagersLocks() throws InterruptedException {
+        queue.close();
+        queue = new WriteBehindQueue(dao, 2, 1, 60_000);
+        manager = new InventoryManager(new StockAlertService(new EmailUtil()), queue);
+        dao.writeGate = new CountDownLatch(1);
+        Thread producer = new Thread(() -> {
+            for (int i = 0; i < 4; i++) {
+                manager.addProduct(product("P" + i, i));
+            }
+        });
+        producer.start();
+        for (int i = 0; i < 500 && producer.getState() != Thread.State.WAITING; i++) {
+            Thread.sleep(5);
+        }
+        assertEquals(2, queue.getStats().getPending(), "The producer should be waiting for room.");
+
+        // A snapshot takes every stripe lock, so it would hang if the producer held one.
+        Thread snapshot = new Thread(manager::snapshot);
+        snapshot.start();
+        snapshot.join(5_000);
+        assertFalse(snapshot.isAlive(), "The producer is holding a stripe lock while waiting for room.");
+
+        dao.writeGate.countDown();
+        producer.join(5_000);
+        queue.flush();
+        assertEquals(4, dao.rows.size());
+    }
+
+    private static final class RecordingProductDAO implements ProductDAO {
+        final Map<String, Product> rows = new ConcurrentHashMap<>();
+        final AtomicInteger writes = new AtomicInteger();
+        volatile int addFailures;
+        volatile Runnable onFailedAdd;
+        volatile CountDownLatch writeGate;
+
+        @Override
+        public boolean addProduct(Product product) {
+            writes.incrementAndGet();
+            if (writeGate != null) {
+                try {
+                    writeGate.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            if (addFailures > 0) {
+                addFailures--;
+                Runnable hook = onFailedAdd;
+                onFailedAdd = null;
+                if (hook != null) hook.run();
+                return false;
+            }
+            Product copy = new Product(product.getId(), product.getName(), product.getCategory(), product.getPrice(),
+                    product.getQuantity(), product.getLastUpdated(), product.getSupplier());
+            return rows.putIfAbsent(product.getId(), copy) == null;
+        }
+
+        @Override
+        public Optional<Product> getProductById(String id) {
+            return Optional.ofNullable(rows.get(id));
+        }
+
+        @Override
+        public List<Product> getAllProducts() {
+            return new ArrayList<>(rows.values());
+        }
+
+        @Override
+        public boolean updateProduct(String id, double newPrice, int newQuantity) {
+            writes.incrementAndGet();
+            Product p = rows.get(id);
+            if (p == null) return false;
+            p.update(newPrice, newQuantity);
+            return true;
+        }
+
+        @Override
+        public boolean deleteProduct(String id) {
+            writes.incrementAndGet();
+            return rows.remove(id) != null;
+        }
+
+        @Override
+        public boolean compareAndSetQuantity(String id, long expectedVersion, int newQuantity) {
+            Product p = rows.get(id);
+            return p != null && p.compareAndSetQuantity(expectedVersion, newQuantity);
+        }
+    }
+}
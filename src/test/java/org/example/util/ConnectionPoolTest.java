@@ -0,0 +1,124 @@
+package org.example.util;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTimeoutException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ConnectionPoolTest {
+
+    private final List<FakeConnection> opened = new ArrayList<>();
+    private ConnectionPool pool;
+
+    @AfterEach
+    public void tearDown() {
+        if (pool != null) {
+            pool.close();
+        }
+    }
+
+    private ConnectionPool newPool(int maxSize, long maxWaitMillis, long idleTimeoutMillis, long leakThresholdMillis) {
+        pool = new ConnectionPool(() -> {
+            FakeConnection fake = new FakeConnection();
+            opened.add(fake);
+            return fake.proxy;
+        }, maxSize, maxWaitMillis, idleTimeoutMillis, leakThresholdMillis);
+        return pool;
+    }
+
+    @Test
+    void testBorrow_ReusesPhysicalConnection() throws SQLException {
+        newPool(2, 100, 0, 0);
+        pool.borrow().close();
+        pool.borrow().close();
+        assertEquals(1, opened.size(), "A returned connection should be reused instead of opening a new one.");
+        assertEquals(2, pool.getStats().getTotalBorrows());
+        assertEquals(1, pool.getStats().getIdle());
+    }
+
+    @Test
+    void testBorrow_TimesOutWhenExhausted() throws SQLException {
+        newPool(1, 50, 0, 0);
+        Connection held = pool.borrow();
+        assertThrows(SQLTimeoutException.class, () -> pool.borrow(), "Borrowing from an exhausted pool should time out.");
+        assertEquals(1, pool.getStats().getTimeouts());
+        held.close();
+        assertDoesNotThrow(() -> pool.borrow().close());
+    }
+
+    @Test
+    void testBorrow_DiscardsInvalidIdleConnection() throws SQLException {
+        newPool(1, 100, 0, 0);
+        pool.borrow().close();
+        opened.get(0).valid.set(false);
+        pool.borrow().close();
+        assertEquals(2, opened.size(), "An idle connection failing validation should be replaced.");
+        assertTrue(opened.get(0).closed.get(), "The invalid physical connection should be closed.");
+    }
+
+    @Test
+    void testClose_IsIdempotentAndBlocksFurtherUse() throws SQLException {
+        newPool(1, 100, 0, 0);
+        Connection conn = pool.borrow();
+        conn.close();
+        conn.close();
+        assertTrue(conn.isClosed());
+        assertThrows(SQLException.class, conn::createStatement, "A returned connection must not be usable.");
+        assertEquals(0, pool.getStats().getActive());
+        assertEquals(1, pool.getStats().getIdle());
+    }
+
+    @Test
+    void testHousekeeping_EvictsIdleAndDetectsLeaks() throws Exception {
+        newPool(2, 100, 1, 1);
+        pool.borrow().close();
+        Connection leaked = pool.borrow();
+        Thread.sleep(5);
+        pool.borrow().close();
+        Thread.sleep(5);
+        pool.runHousekeeping();
+        assertEquals(0, pool.getStats().getIdle(), "Idle connections past the timeout should be evicted.");
+        assertEquals(1, pool.getStats().getLeaksDetected(), "A connection held past the threshold should be reported once.");
+        pool.runHousekeeping();
+        assertEquals(1, pool.getStats().getLeaksDetected());
+        leaked.close();
+    }
+
+    @Test
+    void testRelease_RollsBackOpenTransaction() throws SQLException {
+        newPool(1, 100, 0, 0);
+        Connection conn = pool.borrow();
+        conn.setAutoCommit(false);
+        conn.close();
+        assertTrue(opened.get(0).rolledBack.get(), "Uncommitted work should be rolled back on return.");
+        assertTrue(pool.borrow().getAutoCommit(), "Reused connections should be back in auto-commit mode.");
+    }
+
+    private static final class FakeConnection {
+        final AtomicBoolean valid = new AtomicBoolean(true);
+        final AtomicBoolean closed = new AtomicBoolean();
+        final AtomicBoolean autoCommit = new AtomicBoolean(true);
+        final AtomicBoolean rolledBack = new AtomicBoolean();
+        final Connection proxy = (Connection) Proxy.newProxyInstance(getClass().getClassLoader(),
+                new Class<?>[]{Connection.class}, (p, method, args) -> {
+                    switch (method.getName()) {
+                        case "isValid": return valid.get() && !closed.get();
+                        case "isClosed": return closed.get();
+                        case "close": closed.set(true); return null;
+                        case "getAutoCommit": return autoCommit.get();
+                        case "setAutoCommit": autoCommit.set((Boolean) args[0]); return null;
+                        case "rollback": rolledBack.set(true); return null;
+                        case "hashCode": return System.identityHashCode(p);
+                        case "equals": return p == args[0];
+                        default: return null;
+                    }
+                });
+    }
+}
@@ -0,0 +1,71 @@
+package org.example.util;
+
+import org.junit.jupiter.api.Test;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PersistentHashMapTest {
+
+    @Test
+    void testRandomOperations_MatchHashMap() {
+        Random random = new Random(7);
+        Map<Integer, Integer> model = new HashMap<>();
+        PersistentHashMap<Integer, Integer> map = PersistentHashMap.empty();
+        for (int i = 0; i < 50_000; i++) {
+            int key = random.nextInt(5_000);
+            if (random.nextInt(3) == 0) {
+                model.remove(key);
+                map = map.remove(key);
+            } else {
+                model.put(key, i);
+                map = map.put(key, i);
+            }
+        }
+        assertEquals(model.size(), map.size());
+        for (int key = 0; key < 5_000; key++) {
+            assertEquals(model.get(key), map.get(key));
+        }
+        Map<Integer, Integer> iterated = new HashMap<>();
+        map.forEach(iterated::put);
+        assertEquals(model, iterated);
+        assertEquals(model.size(), map.values().count());
+    }
+
+    @Test
+    void testOldVersions_AreUnaffectedByLaterChanges() {
+        PersistentHashMap<String, Integer> v1 = PersistentHashMap.<String, Integer>empty().put("a", 1).put("b", 2);
+        PersistentHashMap<String, Integer> v2 = v1.put("a", 10).remove("b").put("c", 3);
+        assertEquals(Integer.valueOf(1), v1.get("a"));
+        assertEquals(Integer.valueOf(2), v1.get("b"));
+        assertFalse(v1.containsKey("c"));
+        assertEquals(2, v1.size());
+        assertEquals(Integer.valueOf(10), v2.get("a"));
+        assertNull(v2.get("b"));
+        assertEquals(2, v2.size());
+        assertSame(v2, v2.remove("missing"));
+    }
+
+    @Test
+    void testFullHashCollisions_AreKeptApart() {
+        // "Aa" and "BB" share a hash code, as do all their concatenations.
+        String[] keys = {"AaAa", "AaBB", "BBAa", "BBBB"};
+        PersistentHashMap<String, Integer> map = PersistentHashMap.empty();
+        for (int i = 0; i < keys.length; i++) {
+            map = map.put(keys[i], i);
+        }
+        map = map.put("other", 99);
+        assertEquals(5, map.size());
+        for (int i = 0; i < keys.length; i++) {
+            assertEquals(Integer.valueOf(i), map.get(keys[i]));
+        }
+        map = map.remove("AaBB").remove("BBBB");
+        assertEquals(3, map.size());
+        assertNull(map.get("AaBB"));
+        assertEquals(Integer.valueOf(2), map.get("BBAa"));
+        map = map.remove("AaAa").remove("BBAa").remove("other");
+        assertTrue(map.isEmpty());
+    }
+}
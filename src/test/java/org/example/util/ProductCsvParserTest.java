@@ -0,0 +1,123 @@
+package org.example.util;
+
+import org.example.model.Product;
+import org.junit.jupiter.api.Test;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ProductCsvParserTest {
+
+    private static final String HEADER = "ID,Name,Category,Price,Quantity,Date,Supplier\n";
+
+    private static ByteBuffer csv(String text) {
+        return ByteBuffer.wrap(text.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void testParse_ReadsPlainRowsLikeTheOldLoader() {
+        List<Product> products = ProductCsvParser.parse(csv(HEADER
+                + "1,Laptop,Electronics,120000,45,2025-10-10,ViewTech Inc.\n"
+                + " 2 , Keyboard ,Electronics, 4000.75 ,-3, 2024-02-29 ,Key Ltd."));
+
+        assertEquals(2, products.size());
+        Product laptop = products.get(0);
+        assertEquals("1", laptop.getId());
+        assertEquals("Electronics", laptop.getCategory());
+        assertEquals(120000, laptop.getPrice(), 0);
+        assertEquals(Integer.valueOf(45), Integer.valueOf(laptop.getQuantity()));
+        assertEquals(LocalDate.of(2025, 10, 10), laptop.getLastUpdated());
+        assertEquals("ViewTech Inc.", laptop.getSupplier());
+
+        Product keyboard = products.get(1);
+        assertEquals("Keyboard", keyboard.getName());
+        assertEquals(4000.75, keyboard.getPrice(), 0);
+        assertEquals(Integer.valueOf(-3), Integer.valueOf(keyboard.getQuantity()));
+        assertEquals(LocalDate.of(2024, 2, 29), keyboard.getLastUpdated());
+    }
+
+    @Test
+    void testParse_HandlesQuotedFieldsAndCrlf() {
+        List<Product> products = ProductCsvParser.parse(csv("\uFEFF" + HEADER.replace("\n", "\r\n")
+                + "3,\"Chair, \"\"ergonomic\"\"\",Furniture,4500,56,2025-01-02,\"Key, Ltd.\"\r\n"
+                + "4,\"Two\nlines\",Furniture,1.5,1,2025-01-02, \"Quoted\" \r\n"));
+
+        assertEquals(2, products.size());
+        assertEquals("Chair, \"ergonomic\"", products.get(0).getName());
+        assertEquals("Key, Ltd.", products.get(0).getSupplier());
+        assertEquals("Two\nlines", products.get(1).getName());
+        assertEquals("Quoted", products.get(1).getSupplier());
+    }
+
+    @Test
+    void testParse_ReportsBadRowsWithTheirLineNumbers() {
+        String text = HEADER
+                + "1,A,C,10,1,2025-01-01,S\n"          // line 2
+                + "2,\"multi\nline\",C,x,1,2025-01-01,S\n" // lines 3-4: bad price
+                + "3,B,C,10,1\n"                      // line 5: too few fields
+                + "\n"                                // line 6: blank, ignored
+                + "4,B,C,10,99999999999,2025-01-01,S\n" // line 7: quantity overflows
+                + "5,B,C,10,1,2025-02-30,S\n"          // line 8: no such day
+                + "6,B\"x,C,10,1,2025-01-01,S\n"       // line 9: stray quote
+                + "7,B,C,1e3,2,2025-01-01,S\n"         // line 10: fine
+                + "8,\"never closed,C,10,1,2025-01-01,S\n";
+
+        PrintStream originalErr = System.err;
+        ByteArrayOutputStream errors = new ByteArrayOutputStream();
+        List<Product> products = new ArrayList<>();
+        int rejected;
+        try {
+            System.setErr(new PrintStream(errors, true, StandardCharsets.UTF_8));
+            rejected = ProductCsvParser.parse(csv(text), products::add);
+        } finally {
+            System.setErr(originalErr);
+        }
+
+        assertEquals(6, rejected);
+        assertEquals(2, products.size());
+        assertEquals(1000, products.get(1).getPrice(), 0);
+        String report = errors.toString(StandardCharsets.UTF_8);
+        for (int line : new int[]{3, 5, 7, 8, 9, 11}) {
+            assertTrue(report.contains("CSV line " + line + ":"), "Expected a report for line " + line + " in:\n" + report);
+        }
+        assertFalse(report.contains("CSV line 6:"));
+    }
+
+    @Test
+    void testParse_NumbersMatchTheJdk() {
+        String[] prices = {"0", "0.1", "-0.05", "+12.5", "123456789012345", "1234567890.12345",
+                "0.000000000000000000001", "9007199254740993", "3.14159265358979323846", "00042.4200"};
+        StringBuilder text = new StringBuilder(HEADER);
+        for (int i = 0; i < prices.length; i++) {
+            text.append(i).append(",N,C,").append(prices[i]).append(",1,2025-01-01,S\n");
+        }
+        List<Product> products = ProductCsvParser.parse(csv(text.toString()));
+
+        assertEquals(prices.length, products.size());
+        for (int i = 0; i < prices.length; i++) {
+            assertEquals(Double.parseDouble(prices[i]), products.get(i).getPrice(), 0, prices[i]);
+        }
+    }
+
+    @Test
+    void testParse_MapsFiles() throws IOException {
+        Path file = Files.createTempFile("products", ".csv");
+        try {
+            Files.writeString(file, HEADER + "1,Laptop,Electronics,120000,45,2025-10-10,ViewTech Inc.\n");
+            List<Product> products = ProductCsvParser.parse(file);
+            assertEquals(1, products.size());
+            assertEquals("Laptop", products.get(0).getName());
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+}
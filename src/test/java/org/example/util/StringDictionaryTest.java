@@ -0,0 +1,63 @@
+package org.example.util;
+
+import org.example.model.Product;
+import org.junit.jupiter.api.Test;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StringDictionaryTest {
+
+    @Test
+    void testEncode_IsStableAndDense() {
+        StringDictionary dictionary = new StringDictionary();
+        int electronics = dictionary.encode("Electronics");
+        int furniture = dictionary.encode("Furniture");
+        assertEquals(electronics, dictionary.encode(new String("Electronics")));
+        assertEquals(1, Math.abs(furniture - electronics));
+        assertEquals("Furniture", dictionary.decode(furniture));
+        assertEquals(StringDictionary.NULL_CODE, dictionary.encode(null));
+        assertNull(dictionary.decode(StringDictionary.NULL_CODE));
+        assertEquals(StringDictionary.ABSENT, dictionary.codeOf("Toys"), "Lookups must not add values.");
+        assertEquals(2, dictionary.size());
+    }
+
+    @Test
+    void testEncode_ConcurrentCallersAgreeOnCodes() throws Exception {
+        StringDictionary dictionary = new StringDictionary();
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        List<Future<int[]>> results = new ArrayList<>();
+        for (int t = 0; t < 8; t++) {
+            results.add(pool.submit(() -> {
+                int[] codes = new int[500];
+                for (int i = 0; i < codes.length; i++) {
+                    codes[i] = dictionary.encode("Supplier " + i);
+                }
+                return codes;
+            }));
+        }
+        int[] first = results.get(0).get();
+        for (Future<int[]> result : results) {
+            assertArrayEquals(first, result.get());
+        }
+        pool.shutdown();
+        assertEquals(500, dictionary.size());
+        for (int i = 0; i < 500; i++) {
+            assertEquals("Supplier " + i, dictionary.decode(first[i]));
+        }
+    }
+
+    @Test
+    void testProduct_SharesOneInstancePerValue() {
+        Product a = new Product("P1", "Desk", new String("Furniture"), 10, 1, LocalDate.of(2025, 10, 10), new String("Key Ltd."));
+        Product b = new Product("P2", "Chair", new String("Furniture"), 10, 1, LocalDate.of(2025, 10, 10), new String("Key Ltd."));
+        assertEquals(a.getCategoryCode(), b.getCategoryCode());
+        assertSame(a.getCategory(), b.getCategory(), "Equal categories should resolve to the same String.");
+        assertSame(a.getSupplier(), b.getSupplier());
+    }
+}